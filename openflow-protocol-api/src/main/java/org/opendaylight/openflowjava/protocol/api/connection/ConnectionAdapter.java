@@ -10,7 +10,10 @@ package org.opendaylight.openflowjava.protocol.api.connection;
 import com.google.common.annotations.Beta;
 import java.net.InetSocketAddress;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import javax.annotation.Nullable;
 import org.opendaylight.openflowjava.protocol.api.extensibility.AlienMessageListener;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OpenflowProtocolListener;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OpenflowProtocolService;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SystemNotificationsListener;
@@ -94,10 +97,54 @@ public interface ConnectionAdapter extends OpenflowProtocolService {
     <T extends OutboundQueueHandler> OutboundQueueHandlerRegistration<T> registerOutboundQueueHandler(T handler,
         int maxQueueDepth, long maxBarrierNanos);
 
+    /**
+     * Registers a new bypass outbound queue with specific sizing, for example one picked by
+     * {@link OutboundQueueSettings#forFeatures(org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.GetFeaturesOutput)}.
+     * @param <T> handler type
+     * @param handler queue handler
+     * @param maxQueueDepth max amount of not confirmed messaged in queue (i.e. edge for barrier message)
+     * @param maxBarrierNanos regular base for barrier message
+     * @param settings segment size and channel watermarks of the queue
+     * @return An {@link OutboundQueueHandlerRegistration}
+     */
+    @Beta
+    <T extends OutboundQueueHandler> OutboundQueueHandlerRegistration<T> registerOutboundQueueHandler(T handler,
+        int maxQueueDepth, long maxBarrierNanos, OutboundQueueSettings settings);
+
     /**
      * Set filtering of PacketIn messages. By default these messages are not filtered.
      * @param enabled True if PacketIn messages should be filtered, false if they should be reported.
      */
     @Beta
     void setPacketInFiltering(boolean enabled);
+
+    /**
+     * Set a limit of the rate at which PacketIn messages are reported. PacketIns over the limit are dropped
+     * before they are deserialized. By default the limit from the connection configuration applies.
+     * @param limit Rate limit, {@link PacketInRateLimit#UNLIMITED} to report all PacketIns
+     */
+    @Beta
+    void setPacketInRateLimit(PacketInRateLimit limit);
+
+    /**
+     * Set a consumer which receives OpenFlow messages of a particular type instead of the message listener.
+     * Messages which answer outstanding requests are still matched by the outbound queue first. This allows
+     * a high-rate message type, such as PacketIn, to be delivered directly to its handler.
+     *
+     * @param type OpenFlow message type, such as PacketInMessage
+     * @param consumer consumer of the messages, or null to deliver them to the message listener again
+     * @throws IllegalArgumentException if messages of the type cannot be consumed separately
+     */
+    @Beta
+    <T extends OfHeader> void setFastPathConsumer(Class<T> type, @Nullable Consumer<? super T> consumer);
+
+    /**
+     * Set a listener which receives OpenFlow messages in batches, one batch per read from the connection,
+     * instead of the message listener receiving them one by one. Messages taken by fast path consumers
+     * are not part of batches. By default messages are not batched.
+     *
+     * @param listener batch listener, or null to deliver messages to the message listener again
+     */
+    @Beta
+    void setMessageBatchListener(@Nullable MessageBatchListener listener);
 }
@@ -55,4 +55,59 @@ public interface ConnectionConfiguration {
      * @return boolean value for usability of Barrier
      */
     boolean useBarrier();
+
+    /**
+     * @return true if packet-in data should be kept as a retained slice of the inbound buffer
+     *         instead of being copied, see {@link RetainedPayload}
+     */
+    boolean useZeroCopyPacketIn();
+
+    /**
+     * @return true if OF1.3 flow statistics replies should be delivered undecoded, see
+     *         {@link StreamedFlowStats}
+     */
+    boolean useStreamingFlowStats();
+
+    /**
+     * @return true if OF1.3 port statistics counters should be kept as primitive values, see
+     *         {@link PortStatsCounters}
+     */
+    boolean usePrimitiveStatsCounters();
+
+    /**
+     * @return true if inbound messages should be framed, version-checked and deserialized
+     *         by a single pipeline handler
+     */
+    boolean useFusedInboundDecoder();
+
+    /**
+     * @return depth of the per-connection queue used by RPC-style message sending
+     */
+    int getChannelOutboundQueueSize();
+
+    /**
+     * @return number of threads shared by all connections to run connection-ready notifications
+     */
+    int getNotificationThreads();
+
+    /**
+     * @return number of connection-ready notifications waiting for a notification thread
+     */
+    int getNotificationQueueSize();
+
+    /**
+     * @return number of worker threads running listener callbacks instead of I/O threads, 0 to run
+     *         them on I/O threads
+     */
+    int getUpstreamThreads();
+
+    /**
+     * @return number of listener callbacks pending for a connection before reads from it are suspended
+     */
+    int getUpstreamQueueSize();
+
+    /**
+     * @return limit of the rate at which PacketIns are accepted from each connection
+     */
+    PacketInRateLimit getPacketInRateLimit();
 }
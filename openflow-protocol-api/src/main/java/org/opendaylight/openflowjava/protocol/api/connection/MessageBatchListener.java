@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import java.util.List;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * Listener receiving OpenFlow messages in batches, one batch for each read from the connection. This
+ * allows the listener to amortize its own locking and queueing across messages.
+ */
+@Beta
+public interface MessageBatchListener {
+
+    /**
+     * Invoked from the connection's I/O thread with the messages which would otherwise have been
+     * passed to the OpenflowProtocolListener, in order of arrival. The list is reused for
+     * subsequent batches, hence it must not be retained after this method returns.
+     *
+     * @param messages non-empty list of messages
+     */
+    void onMessageBatch(List<OfHeader> messages);
+}
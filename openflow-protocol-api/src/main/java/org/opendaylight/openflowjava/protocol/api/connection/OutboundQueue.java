@@ -22,6 +22,17 @@ public interface OutboundQueue {
      */
     Long reserveEntry();
 
+    /**
+     * Reserve a contiguous block of entries in the outbound queue in a single step. This
+     * is equivalent to invoking {@link #reserveEntry()} count times, except the XIDs are
+     * guaranteed to be consecutive.
+     *
+     * @param count Number of entries to reserve, has to be positive
+     * @return XID of the first reserved entry, the others follow it, or null if the queue is full
+     * @throws IllegalArgumentException if count is not positive
+     */
+    Long reserveEntries(int count);
+
     /**
      * Commit the specified offset using a message. Specified callback will
      * be invoked once we know how it has resolved, either with a normal response,
@@ -79,4 +90,23 @@ public interface OutboundQueue {
             @Nullable OfHeader message,
             @Nullable FutureCallback<OfHeader> callback,
             @Nullable Function<OfHeader, Boolean> isComplete);
+
+    /**
+     * Commit a block of entries reserved by {@link #reserveEntries(int)}. Each message is
+     * committed as if by {@link #commitEntry(Long, OfHeader, FutureCallback)} with XID
+     * firstXid + its index, but the queue is asked to flush only once, after all of them
+     * have been committed.
+     *
+     * @param firstXid XID returned from {@link #reserveEntries(int)}
+     * @param messages Messages which should be sent out, one per reserved entry. A null
+     *                 element cancels the corresponding reservation.
+     * @param callbacks Callbacks to be invoked, matching messages by index, or null if no
+     *                  callbacks should be invoked. Individual elements may be null.
+     * @throws IllegalArgumentException if any of the slots is already committed or was never
+     *         reserved, or if the number of callbacks does not match the number of messages.
+     */
+    void commitEntries(
+            @Nonnull Long firstXid,
+            @Nonnull OfHeader[] messages,
+            @Nullable FutureCallback<OfHeader>[] callbacks);
 }
@@ -17,6 +17,11 @@ public class OutboundQueueException extends Exception {
      */
     public static final OutboundQueueException DEVICE_DISCONNECTED = new OutboundQueueException("Device disconnected");
 
+    /**
+     * Exception reported when the device does not respond to a request in time.
+     */
+    public static final OutboundQueueException REQUEST_TIMEOUT = new OutboundQueueException("Request timed out");
+
     private static final long serialVersionUID = 1L;
 
     public OutboundQueueException(final String message) {
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.GetFeaturesOutput;
+
+/**
+ * Sizing of the outbound queue of a single connection, supplied when registering
+ * an {@link OutboundQueueHandler}.
+ *
+ * <p>
+ * Segment size is the number of entries the queue allocates at once. Small segments
+ * keep the footprint of idle connections low, large segments make reservations and
+ * flushes fall back to the synchronized slow path less often. Watermarks bound the
+ * number of bytes written to the channel, but not yet sent out. Once the high watermark
+ * is hit, the queue stops flushing until outstanding bytes dip below the low one.
+ * Requests are not timed out by default. When a request timeout is set through
+ * {@link #withRequestTimeout(long, TimeUnit)}, requests which the switch does not answer
+ * within it are failed with {@link OutboundQueueException#REQUEST_TIMEOUT}. Uncompleted watermarks bound the number
+ * of requests written, but not yet answered by the switch. Once the high one is hit, the
+ * connection is reported as congested until the count dips below the low one.
+ */
+@Beta
+public final class OutboundQueueSettings {
+    public static final int DEFAULT_SEGMENT_SIZE = 4096;
+    public static final int DEFAULT_LOW_WATERMARK = 128 * 1024;
+    public static final int DEFAULT_HIGH_WATERMARK = DEFAULT_LOW_WATERMARK * 2;
+    public static final long DEFAULT_REQUEST_TIMEOUT_NANOS = 0;
+    public static final int DEFAULT_UNCOMPLETED_LOW_WATERMARK = 8192;
+    public static final int DEFAULT_UNCOMPLETED_HIGH_WATERMARK = DEFAULT_UNCOMPLETED_LOW_WATERMARK * 2;
+
+    /**
+     * Settings used when none are specified.
+     */
+    public static final OutboundQueueSettings DEFAULT = new OutboundQueueSettings(DEFAULT_SEGMENT_SIZE,
+        DEFAULT_LOW_WATERMARK, DEFAULT_HIGH_WATERMARK);
+
+    /**
+     * Settings for switches with a few tables and little buffering, like small access switches.
+     */
+    public static final OutboundQueueSettings SMALL = new OutboundQueueSettings(1024, 32 * 1024, 64 * 1024);
+
+    /**
+     * Settings for switches with many tables or large buffers, like core and software switches.
+     */
+    public static final OutboundQueueSettings LARGE = new OutboundQueueSettings(16384, 512 * 1024, 1024 * 1024);
+
+    private static final int SMALL_MAX_TABLES = 4;
+    private static final long SMALL_MAX_BUFFERS = 256;
+    private static final int LARGE_MIN_TABLES = 64;
+    private static final long LARGE_MIN_BUFFERS = 65536;
+
+    private final int segmentSize;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final long requestTimeoutNanos;
+    private final int uncompletedLowWatermark;
+    private final int uncompletedHighWatermark;
+
+    private OutboundQueueSettings(final int segmentSize, final int lowWatermark, final int highWatermark) {
+        this(segmentSize, lowWatermark, highWatermark, DEFAULT_REQUEST_TIMEOUT_NANOS,
+            DEFAULT_UNCOMPLETED_LOW_WATERMARK, DEFAULT_UNCOMPLETED_HIGH_WATERMARK);
+    }
+
+    private OutboundQueueSettings(final int segmentSize, final int lowWatermark, final int highWatermark,
+            final long requestTimeoutNanos, final int uncompletedLowWatermark, final int uncompletedHighWatermark) {
+        this.segmentSize = segmentSize;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.requestTimeoutNanos = requestTimeoutNanos;
+        this.uncompletedLowWatermark = uncompletedLowWatermark;
+        this.uncompletedHighWatermark = uncompletedHighWatermark;
+    }
+
+    /**
+     * @param segmentSize number of entries in a single queue segment
+     * @param lowWatermark channel becomes writable when outstanding bytes dip below this value
+     * @param highWatermark channel becomes un-writable when outstanding bytes hit this value
+     * @return settings instance
+     * @throws IllegalArgumentException if any of the values is not positive or the low watermark
+     *         is above the high one
+     */
+    public static OutboundQueueSettings create(final int segmentSize, final int lowWatermark,
+            final int highWatermark) {
+        Preconditions.checkArgument(segmentSize > 0, "Segment size %s has to be positive", segmentSize);
+        Preconditions.checkArgument(lowWatermark > 0, "Low watermark %s has to be positive", lowWatermark);
+        Preconditions.checkArgument(highWatermark >= lowWatermark, "High watermark %s is below low watermark %s",
+            highWatermark, lowWatermark);
+        return new OutboundQueueSettings(segmentSize, lowWatermark, highWatermark);
+    }
+
+    /**
+     * Pick settings matching the capabilities a switch has announced in its features
+     * reply. Switches with at most 4 tables and 256 buffers get {@link #SMALL} settings,
+     * those with at least 64 tables or 65536 buffers get {@link #LARGE} settings, all
+     * other get {@link #DEFAULT} settings.
+     *
+     * @param features features reply of the switch
+     * @return settings instance
+     */
+    public static OutboundQueueSettings forFeatures(final GetFeaturesOutput features) {
+        final long buffers = features.getBuffers() != null ? features.getBuffers() : 0;
+        final int tables = features.getTables() != null ? features.getTables() : 0;
+
+        if (tables >= LARGE_MIN_TABLES || buffers >= LARGE_MIN_BUFFERS) {
+            return LARGE;
+        }
+        if (tables <= SMALL_MAX_TABLES && buffers <= SMALL_MAX_BUFFERS) {
+            return SMALL;
+        }
+        return DEFAULT;
+    }
+
+    /**
+     * @param timeout time after which unanswered requests are failed, zero disables timeouts
+     * @param unit time unit of the timeout
+     * @return settings instance with specified request timeout
+     * @throws IllegalArgumentException if the timeout is negative
+     */
+    public OutboundQueueSettings withRequestTimeout(final long timeout, final TimeUnit unit) {
+        Preconditions.checkArgument(timeout >= 0, "Request timeout %s has to be non-negative", timeout);
+        return new OutboundQueueSettings(segmentSize, lowWatermark, highWatermark, unit.toNanos(timeout),
+            uncompletedLowWatermark, uncompletedHighWatermark);
+    }
+
+    /**
+     * @param lowWatermark connection stops being congested when uncompleted requests dip below this value
+     * @param highWatermark connection becomes congested when uncompleted requests hit this value
+     * @return settings instance with specified uncompleted request watermarks
+     * @throws IllegalArgumentException if any of the values is not positive or the low watermark
+     *         is above the high one
+     */
+    public OutboundQueueSettings withUncompletedWatermarks(final int lowWatermark, final int highWatermark) {
+        Preconditions.checkArgument(lowWatermark > 0, "Low watermark %s has to be positive", lowWatermark);
+        Preconditions.checkArgument(highWatermark >= lowWatermark, "High watermark %s is below low watermark %s",
+            highWatermark, lowWatermark);
+        return new OutboundQueueSettings(segmentSize, this.lowWatermark, this.highWatermark, requestTimeoutNanos,
+            lowWatermark, highWatermark);
+    }
+
+    /**
+     * @return number of entries in a single queue segment
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * @return low write watermark of the channel, in bytes
+     */
+    public int getLowWatermark() {
+        return lowWatermark;
+    }
+
+    /**
+     * @return high write watermark of the channel, in bytes
+     */
+    public int getHighWatermark() {
+        return highWatermark;
+    }
+
+    /**
+     * @return time after which unanswered requests are failed in nanoseconds, zero if they never are
+     */
+    public long getRequestTimeoutNanos() {
+        return requestTimeoutNanos;
+    }
+
+    /**
+     * @return number of uncompleted requests below which the connection stops being congested
+     */
+    public int getUncompletedLowWatermark() {
+        return uncompletedLowWatermark;
+    }
+
+    /**
+     * @return number of uncompleted requests at which the connection becomes congested
+     */
+    public int getUncompletedHighWatermark() {
+        return uncompletedHighWatermark;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("segmentSize", segmentSize).add("lowWatermark", lowWatermark)
+                .add("highWatermark", highWatermark).add("requestTimeoutNanos", requestTimeoutNanos)
+                .add("uncompletedLowWatermark", uncompletedLowWatermark)
+                .add("uncompletedHighWatermark", uncompletedHighWatermark).toString();
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+/**
+ * Limit of the rate at which PacketIn messages are accepted from a single connection,
+ * enforced by a token bucket before the messages are deserialized. Messages over the
+ * limit are dropped.
+ *
+ * <p>
+ * The bucket holds up to burst tokens and is refilled at rate tokens per second, each
+ * accepted message takes one token. A limit may apply to all PacketIns of a connection,
+ * or separately to each PacketIn reason and/or each table the PacketIns come from, in
+ * which case each of them gets a bucket of its own. OF1.0 PacketIns carry no table ID,
+ * they are all accounted to table 0.
+ */
+@Beta
+public final class PacketInRateLimit {
+    /**
+     * Limit which accepts all PacketIns.
+     */
+    public static final PacketInRateLimit UNLIMITED = new PacketInRateLimit(0, 0, false, false);
+
+    private final long rate;
+    private final long burst;
+    private final boolean perReason;
+    private final boolean perTable;
+
+    private PacketInRateLimit(final long rate, final long burst, final boolean perReason, final boolean perTable) {
+        this.rate = rate;
+        this.burst = burst;
+        this.perReason = perReason;
+        this.perTable = perTable;
+    }
+
+    /**
+     * @param rate number of PacketIns accepted per second
+     * @param burst number of PacketIns accepted at once after a quiet period
+     * @return limit instance
+     * @throws IllegalArgumentException if any of the values is not positive
+     */
+    public static PacketInRateLimit create(final long rate, final long burst) {
+        Preconditions.checkArgument(rate > 0, "Rate %s has to be positive", rate);
+        Preconditions.checkArgument(burst > 0, "Burst %s has to be positive", burst);
+        return new PacketInRateLimit(rate, burst, false, false);
+    }
+
+    /**
+     * @param perReason true if each PacketIn reason should be limited separately
+     * @return limit instance with specified per-reason accounting
+     */
+    public PacketInRateLimit withPerReason(final boolean perReason) {
+        return new PacketInRateLimit(rate, burst, perReason, perTable);
+    }
+
+    /**
+     * @param perTable true if PacketIns from each table should be limited separately
+     * @return limit instance with specified per-table accounting
+     */
+    public PacketInRateLimit withPerTable(final boolean perTable) {
+        return new PacketInRateLimit(rate, burst, perReason, perTable);
+    }
+
+    /**
+     * @return true if all PacketIns are accepted
+     */
+    public boolean isUnlimited() {
+        return rate == 0;
+    }
+
+    /**
+     * @return number of PacketIns accepted per second, zero if unlimited
+     */
+    public long getRate() {
+        return rate;
+    }
+
+    /**
+     * @return number of PacketIns accepted at once after a quiet period, zero if unlimited
+     */
+    public long getBurst() {
+        return burst;
+    }
+
+    /**
+     * @return true if each PacketIn reason is limited separately
+     */
+    public boolean isPerReason() {
+        return perReason;
+    }
+
+    /**
+     * @return true if PacketIns from each table are limited separately
+     */
+    public boolean isPerTable() {
+        return perTable;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("rate", rate).add("burst", burst).add("perReason", perReason)
+                .add("perTable", perTable).toString();
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+
+/**
+ * Implemented by port statistics records which keep their counters as primitive values.
+ * Their {@link java.math.BigInteger} getters create a new value on every invocation, consumers
+ * aware of this interface can read the counters without any allocation.
+ *
+ * <p>
+ * All counters are unsigned 64-bit values, use {@link Long#compareUnsigned(long, long)} or
+ * {@link Long#toUnsignedString(long)} when they may exceed {@link Long#MAX_VALUE}.
+ */
+@Beta
+public interface PortStatsCounters {
+
+    long rxPackets();
+
+    long txPackets();
+
+    long rxBytes();
+
+    long txBytes();
+
+    long rxDropped();
+
+    long txDropped();
+
+    long rxErrors();
+
+    long txErrors();
+
+    long rxFrameErr();
+
+    long rxOverErr();
+
+    long rxCrcErr();
+
+    long collisions();
+}
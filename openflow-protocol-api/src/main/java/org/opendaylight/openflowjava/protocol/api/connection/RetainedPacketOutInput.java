@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.util.List;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+
+/**
+ * {@link PacketOutInput} whose data are carried in a {@link ByteBuf} (possibly a
+ * {@link io.netty.buffer.CompositeByteBuf}), for example a packet-in payload being sent
+ * back out. The encoder gathers the payload into the outgoing frame without copying it
+ * into a {@code byte[]} first.
+ *
+ * <p>
+ * The message takes over one reference to the payload. Once the message is handed over
+ * for sending, the library releases it after it has been encoded. Callers which end up
+ * not sending the message have to {@link #release()} it themselves.
+ */
+@Beta
+public final class RetainedPacketOutInput implements PacketOutInput, RetainedPayload {
+
+    private final PacketOutInput header;
+    private final ByteBuf payload;
+
+    private RetainedPacketOutInput(final PacketOutInput header, final ByteBuf payload) {
+        this.header = Preconditions.checkNotNull(header);
+        this.payload = Preconditions.checkNotNull(payload);
+    }
+
+    /**
+     * @param header message providing header fields and actions, its data are ignored
+     * @param payload packet data, ownership of one reference is transferred to the returned message
+     * @return packet-out message carrying the payload buffer
+     */
+    public static RetainedPacketOutInput create(final PacketOutInput header, final ByteBuf payload) {
+        return new RetainedPacketOutInput(header, payload);
+    }
+
+    @Override
+    public ByteBuf getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return copy of the payload - prefer {@link #getPayload()}
+     */
+    @Override
+    public byte[] getData() {
+        return ByteBufUtil.getBytes(payload);
+    }
+
+    @Override
+    public Short getVersion() {
+        return header.getVersion();
+    }
+
+    @Override
+    public Long getXid() {
+        return header.getXid();
+    }
+
+    @Override
+    public List<Action> getAction() {
+        return header.getAction();
+    }
+
+    @Override
+    public Long getBufferId() {
+        return header.getBufferId();
+    }
+
+    @Override
+    public PortNumber getInPort() {
+        return header.getInPort();
+    }
+
+    @Override
+    public <E extends Augmentation<PacketOutInput>> E getAugmentation(final Class<E> augmentationType) {
+        return header.getAugmentation(augmentationType);
+    }
+
+    @Override
+    public Class<? extends DataContainer> getImplementedInterface() {
+        return PacketOutInput.class;
+    }
+
+    @Override
+    public int refCnt() {
+        return payload.refCnt();
+    }
+
+    @Override
+    public RetainedPacketOutInput retain() {
+        payload.retain();
+        return this;
+    }
+
+    @Override
+    public RetainedPacketOutInput retain(final int increment) {
+        payload.retain(increment);
+        return this;
+    }
+
+    @Override
+    public RetainedPacketOutInput touch() {
+        payload.touch();
+        return this;
+    }
+
+    @Override
+    public RetainedPacketOutInput touch(final Object hint) {
+        payload.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return payload.release();
+    }
+
+    @Override
+    public boolean release(final int decrement) {
+        return payload.release(decrement);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("header", header).add("payloadLength", payload.readableBytes())
+                .toString();
+    }
+}
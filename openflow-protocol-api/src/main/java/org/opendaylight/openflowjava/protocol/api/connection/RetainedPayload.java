@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+
+/**
+ * Implemented by messages which carry their packet payload as a slice of a pooled network
+ * buffer instead of a {@code byte[]} copy.
+ *
+ * <p>
+ * Such a message holds one reference to the underlying buffer. Whoever receives the message
+ * owns that reference and has to {@link #release()} it once the payload is not needed anymore,
+ * otherwise the pooled buffer leaks. The message's {@code getData()} accessor stays functional
+ * until then and returns a heap copy of the payload.
+ *
+ * <p>
+ * Consumers which do not know about this interface can simply use
+ * {@link io.netty.util.ReferenceCountUtil#release(Object)} on every received message.
+ */
+@Beta
+public interface RetainedPayload extends ReferenceCounted {
+
+    /**
+     * @return payload buffer, valid until this message is released. Readers should not modify
+     *         its reader index, use {@link ByteBuf#duplicate()} when in doubt.
+     */
+    ByteBuf getPayload();
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import com.google.common.annotations.Beta;
+import java.util.function.Consumer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.multipart.reply.flow.FlowStats;
+
+/**
+ * Implemented by flow statistics multipart replies whose records are kept undecoded in a
+ * retained slice of the inbound buffer. Records are decoded one at a time when they are
+ * iterated, so the whole per-reply list of flow statistics is never materialized.
+ *
+ * <p>
+ * The ownership rules of {@link RetainedPayload} apply - the consumer has to release the
+ * message once it is done with it. Asking for the multipart reply body instead decodes all
+ * records into a list, which is exactly what this interface is meant to avoid.
+ */
+@Beta
+public interface StreamedFlowStats extends RetainedPayload {
+
+    /**
+     * Decodes flow statistics records in wire order and hands them over to the consumer.
+     * Records are not cached, each invocation decodes them again.
+     *
+     * @param consumer receiver of decoded records
+     */
+    void forEachFlowStats(Consumer<? super FlowStats> consumer);
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.GetFeaturesOutputBuilder;
+
+/**
+ * Unit tests for OutboundQueueSettings.
+ */
+public class OutboundQueueSettingsTest {
+
+    /**
+     * Test settings creation
+     */
+    @Test
+    public void testCreate() {
+        final OutboundQueueSettings settings = OutboundQueueSettings.create(512, 1000, 2000);
+        Assert.assertEquals("Wrong segment size", 512, settings.getSegmentSize());
+        Assert.assertEquals("Wrong low watermark", 1000, settings.getLowWatermark());
+        Assert.assertEquals("Wrong high watermark", 2000, settings.getHighWatermark());
+    }
+
+    /**
+     * Test request timeout
+     */
+    @Test
+    public void testRequestTimeout() {
+        Assert.assertEquals("Timeout enabled by default", 0, OutboundQueueSettings.DEFAULT.getRequestTimeoutNanos());
+        Assert.assertEquals("Timeout enabled by default", 0,
+                OutboundQueueSettings.create(512, 1000, 2000).getRequestTimeoutNanos());
+
+        final OutboundQueueSettings settings = OutboundQueueSettings.SMALL.withRequestTimeout(5, TimeUnit.SECONDS);
+        Assert.assertEquals("Wrong timeout", TimeUnit.SECONDS.toNanos(5), settings.getRequestTimeoutNanos());
+        Assert.assertEquals("Wrong segment size", OutboundQueueSettings.SMALL.getSegmentSize(),
+                settings.getSegmentSize());
+        Assert.assertEquals("Wrong timeout", 0, settings.withRequestTimeout(0, TimeUnit.SECONDS)
+                .getRequestTimeoutNanos());
+    }
+
+    /**
+     * Test invalid request timeout
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidRequestTimeout() {
+        OutboundQueueSettings.DEFAULT.withRequestTimeout(-1, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Test uncompleted request watermarks
+     */
+    @Test
+    public void testUncompletedWatermarks() {
+        Assert.assertEquals("Wrong default low watermark", OutboundQueueSettings.DEFAULT_UNCOMPLETED_LOW_WATERMARK,
+                OutboundQueueSettings.DEFAULT.getUncompletedLowWatermark());
+        Assert.assertEquals("Wrong default high watermark", OutboundQueueSettings.DEFAULT_UNCOMPLETED_HIGH_WATERMARK,
+                OutboundQueueSettings.DEFAULT.getUncompletedHighWatermark());
+
+        final OutboundQueueSettings settings = OutboundQueueSettings.SMALL.withUncompletedWatermarks(100, 200)
+                .withRequestTimeout(5, TimeUnit.SECONDS);
+        Assert.assertEquals("Wrong low watermark", 100, settings.getUncompletedLowWatermark());
+        Assert.assertEquals("Wrong high watermark", 200, settings.getUncompletedHighWatermark());
+        Assert.assertEquals("Wrong write watermark", OutboundQueueSettings.SMALL.getHighWatermark(),
+                settings.getHighWatermark());
+    }
+
+    /**
+     * Test invalid uncompleted request watermarks
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidUncompletedWatermarks() {
+        OutboundQueueSettings.DEFAULT.withUncompletedWatermarks(200, 100);
+    }
+
+    /**
+     * Test invalid watermarks
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateInvalidWatermarks() {
+        OutboundQueueSettings.create(512, 2000, 1000);
+    }
+
+    /**
+     * Test invalid segment size
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateInvalidSegmentSize() {
+        OutboundQueueSettings.create(0, 1000, 2000);
+    }
+
+    /**
+     * Test settings derived from features reply
+     */
+    @Test
+    public void testForFeatures() {
+        final GetFeaturesOutputBuilder builder = new GetFeaturesOutputBuilder();
+        builder.setTables((short) 1).setBuffers(256L);
+        Assert.assertSame("Wrong settings", OutboundQueueSettings.SMALL,
+                OutboundQueueSettings.forFeatures(builder.build()));
+
+        builder.setTables((short) 8).setBuffers(256L);
+        Assert.assertSame("Wrong settings", OutboundQueueSettings.DEFAULT,
+                OutboundQueueSettings.forFeatures(builder.build()));
+
+        builder.setTables((short) 254).setBuffers(0L);
+        Assert.assertSame("Wrong settings", OutboundQueueSettings.LARGE,
+                OutboundQueueSettings.forFeatures(builder.build()));
+
+        builder.setTables(null).setBuffers(null);
+        Assert.assertSame("Wrong settings", OutboundQueueSettings.SMALL,
+                OutboundQueueSettings.forFeatures(builder.build()));
+    }
+}
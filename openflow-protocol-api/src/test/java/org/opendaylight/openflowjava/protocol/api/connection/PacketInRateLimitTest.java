@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.api.connection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for PacketInRateLimit.
+ */
+public class PacketInRateLimitTest {
+
+    /**
+     * Test limit creation
+     */
+    @Test
+    public void testCreate() {
+        Assert.assertTrue("Default should be unlimited", PacketInRateLimit.UNLIMITED.isUnlimited());
+
+        final PacketInRateLimit limit = PacketInRateLimit.create(1000, 100).withPerReason(true).withPerTable(true);
+        Assert.assertFalse("Limit should not be unlimited", limit.isUnlimited());
+        Assert.assertEquals("Wrong rate", 1000, limit.getRate());
+        Assert.assertEquals("Wrong burst", 100, limit.getBurst());
+        Assert.assertTrue("Wrong per-reason", limit.isPerReason());
+        Assert.assertTrue("Wrong per-table", limit.isPerTable());
+        Assert.assertFalse("Wrong per-table", limit.withPerTable(false).isPerTable());
+    }
+
+    /**
+     * Test invalid rate
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateInvalidRate() {
+        PacketInRateLimit.create(0, 100);
+    }
+
+    /**
+     * Test invalid burst
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testCreateInvalidBurst() {
+        PacketInRateLimit.create(1000, 0);
+    }
+}
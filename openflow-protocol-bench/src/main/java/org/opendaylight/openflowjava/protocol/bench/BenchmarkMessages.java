@@ -0,0 +1,358 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.bench;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.Ipv4Address;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.action.choice.OutputActionCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.action.choice.output.action._case.OutputActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.ActionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instruction.grouping.instruction.choice.ApplyActionsCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instruction.grouping.instruction.choice.apply.actions._case.ApplyActionsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instructions.grouping.Instruction;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instructions.grouping.InstructionBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.EtherType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.FlowModCommand;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.FlowModFlags;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartRequestFlags;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PacketInReason;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PortNumber;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.TableId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.EthType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.InPort;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.IpProto;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.Ipv4Dst;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.Ipv4Src;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OpenflowBasicClass;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmMatchType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.TcpDst;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntryBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.EthTypeCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.InPortCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.IpProtoCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.Ipv4DstCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.Ipv4SrcCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.TcpDstCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.eth.type._case.EthTypeBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.in.port._case.InPortBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.ip.proto._case.IpProtoBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.ipv4.dst._case.Ipv4DstBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.ipv4.src._case.Ipv4SrcBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entry.value.grouping.match.entry.value.tcp.dst._case.TcpDstBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.MatchBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyFlowCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyPortStatsCaseBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.MultipartReplyFlowBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.multipart.reply.flow.FlowStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.multipart.reply.flow.FlowStatsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.MultipartReplyPortStatsBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.multipart.reply.port.stats.PortStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.multipart.reply.port.stats.PortStatsBuilder;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Builds the OpenFlow v1.3 messages exercised by the codec benchmarks. Messages are
+ * shaped after what a controller typically sees: L3/L4 flows with six match entries,
+ * full-sized ethernet frames in packet-in / packet-out and stats replies carrying
+ * hundreds of records.
+ */
+public final class BenchmarkMessages {
+
+    /** Size of frames carried in packet-in and packet-out messages */
+    public static final int FRAME_SIZE = 1500;
+    /** Number of ports in a port-stats reply (a 48-port access switch) */
+    public static final int PORT_STATS_COUNT = 48;
+    /** Number of flow records in a flow-stats reply, keeps the message well below 64 KiB */
+    public static final int FLOW_STATS_COUNT = 256;
+
+    private static final short VERSION = EncodeConstants.OF13_VERSION_ID;
+    private static final long XID = 0x01020304L;
+    private static final long NO_BUFFER = 0xffffffffL;
+
+    private BenchmarkMessages() {
+        throw new UnsupportedOperationException("Utility class shouldn't be instantiated");
+    }
+
+    /**
+     * @return flow-mod adding an L4 flow with six match entries and an output action
+     */
+    public static FlowModInput createFlowMod() {
+        final FlowModInputBuilder builder = new FlowModInputBuilder();
+        builder.setVersion(VERSION);
+        builder.setXid(XID);
+        builder.setCookie(BigInteger.valueOf(0x0102030405060708L));
+        builder.setCookieMask(BigInteger.ZERO);
+        builder.setTableId(new TableId(0L));
+        builder.setCommand(FlowModCommand.OFPFCADD);
+        builder.setIdleTimeout(0);
+        builder.setHardTimeout(0);
+        builder.setPriority(32768);
+        builder.setBufferId(NO_BUFFER);
+        builder.setOutPort(new PortNumber(0xffffffffL));
+        builder.setOutGroup(0xffffffffL);
+        builder.setFlags(new FlowModFlags(false, false, false, false, true));
+        builder.setMatch(createMatch(1));
+        builder.setInstruction(createInstructions(2));
+        return builder.build();
+    }
+
+    /**
+     * @return packet-out carrying a full-sized frame and an output action
+     */
+    public static PacketOutInput createPacketOut() {
+        final PacketOutInputBuilder builder = new PacketOutInputBuilder();
+        builder.setVersion(VERSION);
+        builder.setXid(XID);
+        builder.setBufferId(NO_BUFFER);
+        builder.setInPort(new PortNumber(0xfffffffdL));
+        builder.setAction(createActions(2));
+        builder.setData(createFrame());
+        return builder.build();
+    }
+
+    /**
+     * @return table-miss packet-in carrying a full-sized frame
+     */
+    public static PacketInMessage createPacketIn() {
+        final PacketInMessageBuilder builder = new PacketInMessageBuilder();
+        builder.setVersion(VERSION);
+        builder.setXid(XID);
+        builder.setBufferId(NO_BUFFER);
+        builder.setTotalLen(FRAME_SIZE);
+        builder.setReason(PacketInReason.OFPRNOMATCH);
+        builder.setTableId(new TableId(0L));
+        builder.setCookie(BigInteger.ZERO);
+        final MatchBuilder matchBuilder = new MatchBuilder();
+        matchBuilder.setType(OxmMatchType.class);
+        final List<MatchEntry> entries = new ArrayList<>(1);
+        entries.add(createInPortEntry(1));
+        matchBuilder.setMatchEntry(entries);
+        builder.setMatch(matchBuilder.build());
+        builder.setData(createFrame());
+        return builder.build();
+    }
+
+    /**
+     * @return flow-stats reply with {@link #FLOW_STATS_COUNT} flow records
+     */
+    public static MultipartReplyMessage createMultipartReplyFlow() {
+        final List<FlowStats> flowStats = new ArrayList<>(FLOW_STATS_COUNT);
+        for (int i = 0; i < FLOW_STATS_COUNT; i++) {
+            final FlowStatsBuilder builder = new FlowStatsBuilder();
+            builder.setTableId((short) 0);
+            builder.setDurationSec(3600L + i);
+            builder.setDurationNsec(1000L * i);
+            builder.setPriority(32768);
+            builder.setIdleTimeout(0);
+            builder.setHardTimeout(0);
+            builder.setFlags(new FlowModFlags(false, false, false, false, false));
+            builder.setCookie(BigInteger.valueOf(i));
+            builder.setPacketCount(BigInteger.valueOf(1000000L + i));
+            builder.setByteCount(BigInteger.valueOf(1500000000L + i));
+            builder.setMatch(createMatch(i + 1));
+            builder.setInstruction(createInstructions(i + 2));
+            flowStats.add(builder.build());
+        }
+
+        final MultipartReplyFlowBuilder flowBuilder = new MultipartReplyFlowBuilder();
+        flowBuilder.setFlowStats(flowStats);
+        final MultipartReplyFlowCaseBuilder caseBuilder = new MultipartReplyFlowCaseBuilder();
+        caseBuilder.setMultipartReplyFlow(flowBuilder.build());
+
+        final MultipartReplyMessageBuilder builder = createMultipartReplyBuilder(MultipartType.OFPMPFLOW);
+        builder.setMultipartReplyBody(caseBuilder.build());
+        return builder.build();
+    }
+
+    /**
+     * @return port-stats reply with {@link #PORT_STATS_COUNT} port records
+     */
+    public static MultipartReplyMessage createMultipartReplyPortStats() {
+        final List<PortStats> portStats = new ArrayList<>(PORT_STATS_COUNT);
+        for (int i = 0; i < PORT_STATS_COUNT; i++) {
+            final PortStatsBuilder builder = new PortStatsBuilder();
+            builder.setPortNo(i + 1L);
+            builder.setRxPackets(BigInteger.valueOf(123456789L + i));
+            builder.setTxPackets(BigInteger.valueOf(987654321L + i));
+            builder.setRxBytes(BigInteger.valueOf(123456789000L + i));
+            builder.setTxBytes(BigInteger.valueOf(987654321000L + i));
+            builder.setRxDropped(BigInteger.valueOf(i));
+            builder.setTxDropped(BigInteger.valueOf(i));
+            builder.setRxErrors(BigInteger.ZERO);
+            builder.setTxErrors(BigInteger.ZERO);
+            builder.setRxFrameErr(BigInteger.ZERO);
+            builder.setRxOverErr(BigInteger.ZERO);
+            builder.setRxCrcErr(BigInteger.ZERO);
+            builder.setCollisions(BigInteger.ZERO);
+            builder.setDurationSec(86400L);
+            builder.setDurationNsec(0L);
+            portStats.add(builder.build());
+        }
+
+        final MultipartReplyPortStatsBuilder portStatsBuilder = new MultipartReplyPortStatsBuilder();
+        portStatsBuilder.setPortStats(portStats);
+        final MultipartReplyPortStatsCaseBuilder caseBuilder = new MultipartReplyPortStatsCaseBuilder();
+        caseBuilder.setMultipartReplyPortStats(portStatsBuilder.build());
+
+        final MultipartReplyMessageBuilder builder = createMultipartReplyBuilder(MultipartType.OFPMPPORTSTATS);
+        builder.setMultipartReplyBody(caseBuilder.build());
+        return builder.build();
+    }
+
+    /**
+     * Encodes a message into its wire format, as received from the network. The returned
+     * buffer is positioned just past the version byte, which is where
+     * {@link org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory}
+     * expects it to be.
+     *
+     * @param factory serialization factory used for encoding
+     * @param message message to encode
+     * @return unpooled buffer holding the encoded message
+     */
+    public static ByteBuf encodeFrame(final SerializationFactory factory, final DataObject message) {
+        final ByteBuf frame = Unpooled.buffer();
+        factory.messageToBuffer(VERSION, frame, message);
+        frame.skipBytes(EncodeConstants.SIZE_OF_BYTE_IN_BYTES);
+        return frame;
+    }
+
+    private static MultipartReplyMessageBuilder createMultipartReplyBuilder(final MultipartType type) {
+        final MultipartReplyMessageBuilder builder = new MultipartReplyMessageBuilder();
+        builder.setVersion(VERSION);
+        builder.setXid(XID);
+        builder.setType(type);
+        builder.setFlags(new MultipartRequestFlags(true));
+        return builder;
+    }
+
+    private static Match createMatch(final int seed) {
+        final List<MatchEntry> entries = new ArrayList<>(6);
+        entries.add(createInPortEntry(seed % 48 + 1));
+
+        MatchEntryBuilder entryBuilder = createEntryBuilder();
+        entryBuilder.setOxmMatchField(EthType.class);
+        final EthTypeCaseBuilder ethTypeCaseBuilder = new EthTypeCaseBuilder();
+        final EthTypeBuilder ethTypeBuilder = new EthTypeBuilder();
+        ethTypeBuilder.setEthType(new EtherType(0x0800));
+        ethTypeCaseBuilder.setEthType(ethTypeBuilder.build());
+        entryBuilder.setMatchEntryValue(ethTypeCaseBuilder.build());
+        entries.add(entryBuilder.build());
+
+        entryBuilder = createEntryBuilder();
+        entryBuilder.setOxmMatchField(Ipv4Src.class);
+        final Ipv4SrcCaseBuilder ipv4SrcCaseBuilder = new Ipv4SrcCaseBuilder();
+        final Ipv4SrcBuilder ipv4SrcBuilder = new Ipv4SrcBuilder();
+        ipv4SrcBuilder.setIpv4Address(new Ipv4Address("10.0." + (seed >> 8 & 0xff) + "." + (seed & 0xff)));
+        ipv4SrcCaseBuilder.setIpv4Src(ipv4SrcBuilder.build());
+        entryBuilder.setMatchEntryValue(ipv4SrcCaseBuilder.build());
+        entries.add(entryBuilder.build());
+
+        entryBuilder = createEntryBuilder();
+        entryBuilder.setOxmMatchField(Ipv4Dst.class);
+        final Ipv4DstCaseBuilder ipv4DstCaseBuilder = new Ipv4DstCaseBuilder();
+        final Ipv4DstBuilder ipv4DstBuilder = new Ipv4DstBuilder();
+        ipv4DstBuilder.setIpv4Address(new Ipv4Address("192.168.1.1"));
+        ipv4DstCaseBuilder.setIpv4Dst(ipv4DstBuilder.build());
+        entryBuilder.setMatchEntryValue(ipv4DstCaseBuilder.build());
+        entries.add(entryBuilder.build());
+
+        entryBuilder = createEntryBuilder();
+        entryBuilder.setOxmMatchField(IpProto.class);
+        final IpProtoCaseBuilder ipProtoCaseBuilder = new IpProtoCaseBuilder();
+        final IpProtoBuilder ipProtoBuilder = new IpProtoBuilder();
+        ipProtoBuilder.setProtocolNumber((short) 6);
+        ipProtoCaseBuilder.setIpProto(ipProtoBuilder.build());
+        entryBuilder.setMatchEntryValue(ipProtoCaseBuilder.build());
+        entries.add(entryBuilder.build());
+
+        entryBuilder = createEntryBuilder();
+        entryBuilder.setOxmMatchField(TcpDst.class);
+        final TcpDstCaseBuilder tcpDstCaseBuilder = new TcpDstCaseBuilder();
+        final TcpDstBuilder tcpDstBuilder = new TcpDstBuilder();
+        tcpDstBuilder.setPort(new org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715
+                .PortNumber(80));
+        tcpDstCaseBuilder.setTcpDst(tcpDstBuilder.build());
+        entryBuilder.setMatchEntryValue(tcpDstCaseBuilder.build());
+        entries.add(entryBuilder.build());
+
+        final MatchBuilder builder = new MatchBuilder();
+        builder.setType(OxmMatchType.class);
+        builder.setMatchEntry(entries);
+        return builder.build();
+    }
+
+    private static MatchEntryBuilder createEntryBuilder() {
+        final MatchEntryBuilder builder = new MatchEntryBuilder();
+        builder.setOxmClass(OpenflowBasicClass.class);
+        builder.setHasMask(false);
+        return builder;
+    }
+
+    private static MatchEntry createInPortEntry(final long port) {
+        final MatchEntryBuilder builder = createEntryBuilder();
+        builder.setOxmMatchField(InPort.class);
+        final InPortCaseBuilder caseBuilder = new InPortCaseBuilder();
+        final InPortBuilder inPortBuilder = new InPortBuilder();
+        inPortBuilder.setPortNumber(new PortNumber(port));
+        caseBuilder.setInPort(inPortBuilder.build());
+        builder.setMatchEntryValue(caseBuilder.build());
+        return builder.build();
+    }
+
+    private static List<Instruction> createInstructions(final long port) {
+        final ApplyActionsBuilder applyActionsBuilder = new ApplyActionsBuilder();
+        applyActionsBuilder.setAction(createActions(port));
+        final ApplyActionsCaseBuilder caseBuilder = new ApplyActionsCaseBuilder();
+        caseBuilder.setApplyActions(applyActionsBuilder.build());
+        final InstructionBuilder builder = new InstructionBuilder();
+        builder.setInstructionChoice(caseBuilder.build());
+        final List<Instruction> instructions = new ArrayList<>(1);
+        instructions.add(builder.build());
+        return instructions;
+    }
+
+    private static List<Action> createActions(final long port) {
+        final OutputActionBuilder outputBuilder = new OutputActionBuilder();
+        outputBuilder.setPort(new PortNumber(port));
+        outputBuilder.setMaxLength(0xffff);
+        final OutputActionCaseBuilder caseBuilder = new OutputActionCaseBuilder();
+        caseBuilder.setOutputAction(outputBuilder.build());
+        final ActionBuilder builder = new ActionBuilder();
+        builder.setActionChoice(caseBuilder.build());
+        final List<Action> actions = new ArrayList<>(1);
+        actions.add(builder.build());
+        return actions;
+    }
+
+    private static byte[] createFrame() {
+        final byte[] frame = new byte[FRAME_SIZE];
+        for (int i = 0; i < frame.length; i++) {
+            frame[i] = (byte) i;
+        }
+        return frame;
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.bench;
+
+import io.netty.buffer.ByteBuf;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DeserializationFactory#deserialize(ByteBuf, short)} for the messages
+ * defined in {@link BenchmarkMessages}. Wire frames are produced once by the serializers
+ * and rewound before every invocation, so only decoding is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class DeserializationBenchmark {
+
+    private static final int BODY_OFFSET = EncodeConstants.SIZE_OF_BYTE_IN_BYTES;
+
+    private DeserializationFactory factory;
+    private ByteBuf flowMod;
+    private ByteBuf packetOut;
+    private ByteBuf packetIn;
+    private ByteBuf multipartReplyFlow;
+    private ByteBuf multipartReplyPortStats;
+
+    @Setup
+    public void setUp() {
+        final DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        factory = new DeserializationFactory();
+        factory.setRegistry(registry);
+
+        final SerializerRegistryImpl serializerRegistry = new SerializerRegistryImpl();
+        serializerRegistry.init();
+        final SerializationFactory serializationFactory = new SerializationFactory();
+        serializationFactory.setSerializerTable(serializerRegistry);
+
+        flowMod = BenchmarkMessages.encodeFrame(serializationFactory, BenchmarkMessages.createFlowMod());
+        packetOut = BenchmarkMessages.encodeFrame(serializationFactory, BenchmarkMessages.createPacketOut());
+        packetIn = BenchmarkMessages.encodeFrame(serializationFactory, BenchmarkMessages.createPacketIn());
+        multipartReplyFlow = BenchmarkMessages.encodeFrame(serializationFactory,
+                BenchmarkMessages.createMultipartReplyFlow());
+        multipartReplyPortStats = BenchmarkMessages.encodeFrame(serializationFactory,
+                BenchmarkMessages.createMultipartReplyPortStats());
+    }
+
+    @TearDown
+    public void tearDown() {
+        flowMod.release();
+        packetOut.release();
+        packetIn.release();
+        multipartReplyFlow.release();
+        multipartReplyPortStats.release();
+    }
+
+    @Benchmark
+    public DataObject flowMod() {
+        return deserialize(flowMod);
+    }
+
+    @Benchmark
+    public DataObject packetOut() {
+        return deserialize(packetOut);
+    }
+
+    @Benchmark
+    public DataObject packetIn() {
+        return deserialize(packetIn);
+    }
+
+    @Benchmark
+    public DataObject multipartReplyFlow() {
+        return deserialize(multipartReplyFlow);
+    }
+
+    @Benchmark
+    public DataObject multipartReplyPortStats() {
+        return deserialize(multipartReplyPortStats);
+    }
+
+    private DataObject deserialize(final ByteBuf frame) {
+        frame.readerIndex(BODY_OFFSET);
+        return factory.deserialize(frame, EncodeConstants.OF13_VERSION_ID);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.bench;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
+import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowModInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SerializationFactory#messageToBuffer(short, ByteBuf, DataObject)} for
+ * the messages defined in {@link BenchmarkMessages}. A single pooled output buffer is
+ * reused across invocations, mirroring what OFEncoder gets from the channel allocator,
+ * so that reported allocation comes from the codec itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private SerializationFactory factory;
+    private ByteBuf out;
+    private FlowModInput flowMod;
+    private PacketOutInput packetOut;
+    private PacketInMessage packetIn;
+    private MultipartReplyMessage multipartReplyFlow;
+    private MultipartReplyMessage multipartReplyPortStats;
+
+    @Setup
+    public void setUp() {
+        final SerializerRegistryImpl registry = new SerializerRegistryImpl();
+        registry.init();
+        factory = new SerializationFactory();
+        factory.setSerializerTable(registry);
+        out = PooledByteBufAllocator.DEFAULT.buffer(EncodeConstants.OFHEADER_SIZE, 0xffff);
+
+        flowMod = BenchmarkMessages.createFlowMod();
+        packetOut = BenchmarkMessages.createPacketOut();
+        packetIn = BenchmarkMessages.createPacketIn();
+        multipartReplyFlow = BenchmarkMessages.createMultipartReplyFlow();
+        multipartReplyPortStats = BenchmarkMessages.createMultipartReplyPortStats();
+    }
+
+    @TearDown
+    public void tearDown() {
+        out.release();
+    }
+
+    @Benchmark
+    public int flowMod() {
+        return serialize(flowMod);
+    }
+
+    @Benchmark
+    public int packetOut() {
+        return serialize(packetOut);
+    }
+
+    @Benchmark
+    public int packetIn() {
+        return serialize(packetIn);
+    }
+
+    @Benchmark
+    public int multipartReplyFlow() {
+        return serialize(multipartReplyFlow);
+    }
+
+    @Benchmark
+    public int multipartReplyPortStats() {
+        return serialize(multipartReplyPortStats);
+    }
+
+    private int serialize(final DataObject message) {
+        out.clear();
+        factory.messageToBuffer(EncodeConstants.OF13_VERSION_ID, out, message);
+        return out.writerIndex();
+    }
+}
@@ -8,8 +8,12 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core;
 
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterImpl;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.NotificationExecutor;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.UpstreamExecutor;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 
@@ -25,6 +29,11 @@ public class ChannelInitializerFactory {
     private TlsConfiguration tlsConfig;
     private SwitchConnectionHandler switchConnectionHandler;
     private boolean useBarrier;
+    private int channelOutboundQueueSize = ConnectionAdapterImpl.DEFAULT_QUEUE_DEPTH;
+    private NotificationExecutor notificationExecutor = NotificationExecutor.getDefault();
+    private boolean useFusedInboundDecoder;
+    private UpstreamExecutor upstreamExecutor;
+    private PacketInRateLimit packetInRateLimit = PacketInRateLimit.UNLIMITED;
 
     /**
      * @return PublishingChannelInitializer that initializes new channels
@@ -37,6 +46,11 @@ public class ChannelInitializerFactory {
         initializer.setTlsConfiguration(tlsConfig);
         initializer.setSwitchConnectionHandler(switchConnectionHandler);
         initializer.setUseBarrier(useBarrier);
+        initializer.setChannelOutboundQueueSize(channelOutboundQueueSize);
+        initializer.setNotificationExecutor(notificationExecutor);
+        initializer.setUseFusedInboundDecoder(useFusedInboundDecoder);
+        initializer.setUpstreamExecutor(upstreamExecutor);
+        initializer.setPacketInRateLimit(packetInRateLimit);
         return initializer;
     }
 
@@ -49,6 +63,7 @@ public class ChannelInitializerFactory {
         initializer.setDeserializationFactory(deserializationFactory);
         initializer.setSerializationFactory(serializationFactory);
         initializer.setSwitchConnectionHandler(switchConnectionHandler);
+        initializer.setChannelOutboundQueueSize(channelOutboundQueueSize);
         return initializer;
     }
 
@@ -93,4 +108,39 @@ public class ChannelInitializerFactory {
     public void setUseBarrier(final boolean useBarrier) {
         this.useBarrier = useBarrier;
     }
+
+    /**
+     * @param channelOutboundQueueSize depth of the per-connection outbound queue
+     */
+    public void setChannelOutboundQueueSize(final int channelOutboundQueueSize) {
+        this.channelOutboundQueueSize = channelOutboundQueueSize;
+    }
+
+    /**
+     * @param notificationExecutor executor running connection-ready notifications
+     */
+    public void setNotificationExecutor(final NotificationExecutor notificationExecutor) {
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    /**
+     * @param useFusedInboundDecoder true if inbound messages should be decoded by a single handler
+     */
+    public void setUseFusedInboundDecoder(final boolean useFusedInboundDecoder) {
+        this.useFusedInboundDecoder = useFusedInboundDecoder;
+    }
+
+    /**
+     * @param upstreamExecutor workers running listener callbacks, or null to run them on event loops
+     */
+    public void setUpstreamExecutor(final UpstreamExecutor upstreamExecutor) {
+        this.upstreamExecutor = upstreamExecutor;
+    }
+
+    /**
+     * @param packetInRateLimit limit of the rate at which PacketIns are accepted from each connection
+     */
+    public void setPacketInRateLimit(final PacketInRateLimit packetInRateLimit) {
+        this.packetInRateLimit = packetInRateLimit;
+    }
 }
\ No newline at end of file
@@ -43,6 +43,12 @@ public class DelegatingInboundHandler extends ChannelInboundHandlerAdapter {
         consumer.consume((DataObject) msg);
     }
 
+    @Override
+    public void channelReadComplete(final ChannelHandlerContext ctx) {
+        consumer.consumeComplete();
+        ctx.fireChannelReadComplete();
+    }
+
     @Override
     public void channelInactive(final ChannelHandlerContext ctx) {
         LOG.debug("Channel inactive");
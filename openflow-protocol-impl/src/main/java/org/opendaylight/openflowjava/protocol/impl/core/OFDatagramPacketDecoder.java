@@ -41,6 +41,8 @@ public class OFDatagramPacketDecoder extends SimpleChannelInboundHandler<Version
             } else {
                 MessageConsumer consumer = UdpConnectionMap.getMessageConsumer(msg.getAddress());
                 consumer.consume(dataObject);
+                // Every datagram carries a single message
+                consumer.consumeComplete();
             }
         } catch(Exception e) {
             LOG.warn("Message deserialization failed", e);
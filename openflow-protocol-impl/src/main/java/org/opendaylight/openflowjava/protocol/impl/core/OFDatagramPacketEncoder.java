@@ -44,6 +44,8 @@ public class OFDatagramPacketEncoder extends MessageToMessageEncoder<UdpMessageL
             Future<Void> newFailedFuture = ctx.newFailedFuture(e);
             wrapper.getListener().operationComplete(newFailedFuture);
             return;
+        } finally {
+            wrapper.releaseMsg();
         }
     }
 
@@ -19,6 +19,8 @@ import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHan
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactory;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactoryImpl;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterImpl;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterSettings;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageConsumer;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
@@ -38,6 +40,7 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
     private static final byte LENGTH_INDEX_IN_HEADER = 2;
     private ConnectionAdapterFactory adapterFactory = new ConnectionAdapterFactoryImpl();
     private SwitchConnectionHandler connectionHandler;
+    private final ConnectionAdapterSettings adapterSettings;
 
     /**
      * Default constructor
@@ -45,7 +48,18 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
      * what to do with incomming message / channel
      */
     public OFDatagramPacketHandler(SwitchConnectionHandler sch) {
+        this(sch, ConnectionAdapterImpl.DEFAULT_QUEUE_DEPTH);
+    }
+
+    /**
+     * @param sch the switchConnectionHandler that decides
+     * what to do with incomming message / channel
+     * @param channelOutboundQueueSize depth of the per-connection outbound queue
+     */
+    public OFDatagramPacketHandler(SwitchConnectionHandler sch, int channelOutboundQueueSize) {
         this.connectionHandler = sch;
+        this.adapterSettings = ConnectionAdapterSettings.create(false)
+                .withChannelOutboundQueueSize(channelOutboundQueueSize);
     }
 
     @Override
@@ -62,7 +76,7 @@ public class OFDatagramPacketHandler extends MessageToMessageDecoder<DatagramPac
         MessageConsumer consumer = UdpConnectionMap.getMessageConsumer(msg.sender());
         if (consumer == null) {
             ConnectionFacade connectionFacade =
-                    adapterFactory.createConnectionFacade(ctx.channel(), msg.sender(), false);
+                    adapterFactory.createConnectionFacade(ctx.channel(), msg.sender(), adapterSettings);
             connectionHandler.onSwitchConnected(connectionFacade);
             connectionFacade.checkListeners();
             UdpConnectionMap.addConnection(msg.sender(), connectionFacade);
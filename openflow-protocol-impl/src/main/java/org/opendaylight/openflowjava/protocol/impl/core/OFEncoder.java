@@ -12,6 +12,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.MessageToByteEncoder;
 import io.netty.util.concurrent.Future;
+import org.opendaylight.openflowjava.protocol.api.connection.RetainedPayload;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageListenerWrapper;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 import org.opendaylight.openflowjava.statistics.CounterEventTypes;
@@ -56,9 +57,22 @@ public class OFEncoder extends MessageToByteEncoder<MessageListenerWrapper> {
             }
             out.clear();
             return;
+        } finally {
+            // Messages carrying pooled payloads are owned by us once handed over for sending
+            wrapper.releaseMsg();
         }
     }
 
+    @Override
+    protected ByteBuf allocateBuffer(final ChannelHandlerContext ctx, final MessageListenerWrapper wrapper,
+            final boolean preferDirect) throws Exception {
+        if (wrapper.getMsg() instanceof RetainedPayload) {
+            // Let the serializer gather the payload as a separate component instead of copying it
+            return ctx.alloc().compositeDirectBuffer();
+        }
+        return super.allocateBuffer(ctx, wrapper, preferDirect);
+    }
+
     /**
      * @param serializationFactory
      */
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.DecoderException;
+import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Frames incoming messages, discards unsupported versions and filtered PacketIns, and transforms
+ * the rest to POJOs, all in a single pass. This replaces {@link OFFrameDecoder}, {@link OFVersionDetector}
+ * and {@link OFDecoder} with identical semantics and statistics, without retaining a slice and allocating
+ * a {@link VersionMessageWrapper} for each message, nor passing it through two more handlers. Frames are
+ * deserialized directly from the cumulated buffer, deserializers which keep parts of a message retain
+ * them on their own.
+ */
+public class OFInboundDecoder extends ByteToMessageDecoder implements PacketInFilter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OFInboundDecoder.class);
+    private static final byte LENGTH_INDEX_IN_HEADER = 2;
+
+    private final ConnectionFacade connectionFacade;
+    private final DeserializationFactory deserializationFactory;
+    private final StatisticsCounters statisticsCounters;
+    private boolean firstTlsPass;
+    private volatile boolean filterPacketIns;
+    private volatile PacketInRateLimiter rateLimiter;
+
+    /**
+     * @param connectionFacade ConnectionFacade that will be notified
+     *                         with ConnectionReadyNotification after TLS has been successfully set up.
+     * @param tlsPresent true is TLS is required, false otherwise
+     * @param deserializationFactory factory transforming messages to POJOs
+     */
+    public OFInboundDecoder(final ConnectionFacade connectionFacade, final boolean tlsPresent,
+            final DeserializationFactory deserializationFactory) {
+        LOG.trace("Creating OFInboundDecoder");
+        this.connectionFacade = connectionFacade;
+        this.deserializationFactory = Preconditions.checkNotNull(deserializationFactory);
+        this.firstTlsPass = tlsPresent;
+        statisticsCounters = StatisticsCounters.getInstance();
+    }
+
+    @Override
+    public void setFilterPacketIns(final boolean enabled) {
+        filterPacketIns = enabled;
+    }
+
+    @Override
+    public void setPacketInRateLimit(final PacketInRateLimit limit) {
+        rateLimiter = PacketInRateLimiter.forLimit(limit);
+    }
+
+    @Override
+    public void exceptionCaught(final ChannelHandlerContext ctx, final Throwable cause) throws Exception {
+        if (cause instanceof io.netty.handler.ssl.NotSslRecordException) {
+            LOG.warn("Not an TLS record exception - please verify TLS configuration.");
+        } else {
+            LOG.warn("Unexpected exception from downstream.", cause);
+        }
+        LOG.warn("Closing connection.");
+        ctx.close();
+    }
+
+    @Override
+    protected void decode(final ChannelHandlerContext ctx, final ByteBuf bb, final List<Object> out) {
+        if (firstTlsPass) {
+            connectionFacade.fireConnectionReadyNotification();
+            firstTlsPass = false;
+        }
+        final int readableBytes = bb.readableBytes();
+        if (readableBytes < OFFrameDecoder.LENGTH_OF_HEADER) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("skipping bytebuf - too few bytes for header: {} < {}", readableBytes,
+                        OFFrameDecoder.LENGTH_OF_HEADER);
+                LOG.debug("bb: {}", ByteBufUtils.byteBufToHexString(bb));
+            }
+            return;
+        }
+
+        final int start = bb.readerIndex();
+        final int length = bb.getUnsignedShort(start + LENGTH_INDEX_IN_HEADER);
+        LOG.debug("length of actual message: {}", length);
+
+        if (readableBytes < length) {
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("skipping bytebuf - too few bytes for msg: {} < {}", readableBytes, length);
+                LOG.debug("bytebuffer: {}", ByteBufUtils.byteBufToHexString(bb));
+            }
+            return;
+        }
+        if (length < 2) {
+            // Such a frame carries no message type, the three-stage pipeline fails on it as well
+            throw new DecoderException("Received message of invalid length " + length);
+        }
+        LOG.debug("OF Protocol message received, type:{}", bb.getByte(start + 1));
+
+        try {
+            decodeFrame(bb, start, length, out);
+        } finally {
+            bb.readerIndex(start + length);
+        }
+    }
+
+    private void decodeFrame(final ByteBuf bb, final int start, final int length, final List<Object> out) {
+        final byte version = bb.getByte(start);
+        final short messageType = bb.getUnsignedByte(start + 1);
+        if (messageType != EncodeConstants.OF_HELLO_MESSAGE_TYPE_VALUE && version != EncodeConstants.OF10_VERSION_ID
+                && version != EncodeConstants.OF13_VERSION_ID) {
+            LOG.warn("detected version: {} - currently not supported", version);
+            return;
+        }
+        LOG.debug("detected version: {}", version);
+        if (EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE == messageType && !acceptPacketIn(bb, start, length)) {
+            LOG.debug("dropped packetin");
+            statisticsCounters.incrementCounter(CounterEventTypes.US_DROPPED_PACKET_IN);
+            return;
+        }
+
+        statisticsCounters.incrementCounter(CounterEventTypes.US_RECEIVED_IN_OFJAVA);
+        final ByteBuf messageBuffer = bb.slice(start + 1, length - 1);
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("<< {}", ByteBufUtils.byteBufToHexString(messageBuffer));
+        }
+
+        try {
+            final DataObject dataObject = deserializationFactory.deserialize(messageBuffer, version);
+            if (dataObject == null) {
+                LOG.warn("Translated POJO is null");
+                statisticsCounters.incrementCounter(CounterEventTypes.US_DECODE_FAIL);
+            } else {
+                out.add(dataObject);
+                statisticsCounters.incrementCounter(CounterEventTypes.US_DECODE_SUCCESS);
+            }
+        } catch (Exception e) {
+            LOG.warn("Message deserialization failed", e);
+            statisticsCounters.incrementCounter(CounterEventTypes.US_DECODE_FAIL);
+        }
+    }
+
+    private boolean acceptPacketIn(final ByteBuf bb, final int start, final int length) {
+        if (filterPacketIns) {
+            return false;
+        }
+        final PacketInRateLimiter limiter = rateLimiter;
+        return limiter == null || limiter.tryAcquire(bb, start, length);
+    }
+}
@@ -14,6 +14,7 @@ import io.netty.handler.codec.ByteToMessageDecoder;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.statistics.CounterEventTypes;
 import org.opendaylight.openflowjava.statistics.StatisticsCounters;
@@ -24,7 +25,7 @@ import org.slf4j.LoggerFactory;
  * Detects version of used OpenFlow Protocol and discards unsupported version messages.
  * @author michal.polkorab
  */
-public class OFVersionDetector extends ByteToMessageDecoder {
+public class OFVersionDetector extends ByteToMessageDecoder implements PacketInFilter {
 
     private static final Logger LOG = LoggerFactory.getLogger(OFVersionDetector.class);
     /** IDs of accepted OpenFlow protocol versions */
@@ -34,16 +35,23 @@ public class OFVersionDetector extends ByteToMessageDecoder {
     ));
     private final StatisticsCounters statisticsCounters;
     private volatile boolean filterPacketIns;
+    private volatile PacketInRateLimiter rateLimiter;
 
     public OFVersionDetector() {
         LOG.trace("Creating OFVersionDetector");
         statisticsCounters = StatisticsCounters.getInstance();
     }
 
+    @Override
     public void setFilterPacketIns(final boolean enabled) {
         filterPacketIns = enabled;
     }
 
+    @Override
+    public void setPacketInRateLimit(final PacketInRateLimit limit) {
+        rateLimiter = PacketInRateLimiter.forLimit(limit);
+    }
+
     @Override
     protected void decode(final ChannelHandlerContext ctx, final ByteBuf in, final List<Object> out) {
         if (!in.isReadable()) {
@@ -52,11 +60,13 @@ public class OFVersionDetector extends ByteToMessageDecoder {
             return;
         }
 
+        final int start = in.readerIndex();
         final byte version = in.readByte();
         final short messageType = in.getUnsignedByte(in.readerIndex());
         if (messageType == EncodeConstants.OF_HELLO_MESSAGE_TYPE_VALUE || OF_VERSIONS.contains(version)) {
             LOG.debug("detected version: {}", version);
-            if (!filterPacketIns || EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE != messageType) {
+            if (EncodeConstants.OF_PACKETIN_MESSAGE_TYPE_VALUE != messageType
+                    || acceptPacketIn(in, start, in.writerIndex() - start)) {
                 ByteBuf messageBuffer = in.slice();
                 out.add(new VersionMessageWrapper(version, messageBuffer));
                 messageBuffer.retain();
@@ -70,4 +80,12 @@ public class OFVersionDetector extends ByteToMessageDecoder {
         in.skipBytes(in.readableBytes());
     }
 
+    private boolean acceptPacketIn(final ByteBuf in, final int start, final int length) {
+        if (filterPacketIns) {
+            return false;
+        }
+        final PacketInRateLimiter limiter = rateLimiter;
+        return limiter == null || limiter.tryAcquire(in, start, length);
+    }
+
 }
@@ -0,0 +1,27 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
+
+/**
+ * Pipeline handler which is able to drop PacketIn messages before they are deserialized.
+ */
+public interface PacketInFilter {
+
+    /**
+     * @param enabled true if PacketIn messages should be dropped, false if they should be reported
+     */
+    void setFilterPacketIns(boolean enabled);
+
+    /**
+     * @param limit limit of the rate at which PacketIn messages are reported, PacketIns over it are dropped
+     */
+    void setPacketInRateLimit(PacketInRateLimit limit);
+}
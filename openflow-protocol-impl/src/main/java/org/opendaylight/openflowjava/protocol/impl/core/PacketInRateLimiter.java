@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
+import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+
+/**
+ * Token buckets enforcing a {@link PacketInRateLimit} on a single connection. Decisions are made on raw
+ * frames, peeking at the reason and table ID without deserializing anything. Buckets are allocated
+ * on first use, each reason gets an array of buckets indexed by table ID.
+ *
+ * <p>
+ * Tokens are kept in nanosecond units, so that refills do not lose precision to integer division.
+ *
+ * <p>
+ * This class is not thread-safe, it is accessed from Netty only.
+ */
+final class PacketInRateLimiter {
+    private static final long TOKEN = TimeUnit.SECONDS.toNanos(1);
+    private static final int MAX_IDS = 256;
+
+    // Offsets from the start of the frame, i.e. including the version byte
+    private static final int OF10_REASON_OFFSET = 16;
+    private static final int OF13_REASON_OFFSET = 14;
+    private static final int OF13_TABLE_ID_OFFSET = 15;
+
+    private static final class Bucket {
+        long tokens;
+        long lastRefill;
+
+        Bucket(final long tokens, final long now) {
+            this.tokens = tokens;
+            this.lastRefill = now;
+        }
+    }
+
+    private final Bucket[][] buckets = new Bucket[MAX_IDS][];
+    private final PacketInRateLimit limit;
+    private final long capacity;
+    private final long refillNanos;
+
+    private PacketInRateLimiter(final PacketInRateLimit limit) {
+        this.limit = Preconditions.checkNotNull(limit);
+        this.capacity = limit.getBurst() * TOKEN;
+        this.refillNanos = capacity / limit.getRate();
+    }
+
+    /**
+     * @param limit limit to enforce
+     * @return limiter instance, null if the limit accepts all PacketIns
+     */
+    @Nullable
+    static PacketInRateLimiter forLimit(final PacketInRateLimit limit) {
+        return limit.isUnlimited() ? null : new PacketInRateLimiter(limit);
+    }
+
+    /**
+     * @param frame buffer holding the PacketIn
+     * @param start index of the version byte of the PacketIn
+     * @param length length of the PacketIn
+     * @return true if the PacketIn is within the limit, false if it should be dropped
+     */
+    boolean tryAcquire(final ByteBuf frame, final int start, final int length) {
+        return tryAcquire(frame, start, length, System.nanoTime());
+    }
+
+    boolean tryAcquire(final ByteBuf frame, final int start, final int length, final long now) {
+        final boolean of10 = frame.getByte(start) == EncodeConstants.OF10_VERSION_ID;
+        final int reason = limit.isPerReason()
+                ? peek(frame, start, length, of10 ? OF10_REASON_OFFSET : OF13_REASON_OFFSET) : 0;
+        final int tableId = limit.isPerTable() && !of10 ? peek(frame, start, length, OF13_TABLE_ID_OFFSET) : 0;
+
+        Bucket[] tables = buckets[reason];
+        if (tables == null) {
+            tables = new Bucket[MAX_IDS];
+            buckets[reason] = tables;
+        }
+        Bucket bucket = tables[tableId];
+        if (bucket == null) {
+            bucket = new Bucket(capacity, now);
+            tables[tableId] = bucket;
+        } else {
+            refill(bucket, now);
+        }
+
+        if (bucket.tokens < TOKEN) {
+            return false;
+        }
+        bucket.tokens -= TOKEN;
+        return true;
+    }
+
+    private void refill(final Bucket bucket, final long now) {
+        final long elapsed = now - bucket.lastRefill;
+        bucket.lastRefill = now;
+        // Checking the elapsed time first keeps the multiplication below from overflowing
+        if (elapsed >= refillNanos) {
+            bucket.tokens = capacity;
+        } else if (elapsed > 0) {
+            bucket.tokens = Math.min(capacity, bucket.tokens + elapsed * limit.getRate());
+        }
+    }
+
+    private static int peek(final ByteBuf frame, final int start, final int length, final int offset) {
+        // Truncated messages are left to the deserializer to reject
+        return offset < length ? frame.getUnsignedByte(start + offset) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("limit", limit).toString();
+    }
+}
@@ -35,6 +35,11 @@ public enum PipelineHandlers {
      * Transforms OpenFlow Protocol byte messages into POJOs
      */
     OF_DECODER,
+    /**
+     * Decodes incoming messages into message frames, detects their version
+     * and transforms them into POJOs in a single pass
+     */
+    OF_INBOUND_DECODER,
     /**
      * Transforms POJOs into OpenFlow Protocol byte messages
      */
@@ -10,8 +10,12 @@ package org.opendaylight.openflowjava.protocol.impl.core;
 
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
 import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterImpl;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.NotificationExecutor;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.UpstreamExecutor;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 
@@ -28,6 +32,11 @@ public abstract class ProtocolChannelInitializer<C extends Channel>
     private DeserializationFactory deserializationFactory;
     private TlsConfiguration tlsConfiguration;
     private boolean useBarrier;
+    private int channelOutboundQueueSize = ConnectionAdapterImpl.DEFAULT_QUEUE_DEPTH;
+    private NotificationExecutor notificationExecutor = NotificationExecutor.getDefault();
+    private boolean useFusedInboundDecoder;
+    private UpstreamExecutor upstreamExecutor;
+    private PacketInRateLimit packetInRateLimit = PacketInRateLimit.UNLIMITED;
 
     /**
      * @param switchConnectionHandler the switchConnectionHandler to set
@@ -112,4 +121,74 @@ public abstract class ProtocolChannelInitializer<C extends Channel>
     public boolean useBarrier() {
         return useBarrier;
     }
-}
\ No newline at end of file
+
+    /**
+     * @param channelOutboundQueueSize depth of the per-connection outbound queue
+     */
+    public void setChannelOutboundQueueSize(final int channelOutboundQueueSize) {
+        this.channelOutboundQueueSize = channelOutboundQueueSize;
+    }
+
+    /**
+     * @return depth of the per-connection outbound queue
+     */
+    public int getChannelOutboundQueueSize() {
+        return channelOutboundQueueSize;
+    }
+
+    /**
+     * @param notificationExecutor executor running connection-ready notifications
+     */
+    public void setNotificationExecutor(final NotificationExecutor notificationExecutor) {
+        this.notificationExecutor = notificationExecutor;
+    }
+
+    /**
+     * @return executor running connection-ready notifications
+     */
+    public NotificationExecutor getNotificationExecutor() {
+        return notificationExecutor;
+    }
+
+    /**
+     * @param useFusedInboundDecoder true if inbound messages should be decoded by a single handler
+     */
+    public void setUseFusedInboundDecoder(final boolean useFusedInboundDecoder) {
+        this.useFusedInboundDecoder = useFusedInboundDecoder;
+    }
+
+    /**
+     * @return true if inbound messages should be decoded by a single handler
+     */
+    public boolean useFusedInboundDecoder() {
+        return useFusedInboundDecoder;
+    }
+
+    /**
+     * @param upstreamExecutor workers running listener callbacks, or null to run them on event loops
+     */
+    public void setUpstreamExecutor(final UpstreamExecutor upstreamExecutor) {
+        this.upstreamExecutor = upstreamExecutor;
+    }
+
+    /**
+     * @return workers running listener callbacks, or null if they run on event loops
+     */
+    public UpstreamExecutor getUpstreamExecutor() {
+        return upstreamExecutor;
+    }
+
+    /**
+     * @param packetInRateLimit limit of the rate at which PacketIns are accepted from each connection
+     */
+    public void setPacketInRateLimit(final PacketInRateLimit packetInRateLimit) {
+        this.packetInRateLimit = packetInRateLimit;
+    }
+
+    /**
+     * @return limit of the rate at which PacketIns are accepted from each connection
+     */
+    public PacketInRateLimit getPacketInRateLimit() {
+        return packetInRateLimit;
+    }
+}
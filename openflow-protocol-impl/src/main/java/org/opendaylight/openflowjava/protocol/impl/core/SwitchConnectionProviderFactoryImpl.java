@@ -13,8 +13,12 @@ import java.net.InetAddress;
 import java.net.UnknownHostException;
 import java.util.List;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterImpl;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.NotificationExecutor;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.UpstreamExecutor;
 import org.opendaylight.openflowjava.protocol.spi.connection.SwitchConnectionProvider;
 import org.opendaylight.openflowjava.protocol.spi.connection.SwitchConnectionProviderFactory;
 import org.opendaylight.yang.gen.v1.urn.ietf.params.xml.ns.yang.ietf.inet.types.rev130715.IpAddress;
@@ -174,5 +178,67 @@ public class SwitchConnectionProviderFactoryImpl implements SwitchConnectionProv
         public boolean useBarrier() {
             return config.isUseBarrier();
         }
+
+        @Override
+        public boolean useZeroCopyPacketIn() {
+            return Boolean.TRUE.equals(config.isUseZeroCopyPacketIn());
+        }
+
+        @Override
+        public boolean useStreamingFlowStats() {
+            return Boolean.TRUE.equals(config.isUseStreamingFlowStats());
+        }
+
+        @Override
+        public boolean usePrimitiveStatsCounters() {
+            return Boolean.TRUE.equals(config.isUsePrimitiveStatsCounters());
+        }
+
+        @Override
+        public boolean useFusedInboundDecoder() {
+            return Boolean.TRUE.equals(config.isUseFusedInboundDecoder());
+        }
+
+        @Override
+        public int getChannelOutboundQueueSize() {
+            final Integer size = config.getChannelOutboundQueueSize();
+            return size != null ? size : ConnectionAdapterImpl.DEFAULT_QUEUE_DEPTH;
+        }
+
+        @Override
+        public int getNotificationThreads() {
+            final Integer threads = config.getNotificationThreads();
+            return threads != null ? threads : NotificationExecutor.DEFAULT_THREADS;
+        }
+
+        @Override
+        public int getNotificationQueueSize() {
+            final Integer size = config.getNotificationQueueSize();
+            return size != null ? size : NotificationExecutor.DEFAULT_QUEUE_SIZE;
+        }
+
+        @Override
+        public int getUpstreamThreads() {
+            final Integer threads = config.getUpstreamThreads();
+            return threads != null ? threads : 0;
+        }
+
+        @Override
+        public int getUpstreamQueueSize() {
+            final Integer size = config.getUpstreamQueueSize();
+            return size != null ? size : UpstreamExecutor.DEFAULT_QUEUE_SIZE;
+        }
+
+        @Override
+        public PacketInRateLimit getPacketInRateLimit() {
+            final Long rate = config.getPacketInRateLimit();
+            if (rate == null || rate == 0) {
+                return PacketInRateLimit.UNLIMITED;
+            }
+            final Long burst = config.getPacketInBurst();
+            return PacketInRateLimit.create(rate, burst != null && burst != 0 ? burst : rate)
+                    .withPerReason(Boolean.TRUE.equals(config.isPacketInRateLimitPerReason()))
+                    .withPerTable(Boolean.TRUE.equals(config.isPacketInRateLimitPerTable()));
+        }
     }
 }
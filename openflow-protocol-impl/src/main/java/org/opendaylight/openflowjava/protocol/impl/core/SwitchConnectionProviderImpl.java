@@ -34,8 +34,11 @@ import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey
 import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.NotificationExecutor;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.UpstreamExecutor;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.MessageDeserializerInitializer;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializerRegistryImpl;
 import org.opendaylight.openflowjava.protocol.api.keys.TypeToClassKey;
@@ -70,6 +73,8 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
     private final DeserializerRegistry deserializerRegistry;
     private final DeserializationFactory deserializationFactory;
     private TcpConnectionInitializer connectionInitializer;
+    private NotificationExecutor notificationExecutor;
+    private UpstreamExecutor upstreamExecutor;
 
     /** Constructor */
     public SwitchConnectionProviderImpl() {
@@ -101,6 +106,12 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
             LOG.warn("Can not shutdown - not configured or started");
             throw new IllegalStateException("SwitchConnectionProvider is not started or not configured.");
         }
+        if (notificationExecutor != null) {
+            notificationExecutor.close();
+        }
+        if (upstreamExecutor != null) {
+            upstreamExecutor.close();
+        }
         return serverFacade.shutdown();
     }
 
@@ -136,6 +147,24 @@ public class SwitchConnectionProviderImpl implements SwitchConnectionProvider, C
         factory.setSerializationFactory(serializationFactory);
         factory.setDeserializationFactory(deserializationFactory);
         factory.setUseBarrier(connConfig.useBarrier());
+        factory.setChannelOutboundQueueSize(connConfig.getChannelOutboundQueueSize());
+        notificationExecutor = new NotificationExecutor(connConfig.getNotificationThreads(),
+                connConfig.getNotificationQueueSize());
+        factory.setNotificationExecutor(notificationExecutor);
+        factory.setUseFusedInboundDecoder(connConfig.useFusedInboundDecoder());
+        factory.setPacketInRateLimit(connConfig.getPacketInRateLimit());
+        if (connConfig.getUpstreamThreads() > 0) {
+            upstreamExecutor = new UpstreamExecutor(connConfig.getUpstreamThreads(),
+                    connConfig.getUpstreamQueueSize());
+            factory.setUpstreamExecutor(upstreamExecutor);
+        }
+        if (connConfig.useZeroCopyPacketIn()) {
+            MessageDeserializerInitializer.registerRetainedPayloadDeserializers(deserializerRegistry);
+        }
+        if (connConfig.useStreamingFlowStats() || connConfig.usePrimitiveStatsCounters()) {
+            MessageDeserializerInitializer.registerMultipartReplyDeserializers(deserializerRegistry,
+                    connConfig.useStreamingFlowStats(), connConfig.usePrimitiveStatsCounters());
+        }
         final TransportProtocol transportProtocol = (TransportProtocol) connConfig.getTransferProtocol();
 
         // Check if Epoll native transport is available.
@@ -21,6 +21,7 @@ import java.util.concurrent.TimeUnit;
 import javax.net.ssl.SSLEngine;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactory;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactoryImpl;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterSettings;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,7 +69,11 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
         LOG.debug("Incoming connection accepted - building pipeline");
         allChannels.add(ch);
         ConnectionFacade connectionFacade = null;
-        connectionFacade = connectionAdapterFactory.createConnectionFacade(ch, null, useBarrier());
+        connectionFacade = connectionAdapterFactory.createConnectionFacade(ch, null,
+                ConnectionAdapterSettings.create(useBarrier())
+                        .withChannelOutboundQueueSize(getChannelOutboundQueueSize())
+                        .withNotificationExecutor(getNotificationExecutor())
+                        .withUpstreamExecutor(getUpstreamExecutor()));
         try {
             LOG.debug("Calling OF plugin: {}", getSwitchConnectionHandler());
             getSwitchConnectionHandler().onSwitchConnected(connectionFacade);
@@ -102,12 +107,21 @@ public class TcpChannelInitializer extends ProtocolChannelInitializer<SocketChan
                 });
                 ch.pipeline().addLast(PipelineHandlers.SSL_HANDLER.name(), ssl);
             }
-            ch.pipeline().addLast(PipelineHandlers.OF_FRAME_DECODER.name(),
-                    new OFFrameDecoder(connectionFacade, tlsPresent));
-            ch.pipeline().addLast(PipelineHandlers.OF_VERSION_DETECTOR.name(), new OFVersionDetector());
-            final OFDecoder ofDecoder = new OFDecoder();
-            ofDecoder.setDeserializationFactory(getDeserializationFactory());
-            ch.pipeline().addLast(PipelineHandlers.OF_DECODER.name(), ofDecoder);
+            if (useFusedInboundDecoder()) {
+                final OFInboundDecoder inboundDecoder = new OFInboundDecoder(connectionFacade, tlsPresent,
+                        getDeserializationFactory());
+                inboundDecoder.setPacketInRateLimit(getPacketInRateLimit());
+                ch.pipeline().addLast(PipelineHandlers.OF_INBOUND_DECODER.name(), inboundDecoder);
+            } else {
+                ch.pipeline().addLast(PipelineHandlers.OF_FRAME_DECODER.name(),
+                        new OFFrameDecoder(connectionFacade, tlsPresent));
+                final OFVersionDetector versionDetector = new OFVersionDetector();
+                versionDetector.setPacketInRateLimit(getPacketInRateLimit());
+                ch.pipeline().addLast(PipelineHandlers.OF_VERSION_DETECTOR.name(), versionDetector);
+                final OFDecoder ofDecoder = new OFDecoder();
+                ofDecoder.setDeserializationFactory(getDeserializationFactory());
+                ch.pipeline().addLast(PipelineHandlers.OF_DECODER.name(), ofDecoder);
+            }
             final OFEncoder ofEncoder = new OFEncoder();
             ofEncoder.setSerializationFactory(getSerializationFactory());
             ch.pipeline().addLast(PipelineHandlers.OF_ENCODER.name(), ofEncoder);
@@ -10,20 +10,15 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalCause;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.GenericFutureListener;
 import java.net.InetSocketAddress;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
-import java.util.concurrent.TimeUnit;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionAdapter;
@@ -68,49 +63,33 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractConnectionAdapter.class);
 
-    /** after this time, RPC future response objects will be thrown away (in minutes) */
-    private static final int RPC_RESPONSE_EXPIRATION = 1;
-
     private static final Exception QUEUE_FULL_EXCEPTION = new RejectedExecutionException("Output queue is full");
 
-    /**
-     * Default depth of write queue, e.g. we allow these many messages
-     * to be queued up before blocking producers.
-     */
-    private static final int DEFAULT_QUEUE_DEPTH = 1024;
-
-    protected static final RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>> REMOVAL_LISTENER = new RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>>() {
-        @Override
-        public void onRemoval(final RemovalNotification<RpcResponseKey, ResponseExpectedRpcListener<?>> notification) {
-            if (!notification.getCause().equals(RemovalCause.EXPLICIT)) {
-                notification.getValue().discard();
-            }
-        }
-    };
-
     protected final Channel channel;
     protected final InetSocketAddress address;
     protected boolean disconnectOccured = false;
     protected final ChannelOutboundQueue output;
+    protected final BackpressureController backpressure;
 
-    /** expiring cache for future rpcResponses */
-    protected Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> responseCache;
+    /** expiring table of future rpcResponses */
+    protected RpcResponseTable responseTable;
 
 
-    AbstractConnectionAdapter(@Nonnull final Channel channel, @Nullable final InetSocketAddress address) {
+    AbstractConnectionAdapter(@Nonnull final Channel channel, @Nullable final InetSocketAddress address,
+            final int channelOutboundQueueSize) {
         this.channel = Preconditions.checkNotNull(channel);
         this.address = address;
+        this.backpressure = new BackpressureController(channel);
 
-        responseCache = CacheBuilder.newBuilder().concurrencyLevel(1)
-                .expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES).removalListener(REMOVAL_LISTENER).build();
-        this.output = new ChannelOutboundQueue(channel, DEFAULT_QUEUE_DEPTH, address);
+        responseTable = new RpcResponseTable();
+        this.output = new ChannelOutboundQueue(channel, channelOutboundQueueSize, address);
         channel.pipeline().addLast(output);
     }
 
     @Override
     public Future<Boolean> disconnect() {
         final ChannelFuture disconnectResult = channel.disconnect();
-        responseCache.invalidateAll();
+        responseTable.clear();
         disconnectOccured = true;
 
         return handleTransportChannelFuture(disconnectResult);
@@ -225,7 +204,12 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
 
     @Override
     public void setAutoRead(final boolean autoRead) {
-        channel.config().setAutoRead(autoRead);
+        // Reads stay suspended while the library needs them to be
+        if (autoRead) {
+            backpressure.resume(BackpressureController.Source.APPLICATION);
+        } else {
+            backpressure.suspend(BackpressureController.Source.APPLICATION);
+        }
     }
 
     @Override
@@ -235,19 +219,20 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
 
     /**
      * Used only for testing purposes
-     * @param cache replacement
+     * @param table replacement
      */
     @VisibleForTesting
-    void setResponseCache(final Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache) {
-        this.responseCache = cache;
+    void setResponseTable(final RpcResponseTable table) {
+        this.responseTable = table;
     }
 
     /**
-     * Return cached RpcListener or {@code null} if not cached
-     * @return
+     * Remove and return RpcListener waiting for a response or {@code null} if there is none
+     * @param message response received from the device
+     * @return listener waiting for the response
      */
-    protected ResponseExpectedRpcListener<?> findRpcResponse(final RpcResponseKey key) {
-        return responseCache.getIfPresent(key);
+    protected ResponseExpectedRpcListener<?> takeRpcResponse(final OfHeader message) {
+        return responseTable.remove(message.getXid(), message.getImplementedInterface(), System.nanoTime());
     }
 
     /**
@@ -259,21 +244,20 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
      * @return future object,
      *         <ul>
      *         <li>if send fails, {@link RpcResult} will contain errors and failed status</li>
-     *         <li>else {@link RpcResult} will be stored in responseCache and wait for particular timeout (
-     *         {@link ConnectionAdapterImpl#RPC_RESPONSE_EXPIRATION}),
+     *         <li>else {@link RpcResult} will be stored in responseTable and wait for particular timeout (
+     *         {@link RpcResponseTable#DEFAULT_TIMEOUT_NANOS}),
      *         <ul>
      *         <li>either switch will manage to answer and then corresponding response message will be set into returned
      *         future</li>
-     *         <li>or response in cache will expire and returned future will be cancelled</li>
+     *         <li>or response in table will expire and returned future will be cancelled</li>
      *         </ul>
      *         </li>
      *         </ul>
      */
     protected <IN extends OfHeader, OUT extends OfHeader> ListenableFuture<RpcResult<OUT>> sendToSwitchExpectRpcResultFuture(
             final IN input, final Class<OUT> responseClazz, final String failureInfo) {
-        final RpcResponseKey key = new RpcResponseKey(input.getXid(), responseClazz.getName());
         final ResponseExpectedRpcListener<OUT> listener = new ResponseExpectedRpcListener<>(input, failureInfo,
-                responseCache, key);
+                responseTable, input.getXid(), responseClazz);
         return enqueueMessage(listener);
     }
 
@@ -297,6 +281,8 @@ abstract class AbstractConnectionAdapter implements ConnectionAdapter {
 
         if (!output.enqueue(promise)) {
             LOG.debug("Message queue is full, rejecting execution");
+            // The message is not going to be sent, make sure retained payloads get back to the pool
+            ReferenceCountUtil.release(promise.takeMessage());
             promise.failedRpc(QUEUE_FULL_EXCEPTION);
         } else {
             LOG.debug("Promise enqueued successfully");
@@ -11,13 +11,16 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 import com.google.common.base.Preconditions;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
 import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nonnull;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueSettings;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoReplyInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoReplyInputBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
@@ -53,22 +56,13 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         WRITING,
     }
 
-    /**
-     * Default low write watermark. Channel will become writable when number of outstanding
-     * bytes dips below this value.
-     */
-    private static final int DEFAULT_LOW_WATERMARK = 128 * 1024;
-
-    /**
-     * Default write high watermark. Channel will become un-writable when number of
-     * outstanding bytes hits this value.
-     */
-    private static final int DEFAULT_HIGH_WATERMARK = DEFAULT_LOW_WATERMARK * 2;
-
     private final AtomicBoolean flushScheduled = new AtomicBoolean();
     protected final ConnectionAdapterImpl parent;
     protected final InetSocketAddress address;
     protected final O currentQueue;
+    private final OutboundQueueSettings settings;
+    private final SegmentPool segmentPool;
+    private final RequestTimeoutWheel timeoutWheel;
     private final T handler;
 
     // Accessed concurrently
@@ -76,6 +70,8 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
 
     // Updated from netty only
     private boolean alreadyReading;
+    private boolean timeoutTimerEnabled;
+    private boolean congested;
     protected boolean shuttingDown;
 
     // Passed to executor to request triggering of flush
@@ -86,10 +82,23 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         }
     };
 
-    AbstractOutboundQueueManager(final ConnectionAdapterImpl parent, final InetSocketAddress address, final T handler) {
+    // Passed to executor to request a periodic request timeout check
+    private final Runnable timeoutRunnable = new Runnable() {
+        @Override
+        public void run() {
+            expireRequests();
+        }
+    };
+
+    AbstractOutboundQueueManager(final ConnectionAdapterImpl parent, final InetSocketAddress address, final T handler,
+            final OutboundQueueSettings settings) {
         this.parent = Preconditions.checkNotNull(parent);
         this.handler = Preconditions.checkNotNull(handler);
+        this.settings = Preconditions.checkNotNull(settings);
         this.address = address;
+        this.segmentPool = SegmentPool.forExecutor(parent.getChannel().eventLoop(), settings.getSegmentSize());
+        this.timeoutWheel = settings.getRequestTimeoutNanos() > 0
+                ? new RequestTimeoutWheel(settings.getRequestTimeoutNanos()) : null;
         /* Note: don't wish to use reflection here */
         currentQueue = initializeStackedOutboudnqueue();
         LOG.debug("Queue manager instantiated with queue {}", currentQueue);
@@ -104,6 +113,13 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
      */
     protected abstract O initializeStackedOutboudnqueue();
 
+    /**
+     * @return pool of segment storages shared with other channels on the same event loop
+     */
+    SegmentPool getSegmentPool() {
+        return segmentPool;
+    }
+
     @Override
     public void close() {
         handler.onConnectionQueueChanged(null);
@@ -117,13 +133,15 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
     @Override
     public void handlerAdded(final ChannelHandlerContext ctx) throws Exception {
         /*
-         * Tune channel write buffering. We increase the writability window
+         * Tune channel write buffering. By default we increase the writability window
          * to ensure we can flush an entire queue segment in one go. We definitely
          * want to keep the difference above 64k, as that will ensure we use jam-packed
-         * TCP packets. UDP will fragment as appropriate.
+         * TCP packets. UDP will fragment as appropriate. Settings for small switches
+         * trade that off for a smaller footprint. Both marks are set at once, as setting
+         * them one by one fails if the new values do not overlap the current ones.
          */
-        ctx.channel().config().setWriteBufferHighWaterMark(DEFAULT_HIGH_WATERMARK);
-        ctx.channel().config().setWriteBufferLowWaterMark(DEFAULT_LOW_WATERMARK);
+        ctx.channel().config().setWriteBufferWaterMark(new WriteBufferWaterMark(settings.getLowWatermark(),
+            settings.getHighWatermark()));
 
         super.handlerAdded(ctx);
     }
@@ -177,7 +195,7 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         LOG.debug("Cleared {} queue entries from channel {}", entries, ctx.channel());
 
         // Finally, we schedule flush task that will take care of unflushed entries. We also cover the case,
-        // when there is more than shutdownOffset messages enqueued in unflushed segments
+        // when there are messages enqueued past the shutdown XID in unflushed segments
         // (AbstractStackedOutboundQueue#finishShutdown()).
         scheduleFlush();
     }
@@ -244,7 +262,8 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
     void onEchoRequest(final EchoRequestMessage message) {
         final EchoReplyInput reply = new EchoReplyInputBuilder().setData(message.getData())
                 .setVersion(message.getVersion()).setXid(message.getXid()).build();
-        parent.getChannel().writeAndFlush(makeMessageListenerWrapper(reply));
+        final MessageListenerWrapper wrapper = makeMessageListenerWrapper(reply);
+        wrapper.releaseMsgOnFailure(parent.getChannel().writeAndFlush(wrapper));
     }
 
     /**
@@ -256,8 +275,8 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
      * @param now
      */
     void writeMessage(final OfHeader message, final long now) {
-        final Object wrapper = makeMessageListenerWrapper(message);
-        parent.getChannel().write(wrapper);
+        final MessageListenerWrapper wrapper = makeMessageListenerWrapper(message);
+        wrapper.releaseMsgOnFailure(parent.getChannel().write(wrapper));
     }
 
     /**
@@ -267,7 +286,7 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
      *
      * @return
      */
-    protected Object makeMessageListenerWrapper(@Nonnull final OfHeader msg) {
+    protected MessageListenerWrapper makeMessageListenerWrapper(@Nonnull final OfHeader msg) {
         Preconditions.checkArgument(msg != null);
 
         if (address == null) {
@@ -328,6 +347,11 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
         if (entries > 0) {
             LOG.trace("Flushing channel {}", parent.getChannel());
             parent.getChannel().flush();
+
+            if (timeoutWheel != null) {
+                timeoutWheel.add(currentQueue.getLastWrittenXid(), start);
+                scheduleTimeoutTimer();
+            }
         }
 
         if (LOG.isDebugEnabled()) {
@@ -336,9 +360,60 @@ abstract class AbstractOutboundQueueManager<T extends OutboundQueueHandler, O ex
                     TimeUnit.NANOSECONDS.toMicros(stop - start));
         }
 
+        // Runs after each read as well, which is when responses complete entries
+        checkCongestion();
         state = PipelineState.IDLE;
     }
 
+    /**
+     * Report the channel as congested once uncompleted entries hit the high watermark, until they
+     * dip below the low one. Reads are left alone, as entries are only completed by reading.
+     */
+    private void checkCongestion() {
+        final long uncompleted = currentQueue.getUncompletedEntries();
+        if (congested) {
+            if (uncompleted < settings.getUncompletedLowWatermark()) {
+                congested = false;
+                parent.getBackpressure().setOutboundCongested(false);
+            }
+        } else if (uncompleted >= settings.getUncompletedHighWatermark()) {
+            congested = true;
+            parent.getBackpressure().setOutboundCongested(true);
+        }
+    }
+
+    private void scheduleTimeoutTimer() {
+        if (!timeoutTimerEnabled) {
+            parent.getChannel().eventLoop().schedule(timeoutRunnable, timeoutWheel.getTickNanos(),
+                TimeUnit.NANOSECONDS);
+            timeoutTimerEnabled = true;
+        }
+    }
+
+    /**
+     * Periodic request timeout check.
+     */
+    protected void expireRequests() {
+        timeoutTimerEnabled = false;
+        if (shuttingDown) {
+            LOG.trace("Channel shut down, outstanding requests are failed by shutdown");
+            return;
+        }
+
+        final long xid = timeoutWheel.expire(System.nanoTime());
+        if (xid >= 0) {
+            final long failed = currentQueue.failExpired(xid, OutboundQueueException.REQUEST_TIMEOUT);
+            if (failed > 0) {
+                LOG.debug("Channel {} timed out {} requests up to XID {}", parent.getChannel(), failed, xid);
+                checkCongestion();
+            }
+        }
+
+        if (!timeoutWheel.isEmpty()) {
+            scheduleTimeoutTimer();
+        }
+    }
+
     private void rescheduleFlush() {
         /*
          * We are almost ready to terminate. This is a bit tricky, because
@@ -14,14 +14,11 @@ import com.google.common.util.concurrent.FutureCallback;
 
 import io.netty.channel.Channel;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
 import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import java.util.function.Function;
 
 import javax.annotation.Nonnull;
-import javax.annotation.concurrent.GuardedBy;
 
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueue;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
@@ -31,54 +28,125 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+/**
+ * Segments form a singly-linked chain, starting at {@link #firstSegment}, which is being flushed. Successors
+ * are linked by whichever thread needs them first, be it a reservation or the flush, via a CAS on the next
+ * pointer of the preceding segment. Neither reservation, commit nor flush ever block one another.
+ */
 abstract class AbstractStackedOutboundQueue implements OutboundQueue {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractStackedOutboundQueue.class);
     protected static final AtomicLongFieldUpdater<AbstractStackedOutboundQueue> LAST_XID_OFFSET_UPDATER = AtomicLongFieldUpdater
             .newUpdater(AbstractStackedOutboundQueue.class, "lastXid");
+    private static final AtomicReferenceFieldUpdater<AbstractStackedOutboundQueue, StackedSegment> LAST_SEGMENT_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(AbstractStackedOutboundQueue.class, StackedSegment.class,
+                "lastSegment");
 
-    @GuardedBy("unflushedSegments")
+    // Updated from Netty only, read by everyone
     protected volatile StackedSegment firstSegment;
-    @GuardedBy("unflushedSegments")
-    protected final List<StackedSegment> unflushedSegments = new ArrayList<>(2);
-    @GuardedBy("unflushedSegments")
-    protected final List<StackedSegment> uncompletedSegments = new ArrayList<>(2);
+
+    // Last linked segment, may lag behind the actual end of the chain
+    private volatile StackedSegment lastSegment;
+
+    // Accessed from Netty only
+    protected final UncompletedSegments uncompletedSegments;
 
     private volatile long lastXid = -1;
-    private volatile long allocatedXid = -1;
 
-    @GuardedBy("unflushedSegments")
-    protected Integer shutdownOffset;
+    // First XID which is not going to be flushed, set once shutdown starts
+    private volatile long shutdownXid = Long.MAX_VALUE;
 
     // Accessed from Netty only
     protected int flushOffset;
 
     protected final AbstractOutboundQueueManager<?, ?> manager;
 
+    // Size of each individual segment
+    protected final int segmentSize;
+
     AbstractStackedOutboundQueue(final AbstractOutboundQueueManager<?, ?> manager) {
         this.manager = Preconditions.checkNotNull(manager);
-        firstSegment = StackedSegment.create(0L);
+        final SegmentPool segmentPool = Preconditions.checkNotNull(manager.getSegmentPool());
+        this.segmentSize = segmentPool.getSegmentSize();
+        uncompletedSegments = new UncompletedSegments(segmentSize);
+        firstSegment = StackedSegment.create(0L, segmentPool);
+        lastSegment = firstSegment;
         uncompletedSegments.add(firstSegment);
-        unflushedSegments.add(firstSegment);
     }
 
     @Override
     public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback) {
-        commitEntry(xid, message, callback, OutboundQueueEntry.DEFAULT_IS_COMPLETE);
+        commitEntry(xid, message, callback, SegmentEntries.DEFAULT_IS_COMPLETE);
     }
 
-    @GuardedBy("unflushedSegments")
-    protected void ensureSegment(final StackedSegment first, final int offset) {
-        final int segmentOffset = offset / StackedSegment.SEGMENT_SIZE;
-        LOG.debug("Queue {} slow offset {} maps to {} segments {}", this, offset, segmentOffset, unflushedSegments.size());
+    /*
+     * This method is expected to be called from multiple threads concurrently
+     */
+    @Override
+    public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback,
+            final Function<OfHeader, Boolean> isCompletedFunction) {
+        final StackedSegment segment = getSegment(xid);
+        commitReserved(segment, (int) (xid - segment.getBaseXid()), xid, message, callback, isCompletedFunction);
 
-        for (int i = unflushedSegments.size(); i <= segmentOffset; ++i) {
-            final StackedSegment newSegment = StackedSegment.create(first.getBaseXid() + (StackedSegment.SEGMENT_SIZE * i));
-            LOG.debug("Adding segment {}", newSegment);
-            unflushedSegments.add(newSegment);
+        LOG.trace("Queue {} committed XID {}", this, xid);
+        manager.ensureFlushing();
+    }
+
+    /*
+     * This method is expected to be called from multiple threads concurrently. Entries are
+     * committed in XID order, resolving each backing segment only once.
+     */
+    @Override
+    public void commitEntries(final Long firstXid, final OfHeader[] messages,
+            final FutureCallback<OfHeader>[] callbacks) {
+        Preconditions.checkArgument(callbacks == null || callbacks.length == messages.length,
+                "Mismatched number of messages %s and callbacks %s", messages.length,
+                callbacks == null ? 0 : callbacks.length);
+
+        final long first = firstXid;
+        int i = 0;
+        while (i < messages.length) {
+            final StackedSegment segment = getSegment(first + i);
+            final int end = (int) Math.min(messages.length, segment.getEndXid() - first);
+
+            for (; i < end; ++i) {
+                final long xid = first + i;
+                commitReserved(segment, (int) (xid - segment.getBaseXid()), xid, messages[i],
+                    callbacks == null ? null : callbacks[i], SegmentEntries.DEFAULT_IS_COMPLETE);
+            }
         }
 
-        allocatedXid = unflushedSegments.get(unflushedSegments.size() - 1).getEndXid();
+        LOG.trace("Queue {} committed {} XIDs starting at {}", this, messages.length, first);
+        manager.ensureFlushing();
+    }
+
+    /**
+     * Commit a single reserved entry, without scheduling a flush.
+     *
+     * @param segment Segment backing the XID
+     * @param offset Offset of the XID within the segment
+     * @param xid Previously-reserved XID
+     * @param message Message which should be sent out, or null if the reservation should be cancelled
+     * @param callback Callback to be invoked, may be null
+     * @param isCompletedFunction Function to determine if OfHeader is processing is complete
+     */
+    abstract void commitReserved(StackedSegment segment, int offset, long xid, OfHeader message,
+            FutureCallback<OfHeader> callback, Function<OfHeader, Boolean> isCompletedFunction);
+
+    /**
+     * Publish a newly-linked segment as the last one, unless some other thread has already
+     * published a later one.
+     *
+     * @param segment Linked segment
+     */
+    private void advanceLastSegment(final StackedSegment segment) {
+        for (;;) {
+            final StackedSegment last = lastSegment;
+            if (last.getEndXid() >= segment.getEndXid()
+                    || LAST_SEGMENT_UPDATER.compareAndSet(this, last, segment)) {
+                return;
+            }
+        }
     }
 
     /*
@@ -87,39 +155,59 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
     @Override
     public Long reserveEntry() {
         final long xid = LAST_XID_OFFSET_UPDATER.incrementAndGet(this);
-        final StackedSegment fastSegment = firstSegment;
+        if (!ensureBacked(xid)) {
+            return null;
+        }
 
-        if (xid >= fastSegment.getBaseXid() + StackedSegment.SEGMENT_SIZE) {
-            if (xid >= allocatedXid) {
-                // Multiple segments, this a slow path
-                LOG.debug("Queue {} falling back to slow reservation for XID {}", this, xid);
+        LOG.trace("Queue {} allocated XID {}", this, xid);
+        return xid;
+    }
 
-                synchronized (unflushedSegments) {
-                    LOG.debug("Queue {} executing slow reservation for XID {}", this, xid);
+    /*
+     * This method is expected to be called from multiple threads concurrently.
+     */
+    @Override
+    public Long reserveEntries(final int count) {
+        Preconditions.checkArgument(count > 0, "Number of entries %s has to be positive", count);
 
-                    // Shutdown was scheduled, need to fail the reservation
-                    if (shutdownOffset != null) {
-                        LOG.debug("Queue {} is being shutdown, failing reservation", this);
-                        return null;
-                    }
+        final long last = LAST_XID_OFFSET_UPDATER.addAndGet(this, count);
+        if (!ensureBacked(last)) {
+            return null;
+        }
 
-                    // Ensure we have the appropriate segment for the specified XID
-                    final StackedSegment slowSegment = firstSegment;
-                    final int slowOffset = (int) (xid - slowSegment.getBaseXid());
-                    Verify.verify(slowOffset >= 0);
+        final long xid = last - count + 1;
+        LOG.trace("Queue {} allocated XIDs {} to {}", this, xid, last);
+        return xid;
+    }
 
-                    // Now, we let's see if we need to allocate a new segment
-                    ensureSegment(slowSegment, slowOffset);
+    /**
+     * Make sure a segment backing specified XID, and therefore all XIDs preceding it,
+     * has been allocated.
+     *
+     * @param xid Reserved XID
+     * @return false if the queue is being shut down and the reservation has to fail
+     */
+    private boolean ensureBacked(final long xid) {
+        // Shutdown was scheduled, need to fail the reservation
+        if (xid >= shutdownXid) {
+            LOG.debug("Queue {} is being shutdown, failing reservation", this);
+            return false;
+        }
 
-                    LOG.debug("Queue {} slow reservation finished", this);
-                }
-            } else {
-                LOG.debug("Queue {} XID {} is already backed", this, xid);
-            }
+        StackedSegment segment = lastSegment;
+        if (xid >= segment.getEndXid()) {
+            // Multiple segments, this a slow path
+            LOG.debug("Queue {} falling back to slow reservation for XID {}", this, xid);
+
+            do {
+                segment = segment.ensureNext();
+            } while (xid >= segment.getEndXid());
+
+            advanceLastSegment(segment);
+            LOG.debug("Queue {} slow reservation finished", this);
         }
 
-        LOG.trace("Queue {} allocated XID {}", this, xid);
-        return xid;
+        return true;
     }
 
     /**
@@ -136,124 +224,149 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
         int entries = 0;
 
         while (channel.isWritable()) {
-            final OutboundQueueEntry entry = segment.getEntry(flushOffset);
-            if (!entry.isCommitted()) {
+            if (!segment.isCommitted(flushOffset)) {
                 LOG.debug("Queue {} XID {} segment {} offset {} not committed yet", this, segment.getBaseXid() + flushOffset, segment, flushOffset);
                 break;
             }
 
             LOG.trace("Queue {} flushing entry at offset {}", this, flushOffset);
-            final OfHeader message = entry.takeMessage();
-            flushOffset++;
+            final OfHeader message = segment.takeMessage(flushOffset);
+            final int offset = flushOffset++;
             entries++;
 
             if (message != null) {
                 manager.writeMessage(message, now);
             } else {
-                entry.complete(null);
+                segment.complete(offset, null);
             }
 
-            if (flushOffset >= StackedSegment.SEGMENT_SIZE) {
-                /*
-                 * Slow path: purge the current segment unless it's the last one.
-                 * If it is, we leave it for replacement when a new reservation
-                 * is run on it.
-                 *
-                 * This costs us two slow paths, but hey, this should be very rare,
-                 * so let's keep things simple.
-                 */
-                synchronized (unflushedSegments) {
-                    LOG.debug("Flush offset {} unflushed segments {}", flushOffset, unflushedSegments.size());
-
-                    // We may have raced ahead of reservation code and need to allocate a segment
-                    ensureSegment(segment, flushOffset);
-
-                    // Remove the segment, update the firstSegment and reset flushOffset
-                    final StackedSegment oldSegment = unflushedSegments.remove(0);
-                    if (oldSegment.isComplete()) {
-                        uncompletedSegments.remove(oldSegment);
-                        oldSegment.recycle();
-                    }
-
-                    // Reset the first segment and add it to the uncompleted list
-                    segment = unflushedSegments.get(0);
-                    uncompletedSegments.add(segment);
-
-                    // Update the shutdown offset
-                    if (shutdownOffset != null) {
-                        shutdownOffset -= StackedSegment.SEGMENT_SIZE;
-                    }
-
-                    // Allow reservations back on the fast path by publishing the new first segment
-                    firstSegment = segment;
-
-                    flushOffset = 0;
-                    LOG.debug("Queue {} flush moved to segment {}", this, segment);
+            if (flushOffset >= segmentSize) {
+                // Slow path: purge the current segment if it has been completed and move on
+                if (segment.isComplete()) {
+                    uncompletedSegments.remove(segment);
+                    segment.recycle();
                 }
+                segment = moveToNextSegment(segment);
             }
         }
 
         return entries;
     }
 
-    boolean pairRequest(final OfHeader message) {
-        Iterator<StackedSegment> it = uncompletedSegments.iterator();
-        while (it.hasNext()) {
-            final StackedSegment queue = it.next();
-            final OutboundQueueEntry entry = queue.pairRequest(message);
-            if (entry == null) {
-                continue;
-            }
+    /**
+     * Move flushing to the segment following the current one, once the current one has been
+     * completely flushed. Guaranteed to run in the corresponding EventLoop.
+     *
+     * @param segment Current first segment
+     * @return New first segment
+     */
+    protected final StackedSegment moveToNextSegment(final StackedSegment segment) {
+        // We may have raced ahead of reservation code and need to allocate a segment
+        final StackedSegment next = segment.ensureNext();
+        advanceLastSegment(next);
+        uncompletedSegments.add(next);
+
+        // Allow reservations back on the fast path by publishing the new first segment
+        firstSegment = next;
+
+        flushOffset = 0;
+        LOG.debug("Queue {} flush moved to segment {}", this, next);
+        return next;
+    }
 
-            LOG.trace("Queue {} accepted response {}", queue, message);
-
-            // This has been a barrier request, we need to flush all
-            // previous queues
-            if (entry.isBarrier() && uncompletedSegments.size() > 1) {
-                LOG.trace("Queue {} indicated request was a barrier", queue);
-
-                it = uncompletedSegments.iterator();
-                while (it.hasNext()) {
-                    final StackedSegment q = it.next();
-
-                    // We want to complete all queues before the current one, we will
-                    // complete the current queue below
-                    if (!queue.equals(q)) {
-                        LOG.trace("Queue {} is implied finished", q);
-                        q.completeAll();
-                        it.remove();
-                        q.recycle();
-                    } else {
-                        break;
-                    }
-                }
+    /**
+     * @return XID of the last entry written out, or -1 if there is none
+     */
+    long getLastWrittenXid() {
+        return firstSegment.getBaseXid() + flushOffset - 1;
+    }
+
+    /**
+     * Count entries which have been written out, but have not been completed yet. Entries without
+     * a callback are completed as soon as they are written out, hence these are the entries whose
+     * callbacks are waiting for a response. Guaranteed to run in the corresponding EventLoop.
+     *
+     * @return Number of uncompleted entries
+     */
+    long getUncompletedEntries() {
+        return uncompletedSegments.getOutstandingCount();
+    }
+
+    /**
+     * Fail entries which have been written out, but have not been completed in time. Segments
+     * completed this way are recycled. Guaranteed to run in the corresponding EventLoop.
+     *
+     * @param xid XID of the last timed out entry
+     * @param cause Failure cause
+     * @return Number of failed entries
+     */
+    long failExpired(final long xid, final OutboundQueueException cause) {
+        long ret = 0;
+        StackedSegment segment;
+        while ((segment = uncompletedSegments.first()) != null && segment.getBaseXid() <= xid) {
+            ret += segment.failExpired((int) Math.min(segment.getSize() - 1, xid - segment.getBaseXid()), cause);
+            if (!segment.isComplete()) {
+                // Segment is still being flushed, or has entries which have not timed out yet
+                break;
             }
 
-            if (queue.isComplete()) {
-                LOG.trace("Queue {} is finished", queue);
-                it.remove();
-                queue.recycle();
+            LOG.trace("Queue {} timed out", segment);
+            uncompletedSegments.remove(segment);
+            segment.recycle();
+        }
+
+        return ret;
+    }
+
+    boolean pairRequest(final OfHeader message) {
+        // The only segment which can hold the request is found by XID arithmetic
+        final StackedSegment queue = uncompletedSegments.find(message.getXid());
+        final int offset = queue == null ? -1 : queue.pairRequest(message);
+        if (offset < 0) {
+            LOG.debug("Failed to find completion for message {}", message);
+            return false;
+        }
+
+        LOG.trace("Queue {} accepted response {}", queue, message);
+
+        // This has been a barrier request, we need to flush all
+        // previous queues
+        if (queue.isBarrier(offset) && uncompletedSegments.size() > 1) {
+            LOG.trace("Queue {} indicated request was a barrier", queue);
+
+            // We want to complete all queues before the current one, we will
+            // complete the current queue below
+            StackedSegment q;
+            while ((q = uncompletedSegments.first()) != queue) {
+                LOG.trace("Queue {} is implied finished", q);
+                q.completeAll();
+                uncompletedSegments.remove(q);
+                q.recycle();
             }
+        }
 
-            return true;
+        if (queue.isComplete()) {
+            LOG.trace("Queue {} is finished", queue);
+            uncompletedSegments.remove(queue);
+            queue.recycle();
         }
 
-        LOG.debug("Failed to find completion for message {}", message);
-        return false;
+        return true;
     }
 
     boolean needsFlush() {
         // flushOffset always points to the first entry, which can be changed only
         // from Netty, so we are fine here.
-        if (firstSegment.getBaseXid() + flushOffset > lastXid) {
+        final long flushXid = firstSegment.getBaseXid() + flushOffset;
+        if (flushXid > lastXid) {
             return false;
         }
 
-        if (shutdownOffset != null && flushOffset >= shutdownOffset) {
+        if (flushXid >= shutdownXid) {
             return false;
         }
 
-        return firstSegment.getEntry(flushOffset).isCommitted();
+        return firstSegment.isCommitted(flushOffset);
     }
 
     long startShutdown() {
@@ -265,16 +378,13 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
          * reserved offset and free up all the cached queues. We then schedule
          * the flush task, which will deal with the rest of the shutdown process.
          */
-        synchronized (unflushedSegments) {
-            // Increment the offset by the segment size, preventing fast path allocations,
-            // since we are holding the slow path lock, any reservations will see the queue
-            // in shutdown and fail accordingly.
-            final long xid = LAST_XID_OFFSET_UPDATER.addAndGet(this, StackedSegment.SEGMENT_SIZE);
-            shutdownOffset = (int) (xid - firstSegment.getBaseXid() - StackedSegment.SEGMENT_SIZE);
-
-            // Fails all uncompleted entries, because they will never be completed due to disconnected channel.
-            return lockedFailSegments(uncompletedSegments.iterator());
-        }
+        // Increment the offset by the segment size and mark where the shutdown starts,
+        // any reservations will see the queue in shutdown and fail accordingly.
+        final long xid = LAST_XID_OFFSET_UPDATER.addAndGet(this, segmentSize);
+        shutdownXid = xid - segmentSize;
+
+        // Fails all uncompleted entries, because they will never be completed due to disconnected channel.
+        return failUncompletedSegments();
     }
 
     /**
@@ -284,69 +394,61 @@ abstract class AbstractStackedOutboundQueue implements OutboundQueue {
      * @return true if in final phase, false if a flush is needed
      */
     boolean finishShutdown(final Channel channel) {
-        boolean needsFlush;
-        synchronized (unflushedSegments) {
-            // Fails all entries, that were flushed in shutdownOffset (became uncompleted)
-            // - they will never be completed due to disconnected channel.
-            lockedFailSegments(uncompletedSegments.iterator());
-            // If no further flush is needed or we are not able to write to channel anymore, then we fail all unflushed
-            // segments, so that each enqueued entry is reported as unsuccessful due to channel disconnection.
-            // No further entries should be enqueued by this time.
-            needsFlush = channel.isWritable() && needsFlush();
-            if (!needsFlush) {
-                lockedFailSegments(unflushedSegments.iterator());
+        // Fails all entries, that were flushed before shutdownXid (became uncompleted)
+        // - they will never be completed due to disconnected channel.
+        failUncompletedSegments();
+        // If no further flush is needed or we are not able to write to channel anymore, then we fail all unflushed
+        // segments, so that each enqueued entry is reported as unsuccessful due to channel disconnection.
+        // No further entries should be enqueued by this time.
+        final boolean needsFlush = channel.isWritable() && needsFlush();
+        if (!needsFlush) {
+            for (StackedSegment segment = firstSegment; segment != null; segment = segment.getNext()) {
+                segment.failAll(OutboundQueueException.DEVICE_DISCONNECTED);
+                // Unflushed entries are never written out, nor are their segments recycled
+                segment.releaseMessages();
             }
         }
         return !needsFlush;
     }
 
-    protected OutboundQueueEntry getEntry(final Long xid) {
-        final StackedSegment fastSegment = firstSegment;
-        final long calcOffset = xid - fastSegment.getBaseXid();
-        Preconditions.checkArgument(calcOffset >= 0, "Commit of XID %s does not match up with base XID %s", xid, fastSegment.getBaseXid());
-
-        Verify.verify(calcOffset <= Integer.MAX_VALUE);
-        final int fastOffset = (int) calcOffset;
-
-        if (fastOffset >= StackedSegment.SEGMENT_SIZE) {
-            LOG.debug("Queue {} falling back to slow commit of XID {} at offset {}", this, xid, fastOffset);
+    /**
+     * Find the segment backing a reserved XID.
+     *
+     * @param xid Previously-reserved XID
+     * @return Segment containing the entry for specified XID
+     */
+    protected StackedSegment getSegment(final long xid) {
+        // The first segment cannot move past an XID which has not been committed, hence we will find it
+        // by walking the chain, even if the first segment moves while we are doing so.
+        StackedSegment segment = firstSegment;
+        Preconditions.checkArgument(xid >= segment.getBaseXid(), "Commit of XID %s does not match up with base XID %s",
+            xid, segment.getBaseXid());
 
-            final StackedSegment segment;
-            final int slowOffset;
-            synchronized (unflushedSegments) {
-                final StackedSegment slowSegment = firstSegment;
-                final long slowCalcOffset = xid - slowSegment.getBaseXid();
-                Verify.verify(slowCalcOffset >= 0 && slowCalcOffset <= Integer.MAX_VALUE);
-                slowOffset = (int) slowCalcOffset;
+        if (xid >= segment.getEndXid()) {
+            LOG.debug("Queue {} falling back to slow commit of XID {}", this, xid);
 
-                LOG.debug("Queue {} recalculated offset of XID {} to {}", this, xid, slowOffset);
-                segment = unflushedSegments.get(slowOffset / StackedSegment.SEGMENT_SIZE);
-            }
+            do {
+                segment = Verify.verifyNotNull(segment.getNext(), "XID %s is not backed by a segment", xid);
+            } while (xid >= segment.getEndXid());
 
-            final int segOffset = slowOffset % StackedSegment.SEGMENT_SIZE;
-            LOG.debug("Queue {} slow commit of XID {} completed at offset {} (segment {} offset {})", this, xid, slowOffset, segment, segOffset);
-            return segment.getEntry(segOffset);
+            LOG.debug("Queue {} slow commit of XID {} completed in segment {}", this, xid, segment);
         }
-        return fastSegment.getEntry(fastOffset);
+        return segment;
     }
 
     /**
-     * Fails not completed entries in segments and frees completed segments
-     * @param iterator list of segments to be failed
+     * Fails not completed entries in uncompleted segments and drops completed segments
      * @return number of failed entries
      */
-    @GuardedBy("unflushedSegments")
-    private long lockedFailSegments(Iterator<StackedSegment> iterator) {
+    private long failUncompletedSegments() {
         long entries = 0;
 
         // Fail all queues
-        while (iterator.hasNext()) {
-            final StackedSegment segment = iterator.next();
-
+        for (StackedSegment segment : uncompletedSegments.snapshot()) {
             entries += segment.failAll(OutboundQueueException.DEVICE_DISCONNECTED);
             if (segment.isComplete()) {
                 LOG.trace("Cleared segment {}", segment);
-                iterator.remove();
+                uncompletedSegments.remove(segment);
             }
         }
 
@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.netty.channel.Channel;
+import java.util.EnumSet;
+import java.util.Set;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Drives reads from a channel on behalf of everything which wants them suspended. Reads are suspended
+ * while at least one source wants them suspended, so that sources do not resume reads behind each other's
+ * back. Suspensions are counted in {@link CounterEventTypes#US_READ_SUSPENDED} and their duration is
+ * accumulated.
+ *
+ * <p>
+ * Congestion of the outbound queue is tracked here as well, counted in
+ * {@link CounterEventTypes#DS_OUTBOUND_CONGESTED}, but it does not suspend reads: outstanding requests
+ * are only completed by reading their responses.
+ *
+ * <p>
+ * Sources run on Netty, workers and application threads, hence access is synchronized.
+ */
+final class BackpressureController {
+    /**
+     * Sources which may suspend reads.
+     */
+    enum Source {
+        /**
+         * Application has turned auto-read off.
+         */
+        APPLICATION,
+        /**
+         * Listener callbacks are lagging behind.
+         */
+        UPSTREAM,
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(BackpressureController.class);
+
+    private final Set<Source> suspendedBy = EnumSet.noneOf(Source.class);
+    private final StatisticsCounters statisticsCounters = StatisticsCounters.getInstance();
+    private final Channel channel;
+
+    private boolean outboundCongested;
+    private long suspendCount;
+    private long suspendedSince;
+    private long suspendedNanos;
+
+    BackpressureController(final Channel channel) {
+        this.channel = Preconditions.checkNotNull(channel);
+    }
+
+    /**
+     * @param source source which wants reads suspended
+     */
+    synchronized void suspend(final Source source) {
+        if (suspendedBy.add(source) && suspendedBy.size() == 1) {
+            LOG.debug("Channel {} reads suspended by {}", channel, source);
+            suspendCount++;
+            suspendedSince = System.nanoTime();
+            statisticsCounters.incrementCounter(CounterEventTypes.US_READ_SUSPENDED);
+            channel.config().setAutoRead(false);
+        }
+    }
+
+    /**
+     * @param source source which no longer wants reads suspended
+     */
+    synchronized void resume(final Source source) {
+        if (suspendedBy.remove(source) && suspendedBy.isEmpty()) {
+            LOG.debug("Channel {} reads resumed by {}", channel, source);
+            suspendedNanos += System.nanoTime() - suspendedSince;
+            channel.config().setAutoRead(true);
+        }
+    }
+
+    /**
+     * @param congested true if the outbound queue has crossed its high watermark, false if it
+     *        has dropped back below its low watermark
+     */
+    synchronized void setOutboundCongested(final boolean congested) {
+        if (outboundCongested != congested) {
+            outboundCongested = congested;
+            if (congested) {
+                LOG.info("Channel {} outbound queue congested, switch is not keeping up with requests", channel);
+                statisticsCounters.incrementCounter(CounterEventTypes.DS_OUTBOUND_CONGESTED);
+            } else {
+                LOG.info("Channel {} outbound queue no longer congested", channel);
+            }
+        }
+    }
+
+    /**
+     * @param source source to check
+     * @return true if the source wants reads suspended
+     */
+    synchronized boolean isSuspendedBy(final Source source) {
+        return suspendedBy.contains(source);
+    }
+
+    /**
+     * @return true if the outbound queue is congested
+     */
+    synchronized boolean isOutboundCongested() {
+        return outboundCongested;
+    }
+
+    /**
+     * @return number of times reads have been suspended
+     */
+    synchronized long getSuspendCount() {
+        return suspendCount;
+    }
+
+    /**
+     * @return total time reads have been suspended, in nanoseconds
+     */
+    synchronized long getSuspendedNanos() {
+        return suspendedBy.isEmpty() ? suspendedNanos : suspendedNanos + System.nanoTime() - suspendedSince;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this).add("channel", channel).add("suspendedBy", suspendedBy)
+                .add("outboundCongested", outboundCongested).add("suspendCount", suspendCount).toString();
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides how often barriers are sent. It measures the round-trip time of barriers
+ * and, whenever one is acknowledged, checks how many requests written after it still
+ * have callbacks waiting for completion. If that is more than one barrier's worth,
+ * completions are piling up and both the barrier interval and the number of messages
+ * between barriers are halved. Otherwise the switch keeps up and both grow by an eighth.
+ * Messages which do not wait for a response do not count, so a fast switch is not
+ * penalized for a high write rate.
+ *
+ * <p>
+ * Values supplied at handler registration are initial values. Both may grow up to
+ * separate caps, by default {@value #DEFAULT_CAP_MULTIPLE} times the initial values.
+ * The interval never drops below the measured round-trip time, as barriers sent more
+ * often than the switch answers them only load the switch. For the same reason only
+ * a single timer-driven barrier is kept in flight.
+ *
+ * <p>
+ * This class is not thread-safe, it is expected to be accessed from Netty only.
+ */
+final class BarrierPolicy {
+    /**
+     * Lower bound on the barrier interval.
+     */
+    static final long MIN_BARRIER_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Lower bound on the number of messages between barriers, unless the upper bound is lower.
+     */
+    static final int MIN_BARRIER_MESSAGES = 16;
+
+    /**
+     * Default caps on the interval and the number of messages between barriers, as multiples
+     * of their initial values.
+     */
+    static final int DEFAULT_CAP_MULTIPLE = 8;
+
+    /**
+     * Weight of the newest round-trip time sample, expressed as a shift.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    /**
+     * Growth step of interval and message limit, expressed as a shift.
+     */
+    private static final int WIDEN_SHIFT = 3;
+
+    /**
+     * A measured barrier not acknowledged within this many intervals or round-trip times
+     * is assumed lost and another one is measured instead.
+     */
+    private static final int STALE_MULTIPLE = 8;
+
+    private final int maxMessages;
+    private final int minMessages;
+    private final long maxNanos;
+
+    private int messageLimit;
+    private long intervalNanos;
+
+    // Moving average of barrier round-trip time, zero until we have a sample
+    private long rttNanos;
+
+    // Barrier being measured, if any
+    private long measuredXid = -1;
+    private long measuredSentNanos;
+
+    /**
+     * @param initialMessages initial number of non-barrier messages after which a barrier is sent
+     * @param initialNanos initial maximum time between barriers, in nanoseconds
+     */
+    BarrierPolicy(final int initialMessages, final long initialNanos) {
+        this(initialMessages, initialNanos,
+            (int) Math.min(Integer.MAX_VALUE, (long) initialMessages * DEFAULT_CAP_MULTIPLE),
+            initialNanos > Long.MAX_VALUE / DEFAULT_CAP_MULTIPLE ? Long.MAX_VALUE : initialNanos * DEFAULT_CAP_MULTIPLE);
+    }
+
+    /**
+     * @param initialMessages initial number of non-barrier messages after which a barrier is sent
+     * @param initialNanos initial maximum time between barriers, in nanoseconds
+     * @param maxMessages cap on the number of non-barrier messages after which a barrier is sent
+     * @param maxNanos cap on the maximum time between barriers, in nanoseconds
+     */
+    BarrierPolicy(final int initialMessages, final long initialNanos, final int maxMessages, final long maxNanos) {
+        Preconditions.checkArgument(initialMessages > 0);
+        Preconditions.checkArgument(initialNanos > 0);
+        Preconditions.checkArgument(maxMessages >= initialMessages);
+        Preconditions.checkArgument(maxNanos >= initialNanos);
+        this.maxMessages = maxMessages;
+        this.minMessages = Math.min(initialMessages, MIN_BARRIER_MESSAGES);
+        this.maxNanos = maxNanos;
+        this.messageLimit = initialMessages;
+        this.intervalNanos = initialNanos;
+    }
+
+    /**
+     * Account a barrier written to the channel. It is measured unless another barrier
+     * is being measured already and has not gone stale.
+     *
+     * @param xid barrier XID
+     * @param now current time, in nanoseconds
+     */
+    void onBarrierWritten(final long xid, final long now) {
+        if (measuredXid < 0 || now - measuredSentNanos > STALE_MULTIPLE * Math.max(maxNanos, rttNanos)) {
+            measuredXid = xid;
+            measuredSentNanos = now;
+        }
+    }
+
+    /**
+     * Account an acknowledged barrier and adjust barrier frequency.
+     *
+     * @param xid XID of the barrier reply, as received from the device
+     * @param now current time, in nanoseconds
+     * @param outstanding number of requests written out whose callbacks are still waiting for completion
+     * @return true if the barrier was being measured
+     */
+    boolean onBarrierCompleted(final long xid, final long now, final long outstanding) {
+        if (measuredXid < 0 || (measuredXid & StackedSegment.XID_MASK) != (xid & StackedSegment.XID_MASK)) {
+            return false;
+        }
+        measuredXid = -1;
+
+        final long sample = Math.max(1, now - measuredSentNanos);
+        rttNanos = rttNanos == 0 ? sample : Math.max(1, rttNanos + ((sample - rttNanos) >> AVERAGE_SHIFT));
+
+        // Everything written before the barrier is complete now, outstanding requests were written after it
+        if (outstanding > messageLimit) {
+            messageLimit = Math.max(minMessages, messageLimit / 2);
+            intervalNanos = intervalNanos / 2;
+        } else {
+            messageLimit = Math.min(maxMessages, messageLimit + Math.max(1, messageLimit >> WIDEN_SHIFT));
+            intervalNanos = Math.min(maxNanos, intervalNanos + (intervalNanos >> WIDEN_SHIFT));
+        }
+        intervalNanos = Math.max(intervalNanos, Math.min(maxNanos, Math.max(MIN_BARRIER_NANOS, rttNanos)));
+        return true;
+    }
+
+    /**
+     * @param now current time, in nanoseconds
+     * @return true if a timer-driven barrier should be deferred, as a previous one is still in flight
+     *         for less than the round-trip time or barrier interval
+     */
+    boolean isBarrierInFlight(final long now) {
+        return measuredXid >= 0 && now - measuredSentNanos < Math.max(rttNanos, intervalNanos);
+    }
+
+    /**
+     * @return number of non-barrier messages after which a barrier is sent
+     */
+    int getMessageLimit() {
+        return messageLimit;
+    }
+
+    /**
+     * @return maximum time between barriers, in nanoseconds
+     */
+    long getIntervalNanos() {
+        return intervalNanos;
+    }
+
+    /**
+     * @return moving average of barrier round-trip time in nanoseconds, zero if not known yet
+     */
+    long getRttNanos() {
+        return rttNanos;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("messageLimit", messageLimit).add("intervalNanos", intervalNanos)
+                .add("rttNanos", rttNanos).toString();
+    }
+}
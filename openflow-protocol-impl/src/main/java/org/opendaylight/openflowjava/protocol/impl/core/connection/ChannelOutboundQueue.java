@@ -13,12 +13,14 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.util.ReferenceCountUtil;
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
 import java.net.InetSocketAddress;
 import java.util.Queue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
@@ -59,19 +61,6 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
         T takeMessage();
     }
 
-    /**
-     * This is the default upper bound we place on the flush task running
-     * a single iteration. We relinquish control after about this amount
-     * of time.
-     */
-    private static final long DEFAULT_WORKTIME_MICROS = TimeUnit.MILLISECONDS.toMicros(100);
-
-    /**
-     * We re-check the time spent flushing every this many messages. We do this because
-     * checking after each message may prove to be CPU-intensive. Set to Integer.MAX_VALUE
-     * or similar to disable the feature.
-     */
-    private static final int WORKTIME_RECHECK_MSGS = 64;
     private static final Logger LOG = LoggerFactory.getLogger(ChannelOutboundQueue.class);
 
     // Passed to executor to request triggering of flush
@@ -90,23 +79,33 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
             AtomicIntegerFieldUpdater.newUpdater(ChannelOutboundQueue.class, "flushScheduled");
     private volatile int flushScheduled = 0;
 
-    private final Queue<MessageHolder<?>> queue;
-    private final long maxWorkTime;
+    private static final AtomicIntegerFieldUpdater<ChannelOutboundQueue> QUEUE_SIZE_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(ChannelOutboundQueue.class, "queueSize");
+    private volatile int queueSize = 0;
+
+    private final Queue<MessageHolder<?>> queue = new ConcurrentLinkedQueue<>();
+    private final int queueDepth;
+    private final FlushBudget budget = new FlushBudget();
     private final Channel channel;
     private final InetSocketAddress address;
 
+    /**
+     * @param channel channel the messages are written to
+     * @param queueDepth maximum number of enqueued messages
+     * @param address remote address for UDP channels, null for TCP
+     */
     public ChannelOutboundQueue(final Channel channel, final int queueDepth, final InetSocketAddress address) {
         Preconditions.checkArgument(queueDepth > 0, "Queue depth has to be positive");
 
         /*
-         * This looks like a good trade-off for throughput. Alternative is
-         * to use an ArrayBlockingQueue -- but that uses a single lock to
-         * synchronize both producers and consumers, potentially leading
-         * to less throughput.
+         * Messages are enqueued by any number of application threads, but they
+         * are only ever dequeued from the channel's event loop -- both flush()
+         * and channelInactive() run there. A non-blocking queue bounded by
+         * a separate counter therefore fits: producers do not take any locks,
+         * unlike with a LinkedBlockingQueue, and the depth is honored exactly.
          */
-        this.queue = new LinkedBlockingQueue<>(queueDepth);
+        this.queueDepth = queueDepth;
         this.channel = Preconditions.checkNotNull(channel);
-        this.maxWorkTime = TimeUnit.MICROSECONDS.toNanos(DEFAULT_WORKTIME_MICROS);
         this.address = address;
     }
 
@@ -120,14 +119,24 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
      */
     public boolean enqueue(final MessageHolder<?> holder) {
         LOG.trace("Enqueuing message {}", holder);
-        if (queue.offer(holder)) {
-            LOG.trace("Message enqueued");
-            conditionalFlush();
-            return true;
+        if (QUEUE_SIZE_UPDATER.incrementAndGet(this) > queueDepth) {
+            QUEUE_SIZE_UPDATER.decrementAndGet(this);
+            LOG.debug("Message queue is full");
+            return false;
         }
 
-        LOG.debug("Message queue is full");
-        return false;
+        queue.add(holder);
+        LOG.trace("Message enqueued");
+        conditionalFlush();
+        return true;
+    }
+
+    private MessageHolder<?> poll() {
+        final MessageHolder<?> ret = queue.poll();
+        if (ret != null) {
+            QUEUE_SIZE_UPDATER.decrementAndGet(this);
+        }
+        return ret;
     }
 
     private void scheduleFlush(final EventExecutor executor) {
@@ -164,18 +173,21 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
     private synchronized void flush() {
 
         final long start = System.nanoTime();
-        final long deadline = start + maxWorkTime;
+        budget.start(pendingTasks(channel.eventLoop()));
+        final long deadline = start + budget.getWorkTime();
+        final int recheckMsgs = budget.getRecheckMsgs();
 
-        LOG.debug("Dequeuing messages to channel {}", channel);
+        LOG.debug("Dequeuing messages to channel {} with {}", channel, budget);
 
         long messages = 0;
-        for (;; ++messages) {
+        long nextCheck = recheckMsgs;
+        for (;;) {
             if (!channel.isWritable()) {
                 LOG.trace("Channel is no longer writable");
                 break;
             }
 
-            final MessageHolder<?> h = queue.poll();
+            final MessageHolder<?> h = poll();
             if (h == null) {
                 LOG.trace("The queue is completely drained");
                 break;
@@ -183,27 +195,29 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
 
             final GenericFutureListener<Future<Void>> l = h.takeListener();
 
-            final ChannelFuture p;
+            final MessageListenerWrapper wrapper;
             if (address == null) {
-                p = channel.write(new MessageListenerWrapper(h.takeMessage(), l));
+                wrapper = new MessageListenerWrapper(h.takeMessage(), l);
             } else {
-                p = channel.write(new UdpMessageListenerWrapper(h.takeMessage(), l, address));
+                wrapper = new UdpMessageListenerWrapper(h.takeMessage(), l, address);
             }
+            final ChannelFuture p = channel.write(wrapper);
+            wrapper.releaseMsgOnFailure(p);
             if (l != null) {
                 p.addListener(l);
             }
 
             /*
-             * Check every WORKTIME_RECHECK_MSGS for exceeded time.
-             *
-             * XXX: given we already measure our flushing throughput, we
-             *      should be able to perform dynamic adjustments here.
-             *      is that additional complexity needed, though?
+             * Checking the time after each message may prove to be CPU-intensive,
+             * hence we do it only every recheckMsgs, as sized by the budget.
              */
-            if ((messages % WORKTIME_RECHECK_MSGS) == 0 && System.nanoTime() >= deadline) {
-                LOG.trace("Exceeded allotted work time {}us",
-                        TimeUnit.NANOSECONDS.toMicros(maxWorkTime));
-                break;
+            if (++messages == nextCheck) {
+                if (System.nanoTime() >= deadline) {
+                    LOG.trace("Exceeded allotted work time {}us",
+                            TimeUnit.NANOSECONDS.toMicros(budget.getWorkTime()));
+                    break;
+                }
+                nextCheck += recheckMsgs;
             }
         }
 
@@ -212,11 +226,10 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
             channel.flush();
         }
 
-        if (LOG.isDebugEnabled()) {
-            final long stop = System.nanoTime();
-            LOG.debug("Flushed {} messages in {}us to channel {}",
-                messages, TimeUnit.NANOSECONDS.toMicros(stop - start), channel);
-        }
+        final long stop = System.nanoTime();
+        budget.update(messages, stop - start);
+        LOG.debug("Flushed {} messages in {}us to channel {}",
+            messages, TimeUnit.NANOSECONDS.toMicros(stop - start), channel);
 
         /*
          * We are almost ready to terminate. This is a bit tricky, because
@@ -234,6 +247,17 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
         conditionalFlush();
     }
 
+    /**
+     * @param executor event loop running the flush task
+     * @return number of other tasks waiting on the executor, 0 if it cannot tell
+     */
+    private static int pendingTasks(final EventExecutor executor) {
+        if (executor instanceof SingleThreadEventExecutor) {
+            return ((SingleThreadEventExecutor) executor).pendingTasks();
+        }
+        return 0;
+    }
+
     private void conditionalFlush(final ChannelHandlerContext ctx) {
         Preconditions.checkState(ctx.channel().equals(channel), "Inconsistent channel %s with context %s", channel, ctx);
         conditionalFlush();
@@ -259,11 +283,12 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
         LOG.debug("Channel shutdown, flushing queue...");
         final Future<Void> result = ctx.newFailedFuture(new RejectedExecutionException("Channel disconnected"));
         while (true) {
-            final MessageHolder<?> e = queue.poll();
+            final MessageHolder<?> e = poll();
             if (e == null) {
                 break;
             }
 
+            ReferenceCountUtil.release(e.takeMessage());
             e.takeListener().operationComplete(result);
             entries++;
         }
@@ -273,6 +298,6 @@ final class ChannelOutboundQueue extends ChannelInboundHandlerAdapter {
 
     @Override
     public String toString() {
-        return String.format("Channel %s queue [%s messages flushing=%s]", channel, queue.size(), flushScheduled);
+        return String.format("Channel %s queue [%s messages flushing=%s]", channel, queueSize, flushScheduled);
     }
 }
@@ -26,4 +26,12 @@ public interface ConnectionAdapterFactory {
      */
     ConnectionFacade createConnectionFacade(Channel ch, InetSocketAddress address, boolean useBarrier);
 
+    /**
+     * @param ch {@link Channel} channel
+     * @param address {@link InetSocketAddress}
+     * @param settings connection adapter parameters
+     * @return connection adapter tcp-implementation
+     */
+    ConnectionFacade createConnectionFacade(Channel ch, InetSocketAddress address, ConnectionAdapterSettings settings);
+
 }
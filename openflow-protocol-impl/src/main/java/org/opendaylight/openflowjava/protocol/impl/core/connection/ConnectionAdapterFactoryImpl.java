@@ -28,4 +28,10 @@ public class ConnectionAdapterFactoryImpl implements ConnectionAdapterFactory {
         return new ConnectionAdapterImpl(ch, address, useBarrier);
     }
 
+    @Override
+    public ConnectionFacade createConnectionFacade(final Channel ch, final InetSocketAddress address,
+            final ConnectionAdapterSettings settings) {
+        return new ConnectionAdapterImpl(ch, address, settings);
+    }
+
 }
@@ -11,12 +11,19 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import com.google.common.base.Preconditions;
 import io.netty.channel.Channel;
+import io.netty.util.ReferenceCountUtil;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionReadyListener;
+import org.opendaylight.openflowjava.protocol.api.connection.MessageBatchListener;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandlerRegistration;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueSettings;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
 import org.opendaylight.openflowjava.protocol.api.extensibility.AlienMessageListener;
-import org.opendaylight.openflowjava.protocol.impl.core.OFVersionDetector;
+import org.opendaylight.openflowjava.protocol.impl.core.PacketInFilter;
 import org.opendaylight.openflowjava.protocol.impl.core.PipelineHandlers;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ErrorMessage;
@@ -32,7 +39,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.D
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SwitchIdleEvent;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SystemNotificationsListener;
 import org.opendaylight.yangtools.yang.binding.DataObject;
-import org.opendaylight.yangtools.yang.binding.Notification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,16 +49,27 @@ import org.slf4j.LoggerFactory;
  */
 public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics implements ConnectionFacade {
 
+    /**
+     * Default depth of write queue, e.g. we allow these many messages
+     * to be queued up before blocking producers.
+     */
+    public static final int DEFAULT_QUEUE_DEPTH = 1024;
+
     private static final Logger LOG = LoggerFactory.getLogger(ConnectionAdapterImpl.class);
 
     private ConnectionReadyListener connectionReadyListener;
     private OpenflowProtocolListener messageListener;
     private SystemNotificationsListener systemListener;
     private AlienMessageListener alienMessageListener;
+    private volatile MessageBatchListener batchListener;
     private AbstractOutboundQueueManager<?, ?> outputManager;
-    private OFVersionDetector versionDetector;
+    private PacketInFilter packetInFilter;
 
     private final boolean useBarrier;
+    private final NotificationExecutor notificationExecutor;
+    private final UpstreamQueue upstream;
+    private List<OfHeader> batch = new ArrayList<>();
+    private volatile Consumer<?>[] fastPathConsumers = new Consumer<?>[InboundMessageKind.values().length];
 
     /**
      * Default constructor.
@@ -62,8 +79,22 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
      * @param useBarrier value is configurable by configSubsytem
      */
     public ConnectionAdapterImpl(final Channel channel, final InetSocketAddress address, final boolean useBarrier) {
-        super(channel, address);
-        this.useBarrier = useBarrier;
+        this(channel, address, ConnectionAdapterSettings.create(useBarrier));
+    }
+
+    /**
+     * @param channel the channel to be set - used for communication
+     * @param address client address (used only in case of UDP communication,
+     *                as there is no need to store address over tcp (stable channel))
+     * @param settings connection adapter parameters
+     */
+    public ConnectionAdapterImpl(final Channel channel, final InetSocketAddress address,
+            final ConnectionAdapterSettings settings) {
+        super(channel, address, settings.getChannelOutboundQueueSize());
+        this.useBarrier = settings.useBarrier();
+        this.notificationExecutor = settings.getNotificationExecutor();
+        final UpstreamExecutor upstreamExecutor = settings.getUpstreamExecutor();
+        this.upstream = upstreamExecutor != null ? upstreamExecutor.newQueue(backpressure) : null;
         LOG.debug("ConnectionAdapter created");
     }
 
@@ -82,6 +113,11 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
         this.systemListener = systemListener;
     }
 
+    @Override
+    public void setMessageBatchListener(final MessageBatchListener batchListener) {
+        this.batchListener = batchListener;
+    }
+
     @Override
     public void setAlienMessageListener(final AlienMessageListener alienMessageListener) {
         this.alienMessageListener = alienMessageListener;
@@ -91,78 +127,172 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
     public void consumeDeviceMessage(final DataObject message) {
         LOG.debug("ConsumeIntern msg on {}", channel);
         if (disconnectOccured) {
+            // Nobody is going to consume the message, make sure retained payloads get back to the pool
+            ReferenceCountUtil.release(message);
             return;
         }
-        if (message instanceof Notification) {
-
+        final InboundMessageKind kind = InboundMessageKind.forClass(message.getClass());
+        switch (kind) {
             // System events
-            if (message instanceof DisconnectEvent) {
-                systemListener.onDisconnectEvent((DisconnectEvent) message);
-                responseCache.invalidateAll();
+            case DISCONNECT:
+                // Messages received before the disconnect should be delivered before it
+                consumeComplete();
+                runUpstream(() -> systemListener.onDisconnectEvent((DisconnectEvent) message));
+                responseTable.clear();
                 disconnectOccured = true;
-            } else if (message instanceof SwitchIdleEvent) {
-                systemListener.onSwitchIdleEvent((SwitchIdleEvent) message);
+                break;
+            case SWITCH_IDLE:
+                runUpstream(() -> systemListener.onSwitchIdleEvent((SwitchIdleEvent) message));
+                break;
             // OpenFlow messages
-            } else if (message instanceof EchoRequestMessage) {
+            case ECHO_REQUEST:
                 if (outputManager != null) {
                     outputManager.onEchoRequest((EchoRequestMessage) message);
                 } else {
-                    messageListener.onEchoRequestMessage((EchoRequestMessage) message);
+                    deliver(kind, (OfHeader) message);
                 }
-            } else if (message instanceof ErrorMessage) {
+                break;
+            case ERROR:
                 // Send only unmatched errors
                 if (outputManager == null || !outputManager.onMessage((OfHeader) message)) {
-                    messageListener.onErrorMessage((ErrorMessage) message);
+                    deliver(kind, (OfHeader) message);
                 }
-            } else if (message instanceof ExperimenterMessage) {
+                break;
+            case EXPERIMENTER:
+            case MULTIPART_REPLY:
                 if (outputManager != null) {
                     outputManager.onMessage((OfHeader) message);
                 }
-                messageListener.onExperimenterMessage((ExperimenterMessage) message);
-            } else if (message instanceof FlowRemovedMessage) {
-                messageListener.onFlowRemovedMessage((FlowRemovedMessage) message);
-            } else if (message instanceof HelloMessage) {
+                deliver(kind, (OfHeader) message);
+                break;
+            case HELLO:
                 LOG.info("Hello received");
-                messageListener.onHelloMessage((HelloMessage) message);
-            } else if (message instanceof MultipartReplyMessage) {
-                if (outputManager != null) {
-                    outputManager.onMessage((OfHeader) message);
-                }
-                messageListener.onMultipartReplyMessage((MultipartReplyMessage) message);
-            } else if (message instanceof PacketInMessage) {
-                messageListener.onPacketInMessage((PacketInMessage) message);
-            } else if (message instanceof PortStatusMessage) {
-                messageListener.onPortStatusMessage((PortStatusMessage) message);
-            } else {
+                deliver(kind, (OfHeader) message);
+                break;
+            case FLOW_REMOVED:
+            case PACKET_IN:
+            case PORT_STATUS:
+                deliver(kind, (OfHeader) message);
+                break;
+            case RPC_RESPONSE:
+                consumeRpcResponse((OfHeader) message);
+                break;
+            default:
                 LOG.warn("message listening not supported for type: {}", message.getClass());
+                break;
+        }
+    }
+
+    @Override
+    public void consumeComplete() {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        if (upstream == null) {
+            try {
+                deliverBatch(batch);
+            } finally {
+                batch.clear();
             }
-        } else if (message instanceof OfHeader) {
-            LOG.debug("OF header msg received");
-            boolean found = false;
-
-            if (outputManager == null || !outputManager.onMessage((OfHeader) message)) {
-                final RpcResponseKey key = createRpcResponseKey((OfHeader) message);
-                final ResponseExpectedRpcListener<?> listener = findRpcResponse(key);
-                if (listener != null) {
-                    found = true;
-                    LOG.debug("Corresponding rpcFuture found");
-                    listener.completed((OfHeader) message);
-                    LOG.debug("After setting rpcFuture");
-                    responseCache.invalidate(key);
-                }
+        } else {
+            // The batch is handed over to a worker, start a new one
+            final List<OfHeader> messages = batch;
+            batch = new ArrayList<>();
+            upstream.execute(() -> deliverBatch(messages));
+        }
+    }
+
+    private void deliverBatch(final List<OfHeader> messages) {
+        final MessageBatchListener listener = batchListener;
+        if (listener != null) {
+            listener.onMessageBatch(messages);
+        } else {
+            // Batching has been switched off since the messages were collected
+            for (OfHeader message : messages) {
+                notifyListener(InboundMessageKind.forClass(message.getClass()), message);
+            }
+        }
+    }
+
+    private void runUpstream(final Runnable callback) {
+        if (upstream != null) {
+            upstream.execute(callback);
+        } else {
+            callback.run();
+        }
+    }
+
+    private void consumeRpcResponse(final OfHeader message) {
+        LOG.debug("OF header msg received");
+        boolean found = false;
+
+        if (outputManager == null || !outputManager.onMessage(message)) {
+            final ResponseExpectedRpcListener<?> listener = takeRpcResponse(message);
+            if (listener != null) {
+                found = true;
+                LOG.debug("Corresponding rpcFuture found");
+                listener.completed(message);
+                LOG.debug("After setting rpcFuture");
             }
+        }
+
+        if (!found && alienMessageListener != null) {
+            LOG.debug("Alien message {} received", message.getImplementedInterface());
+            final AlienMessageListener listener = alienMessageListener;
+            runUpstream(() -> listener.onAlienMessage(message));
+        }
+    }
 
-            if (!found && alienMessageListener != null) {
-                LOG.debug("Alien message {} received", message.getImplementedInterface());
-                alienMessageListener.onAlienMessage((OfHeader) message);
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private void deliver(final InboundMessageKind kind, final OfHeader message) {
+        final Consumer consumer = fastPathConsumers[kind.ordinal()];
+        if (consumer != null) {
+            // Messages batched before this one should be delivered before it
+            consumeComplete();
+            if (upstream != null) {
+                upstream.execute(() -> consumer.accept(message));
+            } else {
+                consumer.accept(message);
             }
+        } else if (batchListener != null) {
+            batch.add(message);
+        } else if (upstream != null) {
+            upstream.execute(() -> notifyListener(kind, message));
         } else {
-            LOG.warn("message listening not supported for type: {}", message.getClass());
+            notifyListener(kind, message);
         }
     }
 
-    private static RpcResponseKey createRpcResponseKey(final OfHeader message) {
-        return new RpcResponseKey(message.getXid(), message.getImplementedInterface().getName());
+    private void notifyListener(final InboundMessageKind kind, final OfHeader message) {
+        switch (kind) {
+            case ECHO_REQUEST:
+                messageListener.onEchoRequestMessage((EchoRequestMessage) message);
+                break;
+            case ERROR:
+                messageListener.onErrorMessage((ErrorMessage) message);
+                break;
+            case EXPERIMENTER:
+                messageListener.onExperimenterMessage((ExperimenterMessage) message);
+                break;
+            case FLOW_REMOVED:
+                messageListener.onFlowRemovedMessage((FlowRemovedMessage) message);
+                break;
+            case HELLO:
+                messageListener.onHelloMessage((HelloMessage) message);
+                break;
+            case MULTIPART_REPLY:
+                messageListener.onMultipartReplyMessage((MultipartReplyMessage) message);
+                break;
+            case PACKET_IN:
+                messageListener.onPacketInMessage((PacketInMessage) message);
+                break;
+            case PORT_STATUS:
+                messageListener.onPortStatusMessage((PortStatusMessage) message);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled message kind " + kind);
+        }
     }
 
     @Override
@@ -183,28 +313,40 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
 
     @Override
     public void fireConnectionReadyNotification() {
-        versionDetector = (OFVersionDetector) channel.pipeline().get(PipelineHandlers.OF_VERSION_DETECTOR.name());
-        Preconditions.checkState(versionDetector != null);
+        PacketInFilter filter = (PacketInFilter) channel.pipeline().get(PipelineHandlers.OF_VERSION_DETECTOR.name());
+        if (filter == null) {
+            filter = (PacketInFilter) channel.pipeline().get(PipelineHandlers.OF_INBOUND_DECODER.name());
+        }
+        Preconditions.checkState(filter != null);
+        packetInFilter = filter;
 
-        new Thread(new Runnable() {
+        notificationExecutor.execute(new Runnable() {
             @Override
             public void run() {
                 connectionReadyListener.onConnectionReady();
             }
-        }).start();
+        });
     }
 
     @Override
     public <T extends OutboundQueueHandler> OutboundQueueHandlerRegistration<T> registerOutboundQueueHandler(
             final T handler, final int maxQueueDepth, final long maxBarrierNanos) {
+        return registerOutboundQueueHandler(handler, maxQueueDepth, maxBarrierNanos, OutboundQueueSettings.DEFAULT);
+    }
+
+    @Override
+    public <T extends OutboundQueueHandler> OutboundQueueHandlerRegistration<T> registerOutboundQueueHandler(
+            final T handler, final int maxQueueDepth, final long maxBarrierNanos,
+            final OutboundQueueSettings settings) {
         Preconditions.checkState(outputManager == null, "Manager %s already registered", outputManager);
+        Preconditions.checkNotNull(settings);
 
         final AbstractOutboundQueueManager<T, ?> ret;
         if (useBarrier) {
-            ret = new OutboundQueueManager<>(this, address, handler, maxQueueDepth, maxBarrierNanos);
+            ret = new OutboundQueueManager<>(this, address, handler, settings, maxQueueDepth, maxBarrierNanos);
         } else {
             LOG.warn("OutboundQueueManager without barrier is started.");
-            ret = new OutboundQueueManagerNoBarrier<>(this, address, handler);
+            ret = new OutboundQueueManagerNoBarrier<>(this, address, handler, settings);
         }
 
         outputManager = ret;
@@ -230,9 +372,32 @@ public class ConnectionAdapterImpl extends AbstractConnectionAdapterStatistics i
         return channel;
     }
 
+    BackpressureController getBackpressure() {
+        return backpressure;
+    }
+
     @Override
     public void setPacketInFiltering(final boolean enabled) {
-        versionDetector.setFilterPacketIns(enabled);
+        packetInFilter.setFilterPacketIns(enabled);
         LOG.debug("PacketIn filtering {}abled", enabled ? "en" : "dis");
     }
+
+    @Override
+    public void setPacketInRateLimit(final PacketInRateLimit limit) {
+        packetInFilter.setPacketInRateLimit(Preconditions.checkNotNull(limit));
+        LOG.debug("PacketIn rate limit set to {}", limit);
+    }
+
+    @Override
+    public synchronized <T extends OfHeader> void setFastPathConsumer(final Class<T> type,
+            final Consumer<? super T> consumer) {
+        final InboundMessageKind kind = InboundMessageKind.forConsumableType(type);
+        Preconditions.checkArgument(kind != null, "Messages of type %s cannot be consumed separately", type);
+
+        // Copy on write, so that dispatch reads the array without locking
+        final Consumer<?>[] consumers = fastPathConsumers.clone();
+        consumers[kind.ordinal()] = consumer;
+        fastPathConsumers = consumers;
+        LOG.debug("Fast path consumer for {} set to {}", type, consumer);
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import javax.annotation.Nullable;
+
+/**
+ * Parameters of a single {@link ConnectionAdapterImpl}. Instances are immutable, start from
+ * {@link #create(boolean)} and override defaults through the {@code with} methods.
+ */
+public final class ConnectionAdapterSettings {
+
+    private final boolean useBarrier;
+    private final int channelOutboundQueueSize;
+    private final NotificationExecutor notificationExecutor;
+    private final UpstreamExecutor upstreamExecutor;
+
+    private ConnectionAdapterSettings(final boolean useBarrier, final int channelOutboundQueueSize,
+            final NotificationExecutor notificationExecutor, final UpstreamExecutor upstreamExecutor) {
+        this.useBarrier = useBarrier;
+        this.channelOutboundQueueSize = channelOutboundQueueSize;
+        this.notificationExecutor = notificationExecutor;
+        this.upstreamExecutor = upstreamExecutor;
+    }
+
+    /**
+     * @param useBarrier value is configurable by configSubsytem
+     * @return settings with default queue size, shared notification executor and listener
+     *         callbacks running on the channel's event loop
+     */
+    public static ConnectionAdapterSettings create(final boolean useBarrier) {
+        return new ConnectionAdapterSettings(useBarrier, ConnectionAdapterImpl.DEFAULT_QUEUE_DEPTH,
+            NotificationExecutor.getDefault(), null);
+    }
+
+    /**
+     * @param channelOutboundQueueSize depth of the queue used by RPC-style message sending
+     * @return settings instance with specified queue size
+     * @throws IllegalArgumentException if the size is not positive
+     */
+    public ConnectionAdapterSettings withChannelOutboundQueueSize(final int channelOutboundQueueSize) {
+        Preconditions.checkArgument(channelOutboundQueueSize > 0, "Queue size %s has to be positive",
+            channelOutboundQueueSize);
+        return new ConnectionAdapterSettings(useBarrier, channelOutboundQueueSize, notificationExecutor,
+            upstreamExecutor);
+    }
+
+    /**
+     * @param notificationExecutor executor running connection-ready notifications
+     * @return settings instance with specified notification executor
+     */
+    public ConnectionAdapterSettings withNotificationExecutor(final NotificationExecutor notificationExecutor) {
+        return new ConnectionAdapterSettings(useBarrier, channelOutboundQueueSize,
+            Preconditions.checkNotNull(notificationExecutor), upstreamExecutor);
+    }
+
+    /**
+     * @param upstreamExecutor workers running listener callbacks, or null to run them on the channel's event loop
+     * @return settings instance with specified upstream executor
+     */
+    public ConnectionAdapterSettings withUpstreamExecutor(@Nullable final UpstreamExecutor upstreamExecutor) {
+        return new ConnectionAdapterSettings(useBarrier, channelOutboundQueueSize, notificationExecutor,
+            upstreamExecutor);
+    }
+
+    /**
+     * @return true if barriers are used
+     */
+    public boolean useBarrier() {
+        return useBarrier;
+    }
+
+    /**
+     * @return depth of the queue used by RPC-style message sending
+     */
+    public int getChannelOutboundQueueSize() {
+        return channelOutboundQueueSize;
+    }
+
+    /**
+     * @return executor running connection-ready notifications
+     */
+    public NotificationExecutor getNotificationExecutor() {
+        return notificationExecutor;
+    }
+
+    /**
+     * @return workers running listener callbacks, or null if they run on the channel's event loop
+     */
+    @Nullable
+    public UpstreamExecutor getUpstreamExecutor() {
+        return upstreamExecutor;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("useBarrier", useBarrier)
+                .add("channelOutboundQueueSize", channelOutboundQueueSize)
+                .add("upstreamExecutor", upstreamExecutor).toString();
+    }
+}
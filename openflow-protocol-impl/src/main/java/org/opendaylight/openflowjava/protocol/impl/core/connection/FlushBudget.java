@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Work time budget of a single flush task iteration. It keeps a moving average
+ * of the time it takes to push a single message into the channel and uses it,
+ * together with the amount of other work pending on the event loop, to size both
+ * the time budget and the number of messages written between two clock checks.
+ *
+ * <p>
+ * If the event loop has nothing else to do, the budget is large enough to drain
+ * a backlog in one go. Once other tasks are waiting, the budget shrinks with their
+ * number, so a single channel with a huge backlog cannot starve its neighbours.
+ *
+ * <p>
+ * This class is not thread-safe, it is expected to be accessed only from the flush
+ * task.
+ */
+final class FlushBudget {
+    /**
+     * Upper bound on a single iteration when the event loop has no other work.
+     */
+    static final long MAX_WORKTIME_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    /**
+     * Time we are willing to take from other tasks pending on the event loop. It is
+     * split among those tasks.
+     */
+    static final long SHARED_WORKTIME_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /**
+     * Lower bound on a single iteration, so we make progress even on a busy loop.
+     */
+    static final long MIN_WORKTIME_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    /**
+     * Upper bound on the number of messages written between two clock checks.
+     */
+    static final int MAX_RECHECK_MSGS = 1024;
+
+    /**
+     * We aim to check the clock this many times during a single iteration.
+     */
+    private static final int CHECKS_PER_WORKTIME = 8;
+
+    /**
+     * Weight of the newest sample in the moving average, expressed as a shift.
+     */
+    private static final int AVERAGE_SHIFT = 3;
+
+    /**
+     * Initial estimate of time spent on a single message.
+     */
+    private static final long INITIAL_MESSAGE_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private long messageNanos = INITIAL_MESSAGE_NANOS;
+    private long workTime = MAX_WORKTIME_NANOS;
+    private int recheckMsgs = MAX_RECHECK_MSGS;
+
+    /**
+     * Size the budget for a new iteration.
+     *
+     * @param pendingTasks number of other tasks waiting on the event loop
+     */
+    void start(final int pendingTasks) {
+        if (pendingTasks <= 0) {
+            workTime = MAX_WORKTIME_NANOS;
+        } else {
+            workTime = Math.max(MIN_WORKTIME_NANOS, SHARED_WORKTIME_NANOS / pendingTasks);
+        }
+
+        final long msgs = workTime / (CHECKS_PER_WORKTIME * messageNanos);
+        recheckMsgs = (int) Math.max(1, Math.min(MAX_RECHECK_MSGS, msgs));
+    }
+
+    /**
+     * Account a finished iteration.
+     *
+     * @param messages number of messages written
+     * @param elapsedNanos time spent writing them
+     */
+    void update(final long messages, final long elapsedNanos) {
+        if (messages > 0 && elapsedNanos > 0) {
+            final long sample = Math.max(1, elapsedNanos / messages);
+            messageNanos = Math.max(1, messageNanos + ((sample - messageNanos) >> AVERAGE_SHIFT));
+        }
+    }
+
+    /**
+     * @return time budget of current iteration, in nanoseconds
+     */
+    long getWorkTime() {
+        return workTime;
+    }
+
+    /**
+     * @return number of messages to write before re-checking elapsed time
+     */
+    int getRecheckMsgs() {
+        return recheckMsgs;
+    }
+
+    /**
+     * @return moving average of time spent on a single message, in nanoseconds
+     */
+    long getMessageNanos() {
+        return messageNanos;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("workTime", workTime).add("recheckMsgs", recheckMsgs)
+                .add("messageNanos", messageNanos).toString();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ErrorMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ExperimenterMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.FlowRemovedMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PortStatusMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEvent;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.SwitchIdleEvent;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.opendaylight.yangtools.yang.binding.Notification;
+
+/**
+ * Kinds of messages received from a device, as dispatched by {@link ConnectionAdapterImpl}. The kind
+ * of a message class is resolved once, by testing it against kinds in declaration order, and cached,
+ * so dispatching a message is a switch over its kind instead of a chain of type tests.
+ */
+enum InboundMessageKind {
+    DISCONNECT(DisconnectEvent.class, false),
+    SWITCH_IDLE(SwitchIdleEvent.class, false),
+    ECHO_REQUEST(EchoRequestMessage.class, true),
+    ERROR(ErrorMessage.class, true),
+    EXPERIMENTER(ExperimenterMessage.class, true),
+    FLOW_REMOVED(FlowRemovedMessage.class, true),
+    HELLO(HelloMessage.class, true),
+    MULTIPART_REPLY(MultipartReplyMessage.class, true),
+    PACKET_IN(PacketInMessage.class, true),
+    PORT_STATUS(PortStatusMessage.class, true),
+    /**
+     * Notification not covered by any of the above.
+     */
+    UNSUPPORTED_NOTIFICATION(Notification.class, false),
+    /**
+     * Response to an RPC-style request.
+     */
+    RPC_RESPONSE(OfHeader.class, false),
+    UNSUPPORTED(DataObject.class, false);
+
+    private static final InboundMessageKind[] VALUES = values();
+    private static final ClassValue<InboundMessageKind> KINDS = new ClassValue<InboundMessageKind>() {
+        @Override
+        protected InboundMessageKind computeValue(final Class<?> type) {
+            for (InboundMessageKind kind : VALUES) {
+                if (kind.type.isAssignableFrom(type)) {
+                    return kind;
+                }
+            }
+            return UNSUPPORTED;
+        }
+    };
+
+    private final Class<?> type;
+    private final boolean consumable;
+
+    InboundMessageKind(final Class<?> type, final boolean consumable) {
+        this.type = type;
+        this.consumable = consumable;
+    }
+
+    /**
+     * @param type message class
+     * @return kind of messages of that class
+     */
+    static InboundMessageKind forClass(final Class<?> type) {
+        return KINDS.get(type);
+    }
+
+    /**
+     * @param type message interface
+     * @return kind whose messages can be handed to a per-type consumer, or null if there is none
+     */
+    static InboundMessageKind forConsumableType(final Class<?> type) {
+        for (InboundMessageKind kind : VALUES) {
+            if (kind.consumable && kind.type == type) {
+                return kind;
+            }
+        }
+        return null;
+    }
+}
@@ -21,4 +21,11 @@ public interface MessageConsumer {
      */
     void consume(DataObject message);
 
+    /**
+     * Invoked once messages from a single read have been passed to {@link #consume(DataObject)}.
+     */
+    default void consumeComplete() {
+        // No-op by default
+    }
+
 }
@@ -8,8 +8,12 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
+import io.netty.channel.ChannelFuture;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
 import io.netty.util.concurrent.Future;
 import io.netty.util.concurrent.GenericFutureListener;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 
@@ -21,8 +25,13 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  */
 public class MessageListenerWrapper {
 
+    // Updater instead of an AtomicBoolean, as a wrapper is allocated for every message sent
+    private static final AtomicIntegerFieldUpdater<MessageListenerWrapper> RELEASED_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(MessageListenerWrapper.class, "released");
+
     private OfHeader msg;
     private GenericFutureListener<Future<Void>> listener;
+    private volatile int released;
 
     /**
      * @param msg outgoing message
@@ -47,4 +56,30 @@ public class MessageListenerWrapper {
     public GenericFutureListener<Future<Void>> getListener() {
         return listener;
     }
+
+    /**
+     * Release the payload retained by the message, if any. Only the first invocation has an effect,
+     * so that both the encoder and a failed write can attempt it, even from different threads.
+     */
+    public void releaseMsg() {
+        if (RELEASED_UPDATER.compareAndSet(this, 0, 1)) {
+            ReferenceCountUtil.release(msg);
+        }
+    }
+
+    /**
+     * Release the payload retained by the message should the write fail before the message
+     * reaches the encoder.
+     *
+     * @param future future of the write of this wrapper
+     */
+    public void releaseMsgOnFailure(final ChannelFuture future) {
+        if (msg instanceof ReferenceCounted) {
+            future.addListener(f -> {
+                if (!f.isSuccess()) {
+                    releaseMsg();
+                }
+            });
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executor shared by all connections of a switch connection provider, which runs connection-ready
+ * callbacks. Callbacks may block, so they cannot run on the event loop, but a thread per connection
+ * means thousands of threads started at once when switches reconnect after a controller restart.
+ * This executor bounds both the number of threads and the number of pending callbacks. Threads time
+ * out when idle. Should the queue overflow, or the executor be closed, the callback runs on the caller
+ * thread, which throttles the connections being set up instead of piling up threads.
+ *
+ * <p>
+ * Callbacks which waited for a thread for more than a second are counted in
+ * {@link CounterEventTypes#US_NOTIFICATION_DELAYED}, callbacks run on the caller thread in
+ * {@link CounterEventTypes#US_NOTIFICATION_OVERFLOW}, so that a reconnect storm which outgrows
+ * the executor shows up.
+ */
+public final class NotificationExecutor implements Executor, AutoCloseable {
+    /**
+     * Default number of threads.
+     */
+    public static final int DEFAULT_THREADS = 8;
+
+    /**
+     * Default number of callbacks waiting for a thread.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 4096;
+
+    private static final Logger LOG = LoggerFactory.getLogger(NotificationExecutor.class);
+    private static final long KEEP_ALIVE_SECONDS = 60;
+    private static final long SLOW_DISPATCH_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private static final class DefaultHolder {
+        static final NotificationExecutor INSTANCE = new NotificationExecutor(DEFAULT_THREADS, DEFAULT_QUEUE_SIZE);
+    }
+
+    private final StatisticsCounters statisticsCounters = StatisticsCounters.getInstance();
+    private final ThreadPoolExecutor executor;
+
+    /**
+     * @param threads maximum number of threads
+     * @param queueSize maximum number of callbacks waiting for a thread
+     */
+    public NotificationExecutor(final int threads, final int queueSize) {
+        Preconditions.checkArgument(threads > 0, "Number of threads %s has to be positive", threads);
+        Preconditions.checkArgument(queueSize > 0, "Queue size %s has to be positive", queueSize);
+        executor = new ThreadPoolExecutor(threads, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueSize),
+            new ThreadFactoryBuilder().setNameFormat("ofj-notification-%d").setDaemon(true).build());
+        executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * @return executor used by connections created without one
+     */
+    public static NotificationExecutor getDefault() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    @Override
+    public void execute(final Runnable command) {
+        Preconditions.checkNotNull(command);
+        final long enqueued = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                recordDelay(System.nanoTime() - enqueued);
+                command.run();
+            });
+        } catch (RejectedExecutionException e) {
+            statisticsCounters.incrementCounter(CounterEventTypes.US_NOTIFICATION_OVERFLOW);
+            LOG.debug("Notification executor {} overflowed, running {} on the caller thread", this, command);
+            command.run();
+        }
+    }
+
+    private void recordDelay(final long delayNanos) {
+        if (delayNanos > SLOW_DISPATCH_NANOS) {
+            statisticsCounters.incrementCounter(CounterEventTypes.US_NOTIFICATION_DELAYED);
+            LOG.debug("Notification waited {}ms for dispatch", TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        }
+    }
+
+    /**
+     * @return number of callbacks waiting for a thread
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("threads", executor.getMaximumPoolSize())
+                .add("queued", getQueuedCount()).toString();
+    }
+}
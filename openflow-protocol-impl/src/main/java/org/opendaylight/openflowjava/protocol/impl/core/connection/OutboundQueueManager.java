@@ -11,7 +11,9 @@ import com.google.common.base.Preconditions;
 import java.net.InetSocketAddress;
 import java.util.concurrent.TimeUnit;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueSettings;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -20,8 +22,7 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
         AbstractOutboundQueueManager<T, StackedOutboundQueue> {
     private static final Logger LOG = LoggerFactory.getLogger(OutboundQueueManager.class);
 
-    private final int maxNonBarrierMessages;
-    private final long maxBarrierNanos;
+    private final BarrierPolicy barrierPolicy;
 
     // Updated from netty only
     private boolean barrierTimerEnabled;
@@ -37,12 +38,11 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
     };
 
     OutboundQueueManager(final ConnectionAdapterImpl parent, final InetSocketAddress address, final T handler,
-        final int maxNonBarrierMessages, final long maxBarrierNanos) {
-        super(parent, address, handler);
+        final OutboundQueueSettings settings, final int maxNonBarrierMessages, final long maxBarrierNanos) {
+        super(parent, address, handler, settings);
         Preconditions.checkArgument(maxNonBarrierMessages > 0);
-        this.maxNonBarrierMessages = maxNonBarrierMessages;
         Preconditions.checkArgument(maxBarrierNanos > 0);
-        this.maxBarrierNanos = maxBarrierNanos;
+        this.barrierPolicy = new BarrierPolicy(maxNonBarrierMessages, maxBarrierNanos);
     }
 
     @Override
@@ -51,10 +51,11 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
     }
 
     private void scheduleBarrierTimer(final long now) {
-        long next = lastBarrierNanos + maxBarrierNanos;
+        final long intervalNanos = barrierPolicy.getIntervalNanos();
+        long next = lastBarrierNanos + intervalNanos;
         if (next < now) {
             LOG.trace("Attempted to schedule barrier in the past, reset maximum)");
-            next = now + maxBarrierNanos;
+            next = now + intervalNanos;
         }
 
         final long delay = next - now;
@@ -87,6 +88,15 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
         }
 
         if (currentQueue.isBarrierNeeded()) {
+            // Coalesce with the barrier still in flight, messages written since then will be covered
+            // by the next one
+            final long now = System.nanoTime();
+            if (barrierPolicy.isBarrierInFlight(now)) {
+                LOG.trace("Previous barrier still in flight, deferring barrier");
+                scheduleBarrierTimer(now);
+                return;
+            }
+
             LOG.trace("Sending a barrier message");
             scheduleBarrierMessage();
         } else {
@@ -94,6 +104,16 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
         }
     }
 
+    @Override
+    boolean onMessage(final OfHeader message) {
+        final boolean ret = super.onMessage(message);
+        if (ret && message instanceof BarrierOutput && barrierPolicy.onBarrierCompleted(message.getXid(),
+                System.nanoTime(), currentQueue.getUncompletedEntries())) {
+            LOG.debug("Channel {} barrier policy updated to {}", parent.getChannel(), barrierPolicy);
+        }
+        return ret;
+    }
+
     /**
      * Write a message into the underlying channel.
      *
@@ -111,9 +131,10 @@ final class OutboundQueueManager<T extends OutboundQueueHandler> extends
             LOG.trace("Barrier message seen, resetting counters");
             nonBarrierMessages = 0;
             lastBarrierNanos = now;
+            barrierPolicy.onBarrierWritten(message.getXid(), now);
         } else {
             nonBarrierMessages++;
-            if (nonBarrierMessages >= maxNonBarrierMessages) {
+            if (nonBarrierMessages >= barrierPolicy.getMessageLimit()) {
                 LOG.trace("Scheduled barrier request after {} non-barrier messages", nonBarrierMessages);
                 scheduleBarrierMessage();
             } else if (!barrierTimerEnabled) {
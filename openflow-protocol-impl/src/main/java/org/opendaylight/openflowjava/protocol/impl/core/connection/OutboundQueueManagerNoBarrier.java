@@ -10,6 +10,7 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import java.net.InetSocketAddress;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueSettings;
 
 /**
  *
@@ -18,8 +19,9 @@ import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandle
 public class OutboundQueueManagerNoBarrier<T extends OutboundQueueHandler> extends
         AbstractOutboundQueueManager<T, StackedOutboundQueueNoBarrier> {
 
-    OutboundQueueManagerNoBarrier(final ConnectionAdapterImpl parent, final InetSocketAddress address, final T handler) {
-        super(parent, address, handler);
+    OutboundQueueManagerNoBarrier(final ConnectionAdapterImpl parent, final InetSocketAddress address, final T handler,
+            final OutboundQueueSettings settings) {
+        super(parent, address, handler, settings);
     }
 
     @Override
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timer wheel tracking deadlines of requests written out by the outbound queue. Entries are
+ * written in XID order, hence their deadlines grow with XIDs and a slot only needs to remember the
+ * highest XID whose deadline falls into its tick. Expiring a slot then means timing out all entries
+ * up to that XID, so the wheel takes constant space regardless of the number of outstanding requests.
+ *
+ * <p>
+ * The wheel spans twice the timeout, so that expiry may fall behind by up to a timeout before slots
+ * collide. Should that happen anyway, the colliding slot keeps its earlier deadline and entries
+ * sharing it expire early.
+ *
+ * <p>
+ * This class is not thread-safe, it is expected to be accessed from Netty only.
+ */
+final class RequestTimeoutWheel {
+    /**
+     * Number of slots in the wheel.
+     */
+    static final int WHEEL_SLOTS = 64;
+
+    /**
+     * Lower bound on tick duration, so short timeouts do not keep the event loop busy.
+     */
+    static final long MIN_TICK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private static final long EMPTY = -1;
+
+    private final long timeoutNanos;
+    private final long tickNanos;
+    private final long[] slotXids = new long[WHEEL_SLOTS];
+    private final long[] slotTicks = new long[WHEEL_SLOTS];
+    private int pending;
+
+    RequestTimeoutWheel(final long timeoutNanos) {
+        Preconditions.checkArgument(timeoutNanos > 0, "Timeout %s has to be positive", timeoutNanos);
+        this.timeoutNanos = timeoutNanos;
+        this.tickNanos = Math.max(MIN_TICK_NANOS, timeoutNanos / (WHEEL_SLOTS / 2 - 1));
+        Arrays.fill(slotXids, EMPTY);
+    }
+
+    /**
+     * Record entries which have been written out.
+     *
+     * @param xid XID of the last entry written, XIDs are expected to grow
+     * @param now current time, in nanoseconds
+     */
+    void add(final long xid, final long now) {
+        // Round the deadline up to the next tick, so no entry expires early
+        final long tick = Math.floorDiv(now + timeoutNanos, tickNanos) + 1;
+        final int slot = (int) (tick & (WHEEL_SLOTS - 1));
+        if (slotXids[slot] == EMPTY) {
+            slotTicks[slot] = tick;
+            pending++;
+        }
+        slotXids[slot] = xid;
+    }
+
+    /**
+     * Expire all slots whose deadline has passed.
+     *
+     * @param now current time, in nanoseconds
+     * @return highest XID whose deadline has passed, or -1 if there is none
+     */
+    long expire(final long now) {
+        final long nowTick = Math.floorDiv(now, tickNanos);
+        long ret = EMPTY;
+        for (int i = 0; i < WHEEL_SLOTS && pending != 0; ++i) {
+            if (slotXids[i] != EMPTY && slotTicks[i] <= nowTick) {
+                ret = Math.max(ret, slotXids[i]);
+                slotXids[i] = EMPTY;
+                pending--;
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * @return true if there are no deadlines pending
+     */
+    boolean isEmpty() {
+        return pending == 0;
+    }
+
+    /**
+     * @return duration of a single tick, in nanoseconds
+     */
+    long getTickNanos() {
+        return tickNanos;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("timeoutNanos", timeoutNanos).add("tickNanos", tickNanos)
+                .add("pending", pending).toString();
+    }
+}
@@ -14,22 +14,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.common.base.Preconditions;
-import com.google.common.cache.Cache;
 
 final class ResponseExpectedRpcListener<T extends OfHeader> extends AbstractRpcListener<T> {
     private static final Logger LOG = LoggerFactory.getLogger(ResponseExpectedRpcListener.class);
-    private final Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache;
-    private final RpcResponseKey key;
+    private final RpcResponseTable table;
+    private final long xid;
+    private final Class<T> responseType;
 
-    ResponseExpectedRpcListener(final Object message, final String failureInfo,
-            final Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache, final RpcResponseKey key) {
+    ResponseExpectedRpcListener(final Object message, final String failureInfo, final RpcResponseTable table,
+            final long xid, final Class<T> responseType) {
         super(message, failureInfo);
-        this.cache = Preconditions.checkNotNull(cache);
-        this.key = Preconditions.checkNotNull(key);
+        this.table = Preconditions.checkNotNull(table);
+        this.xid = xid;
+        this.responseType = Preconditions.checkNotNull(responseType);
     }
 
     public void discard() {
-        LOG.warn("Request for {} did not receive a response", key);
+        LOG.warn("Request for XID {} type {} did not receive a response", xid, responseType.getName());
         failedRpc(new TimeoutException("Request timed out"));
     }
 
@@ -40,7 +41,7 @@ final class ResponseExpectedRpcListener<T extends OfHeader> extends AbstractRpcL
 
     @Override
     protected void operationSuccessful() {
-        LOG.debug("Request for {} sent successfully", key);
-        cache.put(key, this);
+        LOG.debug("Request for XID {} type {} sent successfully", xid, responseType.getName());
+        table.put(xid, responseType, this, System.nanoTime());
     }
 }
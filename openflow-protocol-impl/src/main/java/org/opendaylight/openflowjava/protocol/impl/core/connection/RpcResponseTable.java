@@ -0,0 +1,281 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listeners waiting for RPC responses, keyed by request XID and expected response type. Entries
+ * live in parallel arrays probed linearly from the hashed XID, response types are compared by
+ * identity, so matching a response does not allocate. Removal shifts following entries back,
+ * hence the table needs no tombstones.
+ *
+ * <p>
+ * Entries not answered within the timeout are discarded. Their deadlines are rounded up to ticks
+ * of a wheel, which counts pending deadlines per slot, so that expiry scans the table only when
+ * some deadline has actually passed. Like the cache this table replaces, expiry is driven by
+ * accesses to the table rather than by a timer.
+ *
+ * <p>
+ * The table is accessed from Netty, except for being cleared on disconnect, hence access is
+ * synchronized. Uncontended locking does not allocate.
+ */
+final class RpcResponseTable {
+    /**
+     * Time after which unanswered requests are discarded.
+     */
+    static final long DEFAULT_TIMEOUT_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    /**
+     * Number of slots in the expiry wheel.
+     */
+    static final int WHEEL_SLOTS = 64;
+
+    private static final Logger LOG = LoggerFactory.getLogger(RpcResponseTable.class);
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final long timeoutNanos;
+    private final long tickNanos;
+    private final int[] slotCounts = new int[WHEEL_SLOTS];
+
+    private long[] xids = new long[INITIAL_CAPACITY];
+    private long[] deadlineTicks = new long[INITIAL_CAPACITY];
+    private Class<?>[] types = new Class<?>[INITIAL_CAPACITY];
+    private ResponseExpectedRpcListener<?>[] listeners = new ResponseExpectedRpcListener<?>[INITIAL_CAPACITY];
+    private int size;
+    private long lastTick = Long.MIN_VALUE;
+
+    RpcResponseTable() {
+        this(DEFAULT_TIMEOUT_NANOS);
+    }
+
+    RpcResponseTable(final long timeoutNanos) {
+        Preconditions.checkArgument(timeoutNanos > 0, "Timeout %s has to be positive", timeoutNanos);
+        this.timeoutNanos = timeoutNanos;
+        this.tickNanos = Math.max(1, timeoutNanos / (WHEEL_SLOTS / 2 - 1));
+    }
+
+    /**
+     * Register a listener waiting for a response. A listener already waiting for the same
+     * response is replaced and discarded.
+     *
+     * @param xid XID of the request
+     * @param type expected response type
+     * @param listener listener to notify
+     * @param now current time, in nanoseconds
+     */
+    void put(final long xid, final Class<?> type, final ResponseExpectedRpcListener<?> listener, final long now) {
+        Preconditions.checkNotNull(type);
+        Preconditions.checkNotNull(listener);
+
+        final List<ResponseExpectedRpcListener<?>> expired;
+        final ResponseExpectedRpcListener<?> replaced;
+        synchronized (this) {
+            expired = expire(now);
+
+            int index = indexOf(xid, type);
+            if (index < 0) {
+                if (size * 2 >= listeners.length) {
+                    grow();
+                }
+                index = ~indexOf(xid, type);
+                xids[index] = xid;
+                types[index] = type;
+                size++;
+                replaced = null;
+            } else {
+                replaced = listeners[index];
+                LOG.debug("Replacing listener {} for XID {}", replaced, xid);
+                slotCounts[slot(deadlineTicks[index])]--;
+            }
+
+            // Round the deadline up to the next tick, so no entry expires early
+            final long tick = Math.floorDiv(now + timeoutNanos, tickNanos) + 1;
+            listeners[index] = listener;
+            deadlineTicks[index] = tick;
+            slotCounts[slot(tick)]++;
+        }
+
+        discard(expired);
+        if (replaced != null) {
+            replaced.discard();
+        }
+    }
+
+    /**
+     * Remove the listener waiting for a response.
+     *
+     * @param xid XID of the response
+     * @param type response type
+     * @param now current time, in nanoseconds
+     * @return listener waiting for the response, or null if there is none
+     */
+    ResponseExpectedRpcListener<?> remove(final long xid, final Class<?> type, final long now) {
+        final List<ResponseExpectedRpcListener<?>> expired;
+        final ResponseExpectedRpcListener<?> ret;
+        synchronized (this) {
+            expired = expire(now);
+
+            final int index = indexOf(xid, type);
+            if (index >= 0) {
+                ret = listeners[index];
+                removeAt(index);
+            } else {
+                ret = null;
+            }
+        }
+
+        discard(expired);
+        return ret;
+    }
+
+    /**
+     * Drop all listeners without notifying them.
+     */
+    synchronized void clear() {
+        Arrays.fill(types, null);
+        Arrays.fill(listeners, null);
+        Arrays.fill(slotCounts, 0);
+        size = 0;
+    }
+
+    /**
+     * @return number of listeners waiting for a response
+     */
+    synchronized int size() {
+        return size;
+    }
+
+    /**
+     * @return listeners whose deadline has passed, removed from the table, or null if there are none
+     */
+    private List<ResponseExpectedRpcListener<?>> expire(final long now) {
+        final long nowTick = Math.floorDiv(now, tickNanos);
+        if (nowTick <= lastTick) {
+            return null;
+        }
+
+        // Only scan the table if any of the slots we have passed has a deadline pending
+        boolean due = false;
+        final long fromTick = lastTick == Long.MIN_VALUE ? nowTick : Math.max(lastTick + 1, nowTick - WHEEL_SLOTS + 1);
+        for (long tick = fromTick; tick <= nowTick && !due; ++tick) {
+            due = slotCounts[slot(tick)] != 0;
+        }
+        lastTick = nowTick;
+        if (!due) {
+            return null;
+        }
+
+        List<ResponseExpectedRpcListener<?>> ret = null;
+        int index = 0;
+        while (index < listeners.length) {
+            if (listeners[index] != null && deadlineTicks[index] <= nowTick) {
+                if (ret == null) {
+                    ret = new ArrayList<>();
+                }
+                ret.add(listeners[index]);
+                // Shifting may move a not yet examined entry into this index, so look at it again
+                removeAt(index);
+            } else {
+                index++;
+            }
+        }
+        return ret;
+    }
+
+    private static void discard(final List<ResponseExpectedRpcListener<?>> expired) {
+        if (expired != null) {
+            for (ResponseExpectedRpcListener<?> listener : expired) {
+                listener.discard();
+            }
+        }
+    }
+
+    /**
+     * @return index of the entry, or one's complement of the index where it would be inserted
+     */
+    private int indexOf(final long xid, final Class<?> type) {
+        final int mask = listeners.length - 1;
+        int index = hash(xid) & mask;
+        while (listeners[index] != null) {
+            if (xids[index] == xid && types[index] == type) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return ~index;
+    }
+
+    private void removeAt(final int index) {
+        slotCounts[slot(deadlineTicks[index])]--;
+        size--;
+
+        // Shift back entries which would not be found once this one is gone
+        final int mask = listeners.length - 1;
+        int hole = index;
+        int next = (hole + 1) & mask;
+        while (listeners[next] != null) {
+            final int home = hash(xids[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                xids[hole] = xids[next];
+                types[hole] = types[next];
+                listeners[hole] = listeners[next];
+                deadlineTicks[hole] = deadlineTicks[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+
+        types[hole] = null;
+        listeners[hole] = null;
+    }
+
+    private void grow() {
+        final long[] oldXids = xids;
+        final long[] oldTicks = deadlineTicks;
+        final Class<?>[] oldTypes = types;
+        final ResponseExpectedRpcListener<?>[] oldListeners = listeners;
+
+        final int capacity = oldListeners.length * 2;
+        xids = new long[capacity];
+        deadlineTicks = new long[capacity];
+        types = new Class<?>[capacity];
+        listeners = new ResponseExpectedRpcListener<?>[capacity];
+
+        for (int i = 0; i < oldListeners.length; ++i) {
+            if (oldListeners[i] != null) {
+                final int index = ~indexOf(oldXids[i], oldTypes[i]);
+                xids[index] = oldXids[i];
+                deadlineTicks[index] = oldTicks[i];
+                types[index] = oldTypes[i];
+                listeners[index] = oldListeners[i];
+            }
+        }
+    }
+
+    private static int hash(final long xid) {
+        // Fibonacci hashing spreads sequential XIDs across the table
+        return (int) ((xid * 0x9E3779B97F4A7C15L) >>> 32);
+    }
+
+    private static int slot(final long tick) {
+        return (int) (tick & (WHEEL_SLOTS - 1));
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this).add("timeoutNanos", timeoutNanos).add("size", size).toString();
+    }
+}
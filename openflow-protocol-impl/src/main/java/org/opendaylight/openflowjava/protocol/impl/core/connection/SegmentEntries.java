@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2015 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.util.ReferenceCountUtil;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Storage of outbound queue entries laid out as parallel arrays, indexed by entry
+ * offset. Compared to an object per entry this keeps a segment down to a handful
+ * of arrays, which are cheap to trace by GC and can be pooled as a whole.
+ *
+ * <p>
+ * The committed state is kept in a bitmap. It is set by committing threads and read
+ * by Netty, publishing all the other fields of an entry. Everything else is written
+ * either before the commit, or from Netty.
+ */
+final class SegmentEntries {
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentEntries.class);
+    public static final Function<OfHeader, Boolean> DEFAULT_IS_COMPLETE = new Function<OfHeader, Boolean>() {
+
+        @Override
+        public Boolean apply(final OfHeader message) {
+            if (message instanceof MultipartReplyMessage) {
+                return !((MultipartReplyMessage) message).getFlags().isOFPMPFREQMORE();
+            }
+
+            return true;
+        }
+
+    };
+
+    private static final byte FLAG_COMPLETED = 1;
+    private static final byte FLAG_BARRIER = 2;
+
+    private final OfHeader[] messages;
+    private final FutureCallback<OfHeader>[] callbacks;
+    private final Function<OfHeader, Boolean>[] completeFunctions;
+    private final byte[] flags;
+    private final AtomicLongArray committed;
+
+    // Allocated on first failure, as those are rare
+    private OutboundQueueException[] failures;
+
+    @SuppressWarnings("unchecked")
+    SegmentEntries(final int size) {
+        Preconditions.checkArgument(size > 0, "Size %s has to be positive", size);
+        messages = new OfHeader[size];
+        callbacks = new FutureCallback[size];
+        completeFunctions = new Function[size];
+        flags = new byte[size];
+        committed = new AtomicLongArray((size + Long.SIZE - 1) / Long.SIZE);
+    }
+
+    int size() {
+        return messages.length;
+    }
+
+    void commit(final int offset, final OfHeader message, final FutureCallback<OfHeader> callback) {
+        commit(offset, message, callback, DEFAULT_IS_COMPLETE);
+    }
+
+    void commit(final int offset, final OfHeader message, final FutureCallback<OfHeader> callback,
+            final Function<OfHeader, Boolean> isCompletedFunction) {
+        if (isCompleted(offset)) {
+            LOG.warn("Can't commit a completed message.");
+            // The message is not going to be sent, make sure retained payloads get back to the pool
+            ReferenceCountUtil.release(message);
+            if (callback != null) {
+                callback.onFailure(failures == null ? null : failures[offset]);
+            }
+        } else {
+            messages[offset] = message;
+            callbacks[offset] = callback;
+            flags[offset] = message instanceof BarrierInput ? FLAG_BARRIER : 0;
+            completeFunctions[offset] = isCompletedFunction;
+
+            // Atomic update, needs to be last
+            setCommitted(offset);
+        }
+    }
+
+    /**
+     * Release payloads retained by messages which have not been written out. These are not going
+     * to be sent anymore.
+     */
+    void releaseMessages() {
+        for (int i = 0; i < messages.length; ++i) {
+            if (messages[i] != null) {
+                ReferenceCountUtil.release(messages[i]);
+                messages[i] = null;
+            }
+        }
+    }
+
+    /**
+     * Reset all entries, so the storage can be reused.
+     */
+    void reset() {
+        releaseMessages();
+        Arrays.fill(callbacks, null);
+        Arrays.fill(completeFunctions, null);
+        Arrays.fill(flags, (byte) 0);
+        failures = null;
+
+        for (int i = 0; i < committed.length(); ++i) {
+            committed.set(i, 0);
+        }
+    }
+
+    boolean isBarrier(final int offset) {
+        return (flags[offset] & FLAG_BARRIER) != 0;
+    }
+
+    boolean isCommitted(final int offset) {
+        return (committed.get(offset >>> 6) & (1L << offset)) != 0;
+    }
+
+    boolean isCompleted(final int offset) {
+        return (flags[offset] & FLAG_COMPLETED) != 0;
+    }
+
+    OfHeader takeMessage(final int offset) {
+        final OfHeader ret = messages[offset];
+        if (!isBarrier(offset)) {
+            checkCompletionNeed(offset);
+        }
+        messages[offset] = null;
+        return ret;
+    }
+
+    private void checkCompletionNeed(final int offset) {
+        final FutureCallback<OfHeader> callback = callbacks[offset];
+        if (callback == null || (messages[offset] instanceof PacketOutInput)) {
+            flags[offset] |= FLAG_COMPLETED;
+            if (callback != null) {
+                callback.onSuccess(null);
+                callbacks[offset] = null;
+            }
+            clearCommitted(offset);
+        }
+    }
+
+    boolean complete(final int offset, final OfHeader response) {
+        Preconditions.checkState(!isCompleted(offset), "Attempted to complete a completed message with response %s",
+            response);
+
+        // Multipart requests are special, we have to look at them to see
+        // if there is something outstanding and adjust ourselves accordingly
+        final Function<OfHeader, Boolean> isCompletedFunction = completeFunctions[offset];
+        final boolean reallyComplete = (isCompletedFunction != null ? isCompletedFunction : DEFAULT_IS_COMPLETE)
+                .apply(response);
+
+        if (reallyComplete) {
+            flags[offset] |= FLAG_COMPLETED;
+        }
+
+        final FutureCallback<OfHeader> callback = callbacks[offset];
+        if (callback != null) {
+            callback.onSuccess(response);
+            if (reallyComplete) {
+                // We will not need the callback anymore, make sure it can be GC'd
+                callbacks[offset] = null;
+            }
+        }
+        LOG.debug("Entry {} completed {} with response {}", offset, reallyComplete, response);
+        return reallyComplete;
+    }
+
+    void fail(final int offset, final OutboundQueueException cause) {
+        if (!isCompleted(offset)) {
+            if (failures == null) {
+                failures = new OutboundQueueException[messages.length];
+            }
+            failures[offset] = cause;
+            flags[offset] |= FLAG_COMPLETED;
+
+            final FutureCallback<OfHeader> callback = callbacks[offset];
+            if (callback != null) {
+                callback.onFailure(cause);
+                callbacks[offset] = null;
+            }
+        } else {
+            LOG.warn("Ignoring failure {} for completed message", cause);
+        }
+    }
+
+    @VisibleForTesting
+    /** This method is only for testing to prove that after queue entry is completed there is not callback future */
+    boolean hasCallback(final int offset) {
+        return callbacks[offset] != null;
+    }
+
+    /*
+     * Committed bits of neighbouring entries share a word and may be updated concurrently
+     * by multiple committing threads, hence these need to be CAS loops.
+     */
+    private void setCommitted(final int offset) {
+        final int word = offset >>> 6;
+        final long mask = 1L << offset;
+        for (;;) {
+            final long value = committed.get(word);
+            if (committed.compareAndSet(word, value, value | mask)) {
+                return;
+            }
+        }
+    }
+
+    private void clearCommitted(final int offset) {
+        final int word = offset >>> 6;
+        final long mask = ~(1L << offset);
+        for (;;) {
+            final long value = committed.get(word);
+            if (committed.compareAndSet(word, value, value & mask)) {
+                return;
+            }
+        }
+    }
+}
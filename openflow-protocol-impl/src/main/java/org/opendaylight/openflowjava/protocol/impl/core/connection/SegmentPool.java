@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import io.netty.util.concurrent.EventExecutor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded pool of {@link SegmentEntries}. There is one pool per event loop and segment size,
+ * shared by all queues of channels registered with it, so the number of retained storages
+ * depends only on the number of event loops and segment sizes in use, not on the number of
+ * connected switches or GC pressure.
+ *
+ * <p>
+ * Storages are released from the event loop, but they may be acquired by any thread
+ * reserving queue entries. Idle storages are kept in a small array of slots, which are
+ * claimed and filled atomically, so that the pool never blocks the queue.
+ */
+final class SegmentPool {
+    /**
+     * Maximum number of idle storages kept by a single pool.
+     */
+    static final int DEFAULT_CAPACITY = 16;
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentPool.class);
+    private static final LoadingCache<EventExecutor, ConcurrentMap<Integer, SegmentPool>> POOLS =
+            CacheBuilder.newBuilder().weakKeys().build(new CacheLoader<EventExecutor, ConcurrentMap<Integer, SegmentPool>>() {
+                @Override
+                public ConcurrentMap<Integer, SegmentPool> load(final EventExecutor key) {
+                    return new ConcurrentHashMap<>(2);
+                }
+            });
+
+    private final AtomicReferenceArray<SegmentEntries> idle;
+    private final int segmentSize;
+
+    SegmentPool(final int capacity, final int segmentSize) {
+        Preconditions.checkArgument(capacity >= 0, "Capacity %s has to be non-negative", capacity);
+        Preconditions.checkArgument(segmentSize > 0, "Segment size %s has to be positive", segmentSize);
+        this.segmentSize = segmentSize;
+        this.idle = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * @param executor event loop
+     * @param segmentSize number of entries in a single segment
+     * @return pool shared by all channels registered with the event loop using the same segment size
+     */
+    static SegmentPool forExecutor(final EventExecutor executor, final int segmentSize) {
+        return POOLS.getUnchecked(executor).computeIfAbsent(segmentSize,
+            size -> new SegmentPool(DEFAULT_CAPACITY, size));
+    }
+
+    /**
+     * Take an idle storage, or allocate a new one if there is none.
+     *
+     * @return storage with all entries reset
+     */
+    SegmentEntries acquire() {
+        for (int i = 0; i < idle.length(); ++i) {
+            if (idle.get(i) != null) {
+                final SegmentEntries ret = idle.getAndSet(i, null);
+                if (ret != null) {
+                    LOG.trace("Reusing storage {}", ret);
+                    return ret;
+                }
+            }
+        }
+
+        return new SegmentEntries(segmentSize);
+    }
+
+    /**
+     * Return a storage into the pool. It is discarded if the pool is full.
+     *
+     * @param entries storage no longer referenced by any segment
+     */
+    void release(final SegmentEntries entries) {
+        entries.reset();
+        for (int i = 0; i < idle.length(); ++i) {
+            if (idle.get(i) == null && idle.compareAndSet(i, null, entries)) {
+                return;
+            }
+        }
+
+        LOG.trace("Pool {} is full, discarding storage {}", this, entries);
+    }
+
+    int getSegmentSize() {
+        return segmentSize;
+    }
+
+    @Override
+    public String toString() {
+        int count = 0;
+        for (int i = 0; i < idle.length(); ++i) {
+            if (idle.get(i) != null) {
+                count++;
+            }
+        }
+
+        return MoreObjects.toStringHelper(this).add("capacity", idle.length()).add("segmentSize", segmentSize)
+                .add("idle", count).toString();
+    }
+}
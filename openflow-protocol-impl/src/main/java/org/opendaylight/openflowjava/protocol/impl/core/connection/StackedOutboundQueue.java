@@ -31,12 +31,10 @@ final class StackedOutboundQueue extends AbstractStackedOutboundQueue {
      * This method is expected to be called from multiple threads concurrently
      */
     @Override
-    public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback,
-            final Function<OfHeader, Boolean> isCompletedFunction) {
-        final OutboundQueueEntry entry = getEntry(xid);
-
-        entry.commit(message, callback, isCompletedFunction);
-        if (entry.isBarrier()) {
+    void commitReserved(final StackedSegment segment, final int offset, final long xid, final OfHeader message,
+            final FutureCallback<OfHeader> callback, final Function<OfHeader, Boolean> isCompletedFunction) {
+        segment.commit(offset, message, callback, isCompletedFunction);
+        if (segment.isBarrier(offset)) {
             long my = xid;
             for (;;) {
                 final long prev = BARRIER_XID_UPDATER.getAndSet(this, my);
@@ -50,9 +48,6 @@ final class StackedOutboundQueue extends AbstractStackedOutboundQueue {
                 my = prev;
             }
         }
-
-        LOG.trace("Queue {} committed XID {}", this, xid);
-        manager.ensureFlushing();
     }
 
     Long reserveBarrierIfNeeded() {
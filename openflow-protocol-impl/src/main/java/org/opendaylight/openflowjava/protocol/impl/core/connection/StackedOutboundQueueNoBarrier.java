@@ -39,19 +39,16 @@ public class StackedOutboundQueueNoBarrier extends AbstractStackedOutboundQueue
      * This method is expected to be called from multiple threads concurrently
      */
     @Override
-    public void commitEntry(final Long xid, final OfHeader message, final FutureCallback<OfHeader> callback,
-            final Function<OfHeader, Boolean> isCompletedFunction) {
-        final OutboundQueueEntry entry = getEntry(xid);
-
+    void commitReserved(final StackedSegment segment, final int offset, final long xid, final OfHeader message,
+            final FutureCallback<OfHeader> callback, final Function<OfHeader, Boolean> isCompletedFunction) {
         if (message instanceof FlowModInput) {
-            callback.onSuccess(null);
-            entry.commit(message, null, isCompletedFunction);
+            if (callback != null) {
+                callback.onSuccess(null);
+            }
+            segment.commit(offset, message, null, isCompletedFunction);
         } else {
-            entry.commit(message, callback, isCompletedFunction);
+            segment.commit(offset, message, callback, isCompletedFunction);
         }
-
-        LOG.trace("Queue {} committed XID {}", this, xid);
-        manager.ensureFlushing();
     }
 
     @Override
@@ -61,59 +58,29 @@ public class StackedOutboundQueueNoBarrier extends AbstractStackedOutboundQueue
         int entries = 0;
 
         while (channel.isWritable()) {
-            final OutboundQueueEntry entry = segment.getEntry(flushOffset);
-            if (!entry.isCommitted()) {
+            if (!segment.isCommitted(flushOffset)) {
                 LOG.debug("Queue {} XID {} segment {} offset {} not committed yet", this, segment.getBaseXid()
                         + flushOffset, segment, flushOffset);
                 break;
             }
 
             LOG.trace("Queue {} flushing entry at offset {}", this, flushOffset);
-            final OfHeader message = entry.takeMessage();
-            flushOffset++;
+            final OfHeader message = segment.takeMessage(flushOffset);
+            final int offset = flushOffset++;
             entries++;
 
             if (message != null) {
                 manager.writeMessage(message, now);
             } else {
-                entry.complete(null);
+                segment.complete(offset, null);
             }
 
-            if (flushOffset >= StackedSegment.SEGMENT_SIZE) {
-                /*
-                 * Slow path: purge the current segment unless it's the last one.
-                 * If it is, we leave it for replacement when a new reservation
-                 * is run on it.
-                 * This costs us two slow paths, but hey, this should be very rare,
-                 * so let's keep things simple.
-                 */
-                synchronized (unflushedSegments) {
-                    LOG.debug("Flush offset {} unflushed segments {}", flushOffset, unflushedSegments.size());
-
-                    // We may have raced ahead of reservation code and need to allocate a segment
-                    ensureSegment(segment, flushOffset);
-
-                    // Remove the segment, update the firstSegment and reset flushOffset
-                    final StackedSegment oldSegment = unflushedSegments.remove(0);
-                    oldSegment.completeAll();
-                    uncompletedSegments.remove(oldSegment);
-                    oldSegment.recycle();
-
-                    // Reset the first segment and add it to the uncompleted list
-                    segment = unflushedSegments.get(0);
-                    uncompletedSegments.add(segment);
-
-                    // Update the shutdown offset
-                    if (shutdownOffset != null) {
-                        shutdownOffset -= StackedSegment.SEGMENT_SIZE;
-                    }
-
-                    // Allow reservations back on the fast path by publishing the new first segment
-                    firstSegment = segment;
-
-                    flushOffset = 0;
-                    LOG.debug("Queue {} flush moved to segment {}", this, segment);
-                }
+            if (flushOffset >= segmentSize) {
+                // Slow path: purge the current segment, there are no barriers to complete it
+                segment.completeAll();
+                uncompletedSegments.remove(segment);
+                segment.recycle();
+                segment = moveToNextSegment(segment);
             }
         }
 
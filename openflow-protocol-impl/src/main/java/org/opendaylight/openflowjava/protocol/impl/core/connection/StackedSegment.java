@@ -7,13 +7,12 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
-import com.google.common.base.FinalizableReferenceQueue;
-import com.google.common.base.FinalizableSoftReference;
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Verify;
-import java.lang.ref.Reference;
-import java.util.concurrent.ConcurrentLinkedDeque;
+import com.google.common.util.concurrent.FutureCallback;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Function;
 import org.opendaylight.openflowjava.protocol.api.connection.DeviceRequestFailedException;
 import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.Error;
@@ -22,63 +21,40 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 final class StackedSegment {
-    private static final class QueueRef extends FinalizableSoftReference<OutboundQueueEntry[]> {
-        QueueRef(final FinalizableReferenceQueue queue, final OutboundQueueEntry[] referent) {
-            super(referent, queue);
-        }
-
-        @Override
-        public void finalizeReferent() {
-            CACHE.remove(this);
-        }
-    }
-
     /**
-     * Size of each individual segment
+     * XIDs are 32 bits on the wire, responses need to be matched modulo that
      */
-    static final int SEGMENT_SIZE = 4096;
+    static final long XID_MASK = 0xFFFFFFFFL;
 
     private static final Logger LOG = LoggerFactory.getLogger(StackedSegment.class);
-    private static final FinalizableReferenceQueue REF_QUEUE = new FinalizableReferenceQueue();
-    private static final ConcurrentLinkedDeque<QueueRef> CACHE = new ConcurrentLinkedDeque<>();
+    private static final AtomicReferenceFieldUpdater<StackedSegment, StackedSegment> NEXT_UPDATER =
+            AtomicReferenceFieldUpdater.newUpdater(StackedSegment.class, StackedSegment.class, "next");
 
-    private final OutboundQueueEntry[] entries;
+    private final SegmentEntries entries;
+    private final SegmentPool pool;
     private final long baseXid;
     private final long endXid;
 
+    // Linked once by whichever thread needs it first, never changes afterwards
+    private volatile StackedSegment next;
+
     // Updated from netty only
     private int lastBarrierOffset = -1;
+    private int expiredOffset = -1;
     private int completeCount;
+    private int writtenCount;
+    private boolean recycled;
 
-    StackedSegment(final long baseXid, final OutboundQueueEntry[] entries) {
+    StackedSegment(final long baseXid, final SegmentEntries entries, final SegmentPool pool) {
         this.baseXid = baseXid;
-        this.endXid = baseXid + SEGMENT_SIZE;
         this.entries = Preconditions.checkNotNull(entries);
+        this.endXid = baseXid + entries.size();
+        this.pool = Preconditions.checkNotNull(pool);
     }
 
-    static StackedSegment create(final long baseXid) {
-        final StackedSegment ret;
-        for (;;) {
-            final Reference<OutboundQueueEntry[]> item = CACHE.pollLast();
-            if (item == null) {
-                break;
-            }
-
-            final OutboundQueueEntry[] cached = item.get();
-            if (cached != null) {
-                ret = new StackedSegment(baseXid, cached);
-                LOG.trace("Reusing array {} in segment {}", cached, ret);
-                return ret;
-            }
-        }
-
-        final OutboundQueueEntry[] entries = new OutboundQueueEntry[SEGMENT_SIZE];
-        for (int i = 0; i < SEGMENT_SIZE; ++i) {
-            entries[i] = new OutboundQueueEntry();
-        }
-
-        ret = new StackedSegment(baseXid, entries);
-        LOG.trace("Allocated new segment {}", ret);
+    static StackedSegment create(final long baseXid, final SegmentPool pool) {
+        final StackedSegment ret = new StackedSegment(baseXid, pool.acquire(), pool);
+        LOG.trace("Created segment {}", ret);
         return ret;
     }
 
@@ -95,49 +71,113 @@ final class StackedSegment {
         return endXid;
     }
 
-    OutboundQueueEntry getEntry(final int offset) {
-        return entries[offset];
+    int getSize() {
+        return entries.size();
+    }
+
+    int getCompleteCount() {
+        return completeCount;
+    }
+
+    /**
+     * @return Number of entries written out and waiting for a response. Entries failed before
+     *         being written out on shutdown may make this an underestimate.
+     */
+    int getOutstandingCount() {
+        return Math.max(0, writtenCount - completeCount);
+    }
+
+    /**
+     * @return Segment following this one, or null if it has not been linked yet
+     */
+    StackedSegment getNext() {
+        return next;
+    }
+
+    /**
+     * Return the segment following this one, linking a new one if needed. This method is expected
+     * to be called from multiple threads concurrently, only one of them succeeds in linking its segment.
+     *
+     * @return Segment following this one
+     */
+    StackedSegment ensureNext() {
+        final StackedSegment existing = next;
+        if (existing != null) {
+            return existing;
+        }
+
+        final StackedSegment created = create(endXid, pool);
+        if (NEXT_UPDATER.compareAndSet(this, null, created)) {
+            return created;
+        }
+
+        // Lost the race, give back the storage we have acquired
+        LOG.trace("Segment {} already has a successor, discarding {}", this, created);
+        created.recycle();
+        return next;
     }
 
-    private boolean xidInRange(final long xid) {
-        return xid < endXid && (xid >= baseXid || baseXid > endXid);
+    void commit(final int offset, final OfHeader message, final FutureCallback<OfHeader> callback,
+            final Function<OfHeader, Boolean> isCompletedFunction) {
+        entries.commit(offset, message, callback, isCompletedFunction);
     }
 
-    private static boolean completeEntry(final OutboundQueueEntry entry, final OfHeader response) {
+    boolean isCommitted(final int offset) {
+        return entries.isCommitted(offset);
+    }
+
+    boolean isBarrier(final int offset) {
+        return entries.isBarrier(offset);
+    }
+
+    OfHeader takeMessage(final int offset) {
+        // Entries may have been failed before being written out, those have been counted already
+        final boolean wasCompleted = entries.isCompleted(offset);
+        final OfHeader ret = entries.takeMessage(offset);
+        writtenCount++;
+        // Entries which do not expect a response are completed as soon as they are written out
+        if (!wasCompleted && entries.isCompleted(offset)) {
+            completeCount++;
+        }
+        return ret;
+    }
+
+    void complete(final int offset, final OfHeader response) {
+        entries.complete(offset, response);
+    }
+
+    private boolean completeEntry(final int offset, final OfHeader response) {
         if (response instanceof Error) {
             final Error err = (Error)response;
             LOG.debug("Device-reported request XID {} failed {}:{}", response.getXid(), err.getTypeString(), err.getCodeString());
-            entry.fail(new DeviceRequestFailedException("Device-side failure", err));
+            entries.fail(offset, new DeviceRequestFailedException("Device-side failure", err));
             return true;
         }
-        return entry.complete(response);
-    }
-
-    OutboundQueueEntry findEntry(final long xid) {
-        if (! xidInRange(xid)) {
-            LOG.debug("Queue {} {}/{} ignoring XID {}", this, baseXid, entries.length, xid);
-            return null;
-        }
-        final int offset = (int)(xid - baseXid);
-        return entries[offset];
+        return entries.complete(offset, response);
     }
 
-    OutboundQueueEntry pairRequest(final OfHeader response) {
-        // Explicitly 'long' to force unboxing before performing operations
+    /**
+     * @param response Response received from the device
+     * @return Offset of the entry the response has been paired with, or -1 if it does not
+     *         belong to this segment
+     */
+    int pairRequest(final OfHeader response) {
+        // Explicitly 'long' to force unboxing before performing operations. Response carries only
+        // the low 32 bits of the XID, so compute the distance modulo that to survive wraparound.
         final long xid = response.getXid();
-        if (!xidInRange(xid)) {
-            LOG.debug("Queue {} {}/{} ignoring XID {}", this, baseXid, entries.length, xid);
-            return null;
+        final long distance = (xid - baseXid) & XID_MASK;
+        if (distance >= entries.size()) {
+            LOG.debug("Queue {} {}/{} ignoring XID {}", this, baseXid, entries.size(), xid);
+            return -1;
         }
 
-        final int offset = (int) (xid - baseXid);
-        final OutboundQueueEntry entry = entries[offset];
-        if (entry.isCompleted()) {
-            LOG.debug("Entry {} already is completed, not accepting response {}", entry, response);
-            return null;
+        final int offset = (int) distance;
+        if (entries.isCompleted(offset)) {
+            LOG.debug("Entry {} already is completed, not accepting response {}", offset, response);
+            return -1;
         }
 
-        if (entry.isBarrier()) {
+        if (entries.isBarrier(offset)) {
             // This has been a barrier -- make sure we complete all preceding requests.
             // XXX: Barriers are expected to complete in one message.
             //      If this assumption is changed, this logic will need to be expanded
@@ -147,39 +187,37 @@ final class StackedSegment {
             completeRequests(offset);
             lastBarrierOffset = offset;
 
-            final boolean success = completeEntry(entry, response);
+            final boolean success = completeEntry(offset, response);
             Verify.verify(success, "Barrier request failed to complete");
             completeCount++;
-        } else if (completeEntry(entry, response)) {
+        } else if (completeEntry(offset, response)) {
             completeCount++;
         }
 
-        return entry;
+        return offset;
     }
 
     private void completeRequests(final int toOffset) {
         for (int i = lastBarrierOffset + 1; i < toOffset; ++i) {
-            final OutboundQueueEntry entry = entries[i];
-            if (!entry.isCompleted() && entry.complete(null)) {
+            if (!entries.isCompleted(i) && entries.complete(i, null)) {
                 completeCount++;
             }
         }
     }
 
     void completeAll() {
-        completeRequests(entries.length);
+        completeRequests(entries.size());
     }
 
     int failAll(final OutboundQueueException cause) {
         int ret = 0;
-        for (int i = lastBarrierOffset + 1; i < entries.length; ++i) {
-            final OutboundQueueEntry entry = entries[i];
-            if (!entry.isCommitted()) {
+        for (int i = lastBarrierOffset + 1; i < entries.size(); ++i) {
+            if (!entries.isCommitted(i)) {
                 break;
             }
 
-            if (!entry.isCompleted()) {
-                entry.fail(cause);
+            if (!entries.isCompleted(i)) {
+                entries.fail(i, cause);
                 completeCount++;
                 ret++;
             }
@@ -188,15 +226,45 @@ final class StackedSegment {
         return ret;
     }
 
+    /**
+     * Fail entries which have timed out.
+     *
+     * @param toOffset Offset of the last timed out entry, all entries up to it have to be written out
+     * @param cause Failure cause
+     * @return Number of failed entries
+     */
+    int failExpired(final int toOffset, final OutboundQueueException cause) {
+        int ret = 0;
+        for (int i = Math.max(lastBarrierOffset, expiredOffset) + 1; i <= toOffset; ++i) {
+            if (!entries.isCompleted(i)) {
+                entries.fail(i, cause);
+                completeCount++;
+                ret++;
+            }
+        }
+
+        expiredOffset = Math.max(expiredOffset, toOffset);
+        return ret;
+    }
+
     boolean isComplete() {
-        return completeCount >= entries.length;
+        return completeCount >= entries.size();
+    }
+
+    /**
+     * Release payloads of entries which are not going to be written out.
+     */
+    void releaseMessages() {
+        entries.releaseMessages();
     }
 
     void recycle() {
-        for (final OutboundQueueEntry e : entries) {
-            e.reset();
+        if (recycled) {
+            LOG.warn("Segment {} has already been recycled", this);
+            return;
         }
 
-        CACHE.offer(new QueueRef(REF_QUEUE, entries));
+        recycled = true;
+        pool.release(entries);
     }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Verify;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Segments which have been flushed, but not completed yet. Segments are added in XID order, each one
+ * following the previous one, and are kept in a ring of slots indexed by their distance from the oldest
+ * segment. Pairing a response with its segment is therefore a matter of XID arithmetic, regardless of
+ * how many segments are outstanding. Removed segments leave an empty slot behind, until all slots
+ * preceding them are empty as well.
+ *
+ * <p>
+ * Responses carry only the low 32 bits of the XID, hence lookups compute the distance modulo 2^32,
+ * which keeps pairing correct once XIDs on the wire wrap around.
+ *
+ * <p>
+ * This class is not thread-safe, it is accessed from Netty only.
+ */
+final class UncompletedSegments {
+    private static final int INITIAL_CAPACITY = 4;
+
+    private final int segmentSize;
+    private StackedSegment[] slots = new StackedSegment[INITIAL_CAPACITY];
+
+    // Slot of the oldest segment and its base XID
+    private int head;
+    private long baseXid;
+
+    // Number of slots in use, including empty ones, and number of segments
+    private int count;
+    private int size;
+
+    UncompletedSegments(final int segmentSize) {
+        Preconditions.checkArgument(segmentSize > 0, "Segment size %s has to be positive", segmentSize);
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * @param segment Segment following the last one added
+     */
+    void add(final StackedSegment segment) {
+        if (count == 0) {
+            baseXid = segment.getBaseXid();
+        } else {
+            Verify.verify(segment.getBaseXid() == baseXid + (long) count * segmentSize,
+                "Segment %s does not follow %s", segment, this);
+        }
+        if (count == slots.length) {
+            grow();
+        }
+
+        slots[slot(count)] = segment;
+        count++;
+        size++;
+    }
+
+    /**
+     * @param segment Segment to remove
+     * @return false if the segment was not present
+     */
+    boolean remove(final StackedSegment segment) {
+        final long index = (segment.getBaseXid() - baseXid) / segmentSize;
+        if (size == 0 || index < 0 || index >= count || slots[slot((int) index)] != segment) {
+            return false;
+        }
+
+        slots[slot((int) index)] = null;
+        size--;
+
+        // Trim empty slots at head, so the oldest segment is always at head
+        while (count != 0 && slots[head] == null) {
+            head = slot(1);
+            baseXid += segmentSize;
+            count--;
+        }
+        return true;
+    }
+
+    /**
+     * Find the segment which may hold the request a response belongs to.
+     *
+     * @param xid XID of the response, as received from the device
+     * @return Segment covering the XID, or null if there is none
+     */
+    StackedSegment find(final long xid) {
+        if (count == 0) {
+            return null;
+        }
+
+        final long index = ((xid - baseXid) & StackedSegment.XID_MASK) / segmentSize;
+        return index < count ? slots[slot((int) index)] : null;
+    }
+
+    /**
+     * @return Oldest segment, or null if there is none
+     */
+    StackedSegment first() {
+        return count == 0 ? null : slots[head];
+    }
+
+    /**
+     * @return Number of segments
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * @return Number of entries written out and waiting for a response in all segments
+     */
+    long getOutstandingCount() {
+        long ret = 0;
+        for (int i = 0; i < count; ++i) {
+            final StackedSegment segment = slots[slot(i)];
+            if (segment != null) {
+                ret += segment.getOutstandingCount();
+            }
+        }
+        return ret;
+    }
+
+    /**
+     * @return Copy of all segments, oldest first
+     */
+    List<StackedSegment> snapshot() {
+        final List<StackedSegment> ret = new ArrayList<>(size);
+        for (int i = 0; i < count; ++i) {
+            final StackedSegment segment = slots[slot(i)];
+            if (segment != null) {
+                ret.add(segment);
+            }
+        }
+        return ret;
+    }
+
+    private int slot(final int index) {
+        return (head + index) & (slots.length - 1);
+    }
+
+    private void grow() {
+        final StackedSegment[] grown = new StackedSegment[slots.length * 2];
+        for (int i = 0; i < count; ++i) {
+            grown[i] = slots[slot(i)];
+        }
+        slots = grown;
+        head = 0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("baseXid", baseXid).add("slots", count).add("size", size)
+                .toString();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Worker threads shared by all connections of a switch connection provider, which run listener callbacks
+ * instead of Netty event loops, so that a slow listener does not stall reads, writes and echo replies of
+ * every switch on its event loop. Decoding and matching responses to requests stays on the event loop.
+ *
+ * <p>
+ * Work is striped: each connection is assigned one single-threaded stripe, hence callbacks for a connection
+ * run in order, while connections spread across stripes. Each connection bounds its pending callbacks by
+ * suspending reads from its channel, see {@link UpstreamQueue}.
+ */
+public final class UpstreamExecutor implements AutoCloseable {
+    /**
+     * Default number of callbacks pending for a connection before reads from it are suspended.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    private final ExecutorService[] stripes;
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    private final int queueSize;
+
+    /**
+     * @param threads number of stripes, each served by a single thread
+     * @param queueSize number of callbacks pending for a connection before reads from it are suspended
+     */
+    public UpstreamExecutor(final int threads, final int queueSize) {
+        Preconditions.checkArgument(threads > 0, "Number of threads %s has to be positive", threads);
+        Preconditions.checkArgument(queueSize > 1, "Queue size %s has to be greater than 1", queueSize);
+        this.queueSize = queueSize;
+
+        final ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat("ofj-upstream-%d")
+                .setDaemon(true).build();
+        stripes = new ExecutorService[threads];
+        for (int i = 0; i < threads; ++i) {
+            stripes[i] = Executors.newSingleThreadExecutor(factory);
+        }
+    }
+
+    /**
+     * Assign a connection to a stripe.
+     *
+     * @param backpressure controller of reads from the connection
+     * @return queue of callbacks for the connection
+     */
+    UpstreamQueue newQueue(final BackpressureController backpressure) {
+        final int stripe = Math.floorMod(nextStripe.getAndIncrement(), stripes.length);
+        return new UpstreamQueue(stripes[stripe], backpressure, queueSize);
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService stripe : stripes) {
+            stripe.shutdown();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("threads", stripes.length).add("queueSize", queueSize)
+                .toString();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Listener callbacks of a single connection, run in order on the connection's stripe of an
+ * {@link UpstreamExecutor}. Once the number of pending callbacks reaches the queue size, the connection's
+ * {@link BackpressureController} is asked to suspend reads, they are resumed when the worker has caught up
+ * to half the queue size. Messages already read keep being decoded, so the queue may exceed its size by
+ * the messages of a single read.
+ *
+ * <p>
+ * Callbacks are queued from Netty and completed from the worker thread. Both update the pending count
+ * and toggle reads under a lock, so that the two cannot get reordered.
+ */
+final class UpstreamQueue implements Executor {
+    private static final Logger LOG = LoggerFactory.getLogger(UpstreamQueue.class);
+
+    private final Executor stripe;
+    private final BackpressureController backpressure;
+    private final int highWatermark;
+    private final int lowWatermark;
+
+    private int pending;
+    private boolean suspended;
+
+    UpstreamQueue(final Executor stripe, final BackpressureController backpressure, final int queueSize) {
+        this.stripe = Preconditions.checkNotNull(stripe);
+        this.backpressure = Preconditions.checkNotNull(backpressure);
+        this.highWatermark = queueSize;
+        this.lowWatermark = queueSize / 2;
+    }
+
+    @Override
+    public void execute(final Runnable callback) {
+        taskQueued();
+        try {
+            stripe.execute(() -> {
+                try {
+                    callback.run();
+                } catch (RuntimeException e) {
+                    LOG.warn("Callback {} failed", callback, e);
+                } finally {
+                    taskCompleted();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The provider is shutting down, run the callback so it is not lost
+            LOG.debug("Worker rejected callback, running it directly", e);
+            try {
+                callback.run();
+            } finally {
+                taskCompleted();
+            }
+        }
+    }
+
+    private synchronized void taskQueued() {
+        if (++pending >= highWatermark && !suspended) {
+            LOG.debug("{} callbacks pending, suspending reads", pending);
+            suspended = true;
+            backpressure.suspend(BackpressureController.Source.UPSTREAM);
+        }
+    }
+
+    private synchronized void taskCompleted() {
+        if (--pending <= lowWatermark && suspended) {
+            LOG.debug("{} callbacks pending, resuming reads", pending);
+            suspended = false;
+            backpressure.resume(BackpressureController.Source.UPSTREAM);
+        }
+    }
+
+    /**
+     * @return number of callbacks queued or running
+     */
+    synchronized int getPending() {
+        return pending;
+    }
+
+    /**
+     * @return true if reads from the channel are suspended
+     */
+    synchronized boolean isSuspended() {
+        return suspended;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this).add("pending", pending)
+                .add("suspended", suspended).toString();
+    }
+}
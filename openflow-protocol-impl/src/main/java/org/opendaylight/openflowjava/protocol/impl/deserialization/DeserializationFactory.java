@@ -10,13 +10,17 @@ package org.opendaylight.openflowjava.protocol.impl.deserialization;
 
 import io.netty.buffer.ByteBuf;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.keys.TypeToClassKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.yangtools.yang.binding.DataObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author michal.polkorab
@@ -25,8 +29,14 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
  */
 public class DeserializationFactory {
 
+    private static final Logger LOG = LoggerFactory.getLogger(DeserializationFactory.class);
+    private static final int MAX_MESSAGE_TYPE = 0xff;
+    private static final OFDeserializer<?>[][] EMPTY_TABLE = new OFDeserializer<?>[0][];
+
     private final Map<TypeToClassKey, Class<?>> messageClassMap = new ConcurrentHashMap<>();
     private DeserializerRegistry registry;
+    /** Deserializers resolved in advance, null when they have to be resolved again */
+    private volatile DispatchTable dispatchTable;
 
     /**
      * Constructor
@@ -47,13 +57,91 @@ public class DeserializationFactory {
      * @return correct POJO as DataObject
      */
     public DataObject deserialize(final ByteBuf rawMessage, final short version) {
-        DataObject dataObject = null;
         int type = rawMessage.readUnsignedByte();
-        Class<?> clazz = messageClassMap.get(new TypeToClassKey(version, type));
         rawMessage.skipBytes(EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
-        OFDeserializer<DataObject> deserializer = registry.getDeserializer(new MessageCodeKey(version, type, clazz));
-        dataObject = deserializer.deserialize(rawMessage);
-        return dataObject;
+        OFDeserializer<DataObject> deserializer = lookupDeserializer(version, type);
+        return deserializer.deserialize(rawMessage);
+    }
+
+    @SuppressWarnings("unchecked")
+    private OFDeserializer<DataObject> lookupDeserializer(final short version, final int type) {
+        final OFDeserializer<?>[][] table = getDispatchTable();
+        if (version >= 0 && version < table.length) {
+            final OFDeserializer<?>[] types = table[version];
+            if (types != null && types[type] != null) {
+                return (OFDeserializer<DataObject>) types[type];
+            }
+        }
+
+        // Not resolved in advance, let the registry report what is missing
+        Class<?> clazz = messageClassMap.get(new TypeToClassKey(version, type));
+        return registry.getDeserializer(new MessageCodeKey(version, type, clazz));
+    }
+
+    private OFDeserializer<?>[][] getDispatchTable() {
+        // Registries which do not track their changes are always looked up by key
+        if (!(registry instanceof IndexedDeserializerRegistry)) {
+            return EMPTY_TABLE;
+        }
+
+        final DispatchTable table = dispatchTable;
+        if (table != null && table.registryVersion == registryVersion()) {
+            return table.deserializers;
+        }
+        return rebuildDispatchTable();
+    }
+
+    private int registryVersion() {
+        return ((IndexedDeserializerRegistry) registry).getMessageDeserializerVersion();
+    }
+
+    /**
+     * Rebuilds the version x type dispatch table from registered type to class mappings
+     * and message deserializers. Invoked on first lookup after either of them changed.
+     */
+    private synchronized OFDeserializer<?>[][] rebuildDispatchTable() {
+        final int registryVersion = registryVersion();
+        final DispatchTable current = dispatchTable;
+        if (current != null && current.registryVersion == registryVersion) {
+            return current.deserializers;
+        }
+
+        int maxVersion = -1;
+        for (TypeToClassKey key : messageClassMap.keySet()) {
+            maxVersion = Math.max(maxVersion, key.getVersion());
+        }
+
+        final OFDeserializer<?>[][] table = new OFDeserializer<?>[maxVersion + 1][];
+        for (Entry<TypeToClassKey, Class<?>> entry : messageClassMap.entrySet()) {
+            final short version = entry.getKey().getVersion();
+            final int type = entry.getKey().getType();
+            if (version < 0 || type < 0 || type > MAX_MESSAGE_TYPE) {
+                continue;
+            }
+
+            final OFGeneralDeserializer deserializer;
+            try {
+                deserializer = registry.getDeserializer(new MessageCodeKey(version, type, entry.getValue()));
+            } catch (IllegalStateException e) {
+                LOG.debug("No deserializer for version {} type {}, it will be looked up on demand", version, type, e);
+                continue;
+            }
+            if (!(deserializer instanceof OFDeserializer)) {
+                continue;
+            }
+
+            if (table[version] == null) {
+                table[version] = new OFDeserializer<?>[MAX_MESSAGE_TYPE + 1];
+            }
+            table[version][type] = (OFDeserializer<?>) deserializer;
+        }
+
+        dispatchTable = new DispatchTable(table, registryVersion);
+        return table;
+    }
+
+    private synchronized void invalidateDispatchTable() {
+        dispatchTable = null;
     }
 
     /**
@@ -63,6 +151,7 @@ public class DeserializationFactory {
      */
     public void registerMapping(final TypeToClassKey key, final Class<?> clazz) {
         messageClassMap.put(key, clazz);
+        invalidateDispatchTable();
     }
 
     /**
@@ -75,7 +164,9 @@ public class DeserializationFactory {
             throw new IllegalArgumentException("TypeToClassKey is null");
         }
 
-        return messageClassMap.remove(key) != null;
+        final boolean removed = messageClassMap.remove(key) != null;
+        invalidateDispatchTable();
+        return removed;
     }
 
     /**
@@ -83,6 +174,16 @@ public class DeserializationFactory {
      */
     public void setRegistry(final DeserializerRegistry registry) {
         this.registry = registry;
+        invalidateDispatchTable();
     }
 
+    private static final class DispatchTable {
+        final OFDeserializer<?>[][] deserializers;
+        final int registryVersion;
+
+        DispatchTable(final OFDeserializer<?>[][] deserializers, final int registryVersion) {
+            this.deserializers = deserializers;
+            this.registryVersion = registryVersion;
+        }
+    }
 }
@@ -10,11 +10,14 @@ package org.opendaylight.openflowjava.protocol.impl.deserialization;
 
 import java.util.HashMap;
 import java.util.Map;
-import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistryInjector;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.ActionDeserializerKey;
+import org.opendaylight.openflowjava.protocol.api.keys.InstructionDeserializerKey;
+import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.api.util.OxmMatchConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.MatchDeserializer;
 import org.opendaylight.openflowjava.protocol.impl.util.OF10MatchDeserializer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
@@ -27,10 +30,21 @@ import org.slf4j.LoggerFactory;
  *
  * @author michal.polkorab
  */
-public class DeserializerRegistryImpl implements DeserializerRegistry {
+public class DeserializerRegistryImpl implements IndexedDeserializerRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeserializerRegistryImpl.class);
+    private static final int MATCH_ENTRY_INDEX = 0;
+    private static final int ACTION_INDEX = 1;
+    private static final int INSTRUCTION_INDEX = 2;
+    private static final int MAX_INDEXED_VALUE = 0xff;
+
     private Map<MessageCodeKey, OFGeneralDeserializer> registry;
+    /**
+     * Deserializers resolved by wire code, indexed by kind, version and code. Filled on demand,
+     * replaced by an empty one whenever the registry changes.
+     */
+    private volatile OFGeneralDeserializer[][][] codeIndex = newCodeIndex();
+    private volatile int messageDeserializerVersion;
 
     /**
      * Decoder table provisioning
@@ -38,6 +52,7 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
     @Override
     public void init() {
         registry = new HashMap<>();
+        codeIndex = newCodeIndex();
 
         // register message deserializers
         MessageDeserializerInitializer.registerMessageDeserializers(this);
@@ -78,6 +93,7 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
             throw new IllegalArgumentException("MessageCodeKey or Deserializer is null");
         }
         OFGeneralDeserializer desInRegistry = registry.put(key, deserializer);
+        registryChanged(key);
         if (desInRegistry != null) {
             LOG.debug("Deserializer for key {} overwritten. Old deserializer: {}, new deserializer: {}", key,
                     desInRegistry.getClass().getName(), deserializer.getClass().getName());
@@ -93,10 +109,83 @@ public class DeserializerRegistryImpl implements DeserializerRegistry {
             throw new IllegalArgumentException("MessageCodeKey is null");
         }
         OFGeneralDeserializer deserializer = registry.remove(key);
+        registryChanged(key);
         if (deserializer == null) {
             return false;
         }
         return true;
     }
 
+    @Override
+    public int getMessageDeserializerVersion() {
+        return messageDeserializerVersion;
+    }
+
+    @Override
+    public <T extends OFGeneralDeserializer> T getMatchEntryDeserializer(final short version, final int oxmField) {
+        return getIndexedDeserializer(MATCH_ENTRY_INDEX, version, oxmField);
+    }
+
+    @Override
+    public <T extends OFGeneralDeserializer> T getActionDeserializer(final short version, final int type) {
+        return getIndexedDeserializer(ACTION_INDEX, version, type);
+    }
+
+    @Override
+    public <T extends OFGeneralDeserializer> T getInstructionDeserializer(final short version, final int type) {
+        return getIndexedDeserializer(INSTRUCTION_INDEX, version, type);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends OFGeneralDeserializer> T getIndexedDeserializer(final int kind, final short version,
+            final int value) {
+        if (version < 0 || version > MAX_INDEXED_VALUE || value < 0 || value > MAX_INDEXED_VALUE) {
+            return getDeserializer(createIndexedKey(kind, version, value));
+        }
+
+        final OFGeneralDeserializer[][] versions = codeIndex[kind];
+        OFGeneralDeserializer[] values = versions[version];
+        if (values != null) {
+            final OFGeneralDeserializer deserializer = values[value];
+            if (deserializer != null) {
+                return (T) deserializer;
+            }
+        } else {
+            values = new OFGeneralDeserializer[MAX_INDEXED_VALUE + 1];
+            versions[version] = values;
+        }
+
+        // Racing threads resolve the same deserializer, so unsynchronized caching is fine
+        final OFGeneralDeserializer deserializer = getDeserializer(createIndexedKey(kind, version, value));
+        values[value] = deserializer;
+        return (T) deserializer;
+    }
+
+    private void registryChanged(final MessageCodeKey key) {
+        codeIndex = newCodeIndex();
+        if (!(key instanceof MatchEntryDeserializerKey || key instanceof ActionDeserializerKey
+                || key instanceof InstructionDeserializerKey)) {
+            messageDeserializerVersion++;
+        }
+    }
+
+    private static MessageCodeKey createIndexedKey(final int kind, final short version, final int value) {
+        switch (kind) {
+            case MATCH_ENTRY_INDEX:
+                final MatchEntryDeserializerKey key = new MatchEntryDeserializerKey(version,
+                        OxmMatchConstants.OPENFLOW_BASIC_CLASS, value);
+                key.setExperimenterId(null);
+                return key;
+            case ACTION_INDEX:
+                return new ActionDeserializerKey(version, value, null);
+            case INSTRUCTION_INDEX:
+                return new InstructionDeserializerKey(version, value, null);
+            default:
+                throw new IllegalArgumentException("Unknown index " + kind);
+        }
+    }
+
+    private static OFGeneralDeserializer[][][] newCodeIndex() {
+        return new OFGeneralDeserializer[INSTRUCTION_INDEX + 1][MAX_INDEXED_VALUE + 1][];
+    }
 }
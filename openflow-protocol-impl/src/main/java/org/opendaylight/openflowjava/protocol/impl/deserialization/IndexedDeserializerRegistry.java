@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.deserialization;
+
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
+
+/**
+ * {@link DeserializerRegistry} able to resolve the most frequently looked up deserializers
+ * (OpenFlow basic match entries, actions and instructions) directly by their wire code,
+ * without creating lookup keys. Experimenter codes are not covered, those have to be looked
+ * up by key. It also tracks changes to message deserializers, so that callers caching them
+ * know when to resolve them again.
+ */
+public interface IndexedDeserializerRegistry extends DeserializerRegistry {
+
+    /**
+     * @param <T> type of particular deserializer
+     * @param version openflow wire version
+     * @param oxmField oxm_field of an OpenFlow basic class match entry
+     * @return deserializer found
+     * @throws IllegalStateException if there is no such deserializer
+     */
+    <T extends OFGeneralDeserializer> T getMatchEntryDeserializer(short version, int oxmField);
+
+    /**
+     * @param <T> type of particular deserializer
+     * @param version openflow wire version
+     * @param type non-experimenter action type
+     * @return deserializer found
+     * @throws IllegalStateException if there is no such deserializer
+     */
+    <T extends OFGeneralDeserializer> T getActionDeserializer(short version, int type);
+
+    /**
+     * @param <T> type of particular deserializer
+     * @param version openflow wire version
+     * @param type non-experimenter instruction type
+     * @return deserializer found
+     * @throws IllegalStateException if there is no such deserializer
+     */
+    <T extends OFGeneralDeserializer> T getInstructionDeserializer(short version, int type);
+
+    /**
+     * @return counter which changes whenever a message deserializer is registered or unregistered,
+     *         (un)registration of match entry, action and instruction deserializers leaves it intact
+     */
+    int getMessageDeserializerVersion();
+}
@@ -117,4 +117,31 @@ public final class MessageDeserializerInitializer {
         helper.registerDeserializer(8, GetConfigOutput.class, new GetConfigReplyMessageFactory());
         helper.registerDeserializer(21, BarrierOutput.class, new BarrierReplyMessageFactory());
     }
+
+    /**
+     * Replaces packet-in deserializers with ones which keep packet data as a retained slice
+     * of the inbound buffer, see {@link org.opendaylight.openflowjava.protocol.api.connection.RetainedPayload}.
+     * @param registry registry to be updated
+     */
+    public static void registerRetainedPayloadDeserializers(final DeserializerRegistry registry) {
+        new SimpleDeserializerRegistryHelper(EncodeConstants.OF10_VERSION_ID, registry)
+                .registerDeserializer(10, PacketInMessage.class, new OF10PacketInMessageFactory(true));
+        new SimpleDeserializerRegistryHelper(EncodeConstants.OF13_VERSION_ID, registry)
+                .registerDeserializer(10, PacketInMessage.class, new PacketInMessageFactory(true));
+    }
+
+    /**
+     * Replaces the OF1.3 multipart reply deserializer with one using the requested decode profile.
+     * @param registry registry to be updated
+     * @param streamFlowStats keep flow statistics undecoded, see
+     *  {@link org.opendaylight.openflowjava.protocol.api.connection.StreamedFlowStats}
+     * @param primitiveCounters keep port statistics counters as primitive values, see
+     *  {@link org.opendaylight.openflowjava.protocol.api.connection.PortStatsCounters}
+     */
+    public static void registerMultipartReplyDeserializers(final DeserializerRegistry registry,
+            final boolean streamFlowStats, final boolean primitiveCounters) {
+        new SimpleDeserializerRegistryHelper(EncodeConstants.OF13_VERSION_ID, registry)
+                .registerDeserializer(19, MultipartReplyMessage.class,
+                        new MultipartReplyMessageFactory(streamFlowStats, primitiveCounters));
+    }
 }
@@ -9,7 +9,6 @@
 package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
 
 import io.netty.buffer.ByteBuf;
-import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.List;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
@@ -148,6 +147,10 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 public class MultipartReplyMessageFactory implements OFDeserializer<MultipartReplyMessage>,
         DeserializerRegistryInjector {
 
+    private static final MessageCodeKey MATCH_KEY = new MessageCodeKey(
+            EncodeConstants.OF13_VERSION_ID, EncodeConstants.EMPTY_VALUE, Match.class);
+    private static final CodeKeyMaker INSTRUCTION_KEY_MAKER = CodeKeyMakerFactory
+            .createInstructionsKeyMaker(EncodeConstants.OF13_VERSION_ID);
     private static final byte PADDING_IN_MULTIPART_REPLY_HEADER = 4;
     private static final int DESC_STR_LEN = 256;
     private static final int SERIAL_NUM_LEN = 32;
@@ -178,8 +181,36 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
     private static final byte PADDING_IN_BUCKETS_HEADER = 4;
     private static final byte GROUP_DESC_HEADER_LENGTH = 8;
     private static final byte BUCKETS_HEADER_LENGTH = 16;
+    private final boolean streamFlowStats;
+    private final boolean primitiveCounters;
     private DeserializerRegistry registry;
 
+    /**
+     * Creates factory decoding all statistics records upfront into regular objects
+     */
+    public MultipartReplyMessageFactory() {
+        this(false, false);
+    }
+
+    /**
+     * @param streamFlowStats if true, flow statistics records are not decoded upfront - the resulting
+     *  message is a {@link org.opendaylight.openflowjava.protocol.api.connection.StreamedFlowStats}
+     *  holding a retained slice of the inbound buffer, which the consumer has to release
+     */
+    public MultipartReplyMessageFactory(final boolean streamFlowStats) {
+        this(streamFlowStats, false);
+    }
+
+    /**
+     * @param streamFlowStats see {@link #MultipartReplyMessageFactory(boolean)}
+     * @param primitiveCounters if true, port statistics records keep their counters as primitive values,
+     *  see {@link org.opendaylight.openflowjava.protocol.api.connection.PortStatsCounters}
+     */
+    public MultipartReplyMessageFactory(final boolean streamFlowStats, final boolean primitiveCounters) {
+        this.streamFlowStats = streamFlowStats;
+        this.primitiveCounters = primitiveCounters;
+    }
+
     @Override
     public MultipartReplyMessage deserialize(final ByteBuf rawMessage) {
         MultipartReplyMessageBuilder builder = new MultipartReplyMessageBuilder();
@@ -195,6 +226,11 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
                 builder.setMultipartReplyBody(setDesc(rawMessage));
                 break;
             case OFPMPFLOW:
+                if (streamFlowStats) {
+                    final ByteBuf records = rawMessage.readSlice(rawMessage.readableBytes());
+                    records.retain();
+                    return new StreamedFlowStatsReplyMessage(builder.build(), records, this);
+                }
                 builder.setMultipartReplyBody(setFlow(rawMessage));
                 break;
             case OFPMPAGGREGATE:
@@ -270,47 +306,48 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return caseBuilder.build();
     }
 
-    private MultipartReplyFlowCase setFlow(final ByteBuf input) {
+    MultipartReplyFlowCase setFlow(final ByteBuf input) {
         MultipartReplyFlowCaseBuilder caseBuilder = new MultipartReplyFlowCaseBuilder();
         MultipartReplyFlowBuilder flowBuilder = new MultipartReplyFlowBuilder();
         List<FlowStats> flowStatsList = new ArrayList<>();
         while (input.readableBytes() > 0) {
-            FlowStatsBuilder flowStatsBuilder = new FlowStatsBuilder();
-            int flowRecordLength = input.readUnsignedShort();
-            ByteBuf subInput = input.readSlice(flowRecordLength - EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
-            flowStatsBuilder.setTableId(subInput.readUnsignedByte());
-            subInput.skipBytes(PADDING_IN_FLOW_STATS_HEADER_01);
-            flowStatsBuilder.setDurationSec(subInput.readUnsignedInt());
-            flowStatsBuilder.setDurationNsec(subInput.readUnsignedInt());
-            flowStatsBuilder.setPriority(subInput.readUnsignedShort());
-            flowStatsBuilder.setIdleTimeout(subInput.readUnsignedShort());
-            flowStatsBuilder.setHardTimeout(subInput.readUnsignedShort());
-            flowStatsBuilder.setFlags(createFlowModFlagsFromBitmap(subInput.readUnsignedShort()));
-            subInput.skipBytes(PADDING_IN_FLOW_STATS_HEADER_02);
-            byte[] cookie = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            subInput.readBytes(cookie);
-            flowStatsBuilder.setCookie(new BigInteger(1, cookie));
-            byte[] packetCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            subInput.readBytes(packetCount);
-            flowStatsBuilder.setPacketCount(new BigInteger(1, packetCount));
-            byte[] byteCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            subInput.readBytes(byteCount);
-            flowStatsBuilder.setByteCount(new BigInteger(1, byteCount));
-            OFDeserializer<Match> matchDeserializer = registry.getDeserializer(new MessageCodeKey(
-                    EncodeConstants.OF13_VERSION_ID, EncodeConstants.EMPTY_VALUE, Match.class));
-            flowStatsBuilder.setMatch(matchDeserializer.deserialize(subInput));
-            CodeKeyMaker keyMaker = CodeKeyMakerFactory
-                    .createInstructionsKeyMaker(EncodeConstants.OF13_VERSION_ID);
-            List<Instruction> instructions = ListDeserializer.deserializeList(
-                    EncodeConstants.OF13_VERSION_ID, subInput.readableBytes(), subInput, keyMaker, registry);
-            flowStatsBuilder.setInstruction(instructions);
-            flowStatsList.add(flowStatsBuilder.build());
+            flowStatsList.add(readFlowStats(input));
         }
         flowBuilder.setFlowStats(flowStatsList);
         caseBuilder.setMultipartReplyFlow(flowBuilder.build());
         return caseBuilder.build();
     }
 
+    /**
+     * Reads single ofp_flow_stats record
+     * @param input buffer positioned at the start of the record
+     * @return decoded record
+     */
+    FlowStats readFlowStats(final ByteBuf input) {
+        FlowStatsBuilder flowStatsBuilder = new FlowStatsBuilder();
+        int flowRecordLength = input.readUnsignedShort();
+        ByteBuf subInput = input.readSlice(flowRecordLength - EncodeConstants.SIZE_OF_SHORT_IN_BYTES);
+        flowStatsBuilder.setTableId(subInput.readUnsignedByte());
+        subInput.skipBytes(PADDING_IN_FLOW_STATS_HEADER_01);
+        flowStatsBuilder.setDurationSec(subInput.readUnsignedInt());
+        flowStatsBuilder.setDurationNsec(subInput.readUnsignedInt());
+        flowStatsBuilder.setPriority(subInput.readUnsignedShort());
+        flowStatsBuilder.setIdleTimeout(subInput.readUnsignedShort());
+        flowStatsBuilder.setHardTimeout(subInput.readUnsignedShort());
+        flowStatsBuilder.setFlags(createFlowModFlagsFromBitmap(subInput.readUnsignedShort()));
+        subInput.skipBytes(PADDING_IN_FLOW_STATS_HEADER_02);
+        flowStatsBuilder.setCookie(ByteBufUtils.readUint64(subInput));
+        flowStatsBuilder.setPacketCount(ByteBufUtils.readUint64(subInput));
+        flowStatsBuilder.setByteCount(ByteBufUtils.readUint64(subInput));
+        OFDeserializer<Match> matchDeserializer = registry.getDeserializer(MATCH_KEY);
+        flowStatsBuilder.setMatch(matchDeserializer.deserialize(subInput));
+        List<Instruction> instructions = ListDeserializer.deserializeList(
+                EncodeConstants.OF13_VERSION_ID, subInput.readableBytes(), subInput, INSTRUCTION_KEY_MAKER,
+                registry);
+        flowStatsBuilder.setInstruction(instructions);
+        return flowStatsBuilder.build();
+    }
+
     private static FlowModFlags createFlowModFlagsFromBitmap(final int input) {
         final Boolean fmfSENDFLOWREM = (input & (1 << 0)) != 0;
         final Boolean fmfCHECKOVERLAP = (input & (1 << 1)) != 0;
@@ -323,12 +360,8 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
     private static MultipartReplyAggregateCase setAggregate(final ByteBuf input) {
         MultipartReplyAggregateCaseBuilder caseBuilder = new MultipartReplyAggregateCaseBuilder();
         MultipartReplyAggregateBuilder builder = new MultipartReplyAggregateBuilder();
-        byte[] packetCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-        input.readBytes(packetCount);
-        builder.setPacketCount(new BigInteger(1, packetCount));
-        byte[] byteCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-        input.readBytes(byteCount);
-        builder.setByteCount(new BigInteger(1, byteCount));
+        builder.setPacketCount(ByteBufUtils.readUint64(input));
+        builder.setByteCount(ByteBufUtils.readUint64(input));
         builder.setFlowCount(input.readUnsignedInt());
         input.skipBytes(PADDING_IN_AGGREGATE_HEADER);
         caseBuilder.setMultipartReplyAggregate(builder.build());
@@ -344,12 +377,8 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             tableStatsBuilder.setTableId(input.readUnsignedByte());
             input.skipBytes(PADDING_IN_TABLE_HEADER);
             tableStatsBuilder.setActiveCount(input.readUnsignedInt());
-            byte[] lookupCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(lookupCount);
-            tableStatsBuilder.setLookupCount(new BigInteger(1, lookupCount));
-            byte[] matchedCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(matchedCount);
-            tableStatsBuilder.setMatchedCount(new BigInteger(1, matchedCount));
+            tableStatsBuilder.setLookupCount(ByteBufUtils.readUint64(input));
+            tableStatsBuilder.setMatchedCount(ByteBufUtils.readUint64(input));
             tableStatsList.add(tableStatsBuilder.build());
         }
         builder.setTableStats(tableStatsList);
@@ -464,50 +493,30 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
         return properties;
     }
 
-    private static MultipartReplyPortStatsCase setPortStats(final ByteBuf input) {
+    private MultipartReplyPortStatsCase setPortStats(final ByteBuf input) {
         MultipartReplyPortStatsCaseBuilder caseBuilder = new MultipartReplyPortStatsCaseBuilder();
         MultipartReplyPortStatsBuilder builder = new MultipartReplyPortStatsBuilder();
         List<PortStats> portStatsList = new ArrayList<>();
         while (input.readableBytes() > 0) {
+            if (primitiveCounters) {
+                portStatsList.add(new PrimitivePortStats(input));
+                continue;
+            }
             PortStatsBuilder portStatsBuilder = new PortStatsBuilder();
             portStatsBuilder.setPortNo(input.readUnsignedInt());
             input.skipBytes(PADDING_IN_PORT_STATS_HEADER);
-            byte[] rxPackets = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxPackets);
-            portStatsBuilder.setRxPackets(new BigInteger(1, rxPackets));
-            byte[] txPackets = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txPackets);
-            portStatsBuilder.setTxPackets(new BigInteger(1, txPackets));
-            byte[] rxBytes = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxBytes);
-            portStatsBuilder.setRxBytes(new BigInteger(1, rxBytes));
-            byte[] txBytes = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txBytes);
-            portStatsBuilder.setTxBytes(new BigInteger(1, txBytes));
-            byte[] rxDropped = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxDropped);
-            portStatsBuilder.setRxDropped(new BigInteger(1, rxDropped));
-            byte[] txDropped = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txDropped);
-            portStatsBuilder.setTxDropped(new BigInteger(1, txDropped));
-            byte[] rxErrors = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxErrors);
-            portStatsBuilder.setRxErrors(new BigInteger(1, rxErrors));
-            byte[] txErrors = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txErrors);
-            portStatsBuilder.setTxErrors(new BigInteger(1, txErrors));
-            byte[] rxFrameErr = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxFrameErr);
-            portStatsBuilder.setRxFrameErr(new BigInteger(1, rxFrameErr));
-            byte[] rxOverErr = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxOverErr);
-            portStatsBuilder.setRxOverErr(new BigInteger(1, rxOverErr));
-            byte[] rxCrcErr = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(rxCrcErr);
-            portStatsBuilder.setRxCrcErr(new BigInteger(1, rxCrcErr));
-            byte[] collisions = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(collisions);
-            portStatsBuilder.setCollisions(new BigInteger(1, collisions));
+            portStatsBuilder.setRxPackets(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setTxPackets(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setRxBytes(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setTxBytes(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setRxDropped(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setTxDropped(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setRxErrors(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setTxErrors(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setRxFrameErr(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setRxOverErr(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setRxCrcErr(ByteBufUtils.readUint64(input));
+            portStatsBuilder.setCollisions(ByteBufUtils.readUint64(input));
             portStatsBuilder.setDurationSec(input.readUnsignedInt());
             portStatsBuilder.setDurationNsec(input.readUnsignedInt());
             portStatsList.add(portStatsBuilder.build());
@@ -525,15 +534,9 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             QueueStatsBuilder queueStatsBuilder = new QueueStatsBuilder();
             queueStatsBuilder.setPortNo(input.readUnsignedInt());
             queueStatsBuilder.setQueueId(input.readUnsignedInt());
-            byte[] txBytes = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txBytes);
-            queueStatsBuilder.setTxBytes(new BigInteger(1, txBytes));
-            byte[] txPackets = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txPackets);
-            queueStatsBuilder.setTxPackets(new BigInteger(1, txPackets));
-            byte[] txErrors = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(txErrors);
-            queueStatsBuilder.setTxErrors(new BigInteger(1, txErrors));
+            queueStatsBuilder.setTxBytes(ByteBufUtils.readUint64(input));
+            queueStatsBuilder.setTxPackets(ByteBufUtils.readUint64(input));
+            queueStatsBuilder.setTxErrors(ByteBufUtils.readUint64(input));
             queueStatsBuilder.setDurationSec(input.readUnsignedInt());
             queueStatsBuilder.setDurationNsec(input.readUnsignedInt());
             queueStatsList.add(queueStatsBuilder.build());
@@ -554,24 +557,16 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             groupStatsBuilder.setGroupId(new GroupId(input.readUnsignedInt()));
             groupStatsBuilder.setRefCount(input.readUnsignedInt());
             input.skipBytes(PADDING_IN_GROUP_HEADER_02);
-            byte[] packetCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(packetCount);
-            groupStatsBuilder.setPacketCount(new BigInteger(1, packetCount));
-            byte[] byteCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(byteCount);
-            groupStatsBuilder.setByteCount(new BigInteger(1, byteCount));
+            groupStatsBuilder.setPacketCount(ByteBufUtils.readUint64(input));
+            groupStatsBuilder.setByteCount(ByteBufUtils.readUint64(input));
             groupStatsBuilder.setDurationSec(input.readUnsignedInt());
             groupStatsBuilder.setDurationNsec(input.readUnsignedInt());
             int actualLength = GROUP_BODY_LENGTH;
             List<BucketStats> bucketStatsList = new ArrayList<>();
             while (actualLength < bodyLength) {
                 BucketStatsBuilder bucketStatsBuilder = new BucketStatsBuilder();
-                byte[] packetCountBucket = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-                input.readBytes(packetCountBucket);
-                bucketStatsBuilder.setPacketCount(new BigInteger(1, packetCountBucket));
-                byte[] byteCountBucket = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-                input.readBytes(byteCountBucket);
-                bucketStatsBuilder.setByteCount(new BigInteger(1, byteCountBucket));
+                bucketStatsBuilder.setPacketCount(ByteBufUtils.readUint64(input));
+                bucketStatsBuilder.setByteCount(ByteBufUtils.readUint64(input));
                 bucketStatsList.add(bucketStatsBuilder.build());
                 actualLength += BUCKET_COUNTER_LENGTH;
             }
@@ -620,24 +615,16 @@ public class MultipartReplyMessageFactory implements OFDeserializer<MultipartRep
             int meterStatsBodyLength = input.readUnsignedShort();
             input.skipBytes(PADDING_IN_METER_STATS_HEADER);
             meterStatsBuilder.setFlowCount(input.readUnsignedInt());
-            byte[] packetInCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(packetInCount);
-            meterStatsBuilder.setPacketInCount(new BigInteger(1, packetInCount));
-            byte[] byteInCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-            input.readBytes(byteInCount);
-            meterStatsBuilder.setByteInCount(new BigInteger(1, byteInCount));
+            meterStatsBuilder.setPacketInCount(ByteBufUtils.readUint64(input));
+            meterStatsBuilder.setByteInCount(ByteBufUtils.readUint64(input));
             meterStatsBuilder.setDurationSec(input.readUnsignedInt());
             meterStatsBuilder.setDurationNsec(input.readUnsignedInt());
             int actualLength = METER_BODY_LENGTH;
             List<MeterBandStats> meterBandStatsList = new ArrayList<>();
             while (actualLength < meterStatsBodyLength) {
                 MeterBandStatsBuilder meterBandStatsBuilder = new MeterBandStatsBuilder();
-                byte[] packetBandCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-                input.readBytes(packetBandCount);
-                meterBandStatsBuilder.setPacketBandCount(new BigInteger(1, packetBandCount));
-                byte[] byteBandCount = new byte[EncodeConstants.SIZE_OF_LONG_IN_BYTES];
-                input.readBytes(byteBandCount);
-                meterBandStatsBuilder.setByteBandCount(new BigInteger(1, byteBandCount));
+                meterBandStatsBuilder.setPacketBandCount(ByteBufUtils.readUint64(input));
+                meterBandStatsBuilder.setByteBandCount(ByteBufUtils.readUint64(input));
                 meterBandStatsList.add(meterBandStatsBuilder.build());
                 actualLength += METER_BAND_STATS_LENGTH;
             }
@@ -22,6 +22,23 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 public class OF10PacketInMessageFactory implements OFDeserializer<PacketInMessage> {
 
     private static final byte PADDING_IN_PACKET_IN_HEADER = 1;
+    private final boolean retainPayload;
+
+    /**
+     * Creates factory copying packet data into the message
+     */
+    public OF10PacketInMessageFactory() {
+        this(false);
+    }
+
+    /**
+     * @param retainPayload if true, packet data are not copied - the resulting message is
+     *  a {@link org.opendaylight.openflowjava.protocol.api.connection.RetainedPayload}
+     *  holding a retained slice of the inbound buffer, which the consumer has to release
+     */
+    public OF10PacketInMessageFactory(final boolean retainPayload) {
+        this.retainPayload = retainPayload;
+    }
 
     @Override
     public PacketInMessage deserialize(final ByteBuf rawMessage) {
@@ -35,6 +52,11 @@ public class OF10PacketInMessageFactory implements OFDeserializer<PacketInMessag
         rawMessage.skipBytes(PADDING_IN_PACKET_IN_HEADER);
         int remainingBytes = rawMessage.readableBytes();
         if (remainingBytes > 0) {
+            if (retainPayload) {
+                final ByteBuf payload = rawMessage.readSlice(remainingBytes);
+                payload.retain();
+                return new RetainedPacketInMessage(builder.build(), payload);
+            }
             final byte[] buf = new byte[remainingBytes];
             rawMessage.readBytes(buf);
             builder.setData(buf);
@@ -34,8 +34,25 @@ public class PacketInMessageFactory implements OFDeserializer<PacketInMessage>,
     private static final byte PADDING_IN_PACKET_IN_HEADER = 2;
     private static final MessageCodeKey MATCH_KEY = new MessageCodeKey(
             EncodeConstants.OF13_VERSION_ID, EncodeConstants.EMPTY_VALUE, Match.class);
+    private final boolean retainPayload;
     private DeserializerRegistry registry;
 
+    /**
+     * Creates factory copying packet data into the message
+     */
+    public PacketInMessageFactory() {
+        this(false);
+    }
+
+    /**
+     * @param retainPayload if true, packet data are not copied - the resulting message is
+     *  a {@link org.opendaylight.openflowjava.protocol.api.connection.RetainedPayload}
+     *  holding a retained slice of the inbound buffer, which the consumer has to release
+     */
+    public PacketInMessageFactory(final boolean retainPayload) {
+        this.retainPayload = retainPayload;
+    }
+
     @Override
     public PacketInMessage deserialize(final ByteBuf rawMessage) {
         PacketInMessageBuilder builder = new PacketInMessageBuilder();
@@ -51,6 +68,11 @@ public class PacketInMessageFactory implements OFDeserializer<PacketInMessage>,
         OFDeserializer<Match> matchDeserializer = registry.getDeserializer(MATCH_KEY);
         builder.setMatch(matchDeserializer.deserialize(rawMessage));
         rawMessage.skipBytes(PADDING_IN_PACKET_IN_HEADER);
+        if (retainPayload) {
+            final ByteBuf payload = rawMessage.readSlice(rawMessage.readableBytes());
+            payload.retain();
+            return new RetainedPacketInMessage(builder.build(), payload);
+        }
         byte[] data = new byte[rawMessage.readableBytes()];
         rawMessage.readBytes(data);
         builder.setData(data);
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import com.google.common.base.MoreObjects;
+import io.netty.buffer.ByteBuf;
+import java.math.BigInteger;
+import java.util.Objects;
+import org.opendaylight.openflowjava.protocol.api.connection.PortStatsCounters;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.multipart.reply.port.stats.PortStats;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * {@link PortStats} keeping its counters as primitive longs. {@link BigInteger} values are
+ * created only when their getters are invoked.
+ */
+final class PrimitivePortStats implements PortStats, PortStatsCounters {
+
+    private static final byte PADDING_IN_PORT_STATS_HEADER = 4;
+
+    private final long portNo;
+    private final long rxPackets;
+    private final long txPackets;
+    private final long rxBytes;
+    private final long txBytes;
+    private final long rxDropped;
+    private final long txDropped;
+    private final long rxErrors;
+    private final long txErrors;
+    private final long rxFrameErr;
+    private final long rxOverErr;
+    private final long rxCrcErr;
+    private final long collisions;
+    private final long durationSec;
+    private final long durationNsec;
+
+    /**
+     * Reads single ofp_port_stats record
+     * @param input buffer positioned at the start of the record
+     */
+    PrimitivePortStats(final ByteBuf input) {
+        portNo = input.readUnsignedInt();
+        input.skipBytes(PADDING_IN_PORT_STATS_HEADER);
+        rxPackets = input.readLong();
+        txPackets = input.readLong();
+        rxBytes = input.readLong();
+        txBytes = input.readLong();
+        rxDropped = input.readLong();
+        txDropped = input.readLong();
+        rxErrors = input.readLong();
+        txErrors = input.readLong();
+        rxFrameErr = input.readLong();
+        rxOverErr = input.readLong();
+        rxCrcErr = input.readLong();
+        collisions = input.readLong();
+        durationSec = input.readUnsignedInt();
+        durationNsec = input.readUnsignedInt();
+    }
+
+    @Override
+    public long rxPackets() {
+        return rxPackets;
+    }
+
+    @Override
+    public long txPackets() {
+        return txPackets;
+    }
+
+    @Override
+    public long rxBytes() {
+        return rxBytes;
+    }
+
+    @Override
+    public long txBytes() {
+        return txBytes;
+    }
+
+    @Override
+    public long rxDropped() {
+        return rxDropped;
+    }
+
+    @Override
+    public long txDropped() {
+        return txDropped;
+    }
+
+    @Override
+    public long rxErrors() {
+        return rxErrors;
+    }
+
+    @Override
+    public long txErrors() {
+        return txErrors;
+    }
+
+    @Override
+    public long rxFrameErr() {
+        return rxFrameErr;
+    }
+
+    @Override
+    public long rxOverErr() {
+        return rxOverErr;
+    }
+
+    @Override
+    public long rxCrcErr() {
+        return rxCrcErr;
+    }
+
+    @Override
+    public long collisions() {
+        return collisions;
+    }
+
+    @Override
+    public Long getPortNo() {
+        return portNo;
+    }
+
+    @Override
+    public BigInteger getRxPackets() {
+        return ByteBufUtils.uint64ToBigInteger(rxPackets);
+    }
+
+    @Override
+    public BigInteger getTxPackets() {
+        return ByteBufUtils.uint64ToBigInteger(txPackets);
+    }
+
+    @Override
+    public BigInteger getRxBytes() {
+        return ByteBufUtils.uint64ToBigInteger(rxBytes);
+    }
+
+    @Override
+    public BigInteger getTxBytes() {
+        return ByteBufUtils.uint64ToBigInteger(txBytes);
+    }
+
+    @Override
+    public BigInteger getRxDropped() {
+        return ByteBufUtils.uint64ToBigInteger(rxDropped);
+    }
+
+    @Override
+    public BigInteger getTxDropped() {
+        return ByteBufUtils.uint64ToBigInteger(txDropped);
+    }
+
+    @Override
+    public BigInteger getRxErrors() {
+        return ByteBufUtils.uint64ToBigInteger(rxErrors);
+    }
+
+    @Override
+    public BigInteger getTxErrors() {
+        return ByteBufUtils.uint64ToBigInteger(txErrors);
+    }
+
+    @Override
+    public BigInteger getRxFrameErr() {
+        return ByteBufUtils.uint64ToBigInteger(rxFrameErr);
+    }
+
+    @Override
+    public BigInteger getRxOverErr() {
+        return ByteBufUtils.uint64ToBigInteger(rxOverErr);
+    }
+
+    @Override
+    public BigInteger getRxCrcErr() {
+        return ByteBufUtils.uint64ToBigInteger(rxCrcErr);
+    }
+
+    @Override
+    public BigInteger getCollisions() {
+        return ByteBufUtils.uint64ToBigInteger(collisions);
+    }
+
+    @Override
+    public Long getDurationSec() {
+        return durationSec;
+    }
+
+    @Override
+    public Long getDurationNsec() {
+        return durationNsec;
+    }
+
+    @Override
+    public <E extends Augmentation<PortStats>> E getAugmentation(final Class<E> augmentationType) {
+        return null;
+    }
+
+    @Override
+    public Class<? extends DataContainer> getImplementedInterface() {
+        return PortStats.class;
+    }
+
+    /*
+     * Equality and hash code follow the generated PortStats implementation, so that instances of both
+     * can be compared with each other. The generated one hashes its fields in alphabetical order,
+     * followed by its (empty) augmentation map.
+     */
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + getCollisions().hashCode();
+        result = prime * result + Long.hashCode(durationNsec);
+        result = prime * result + Long.hashCode(durationSec);
+        result = prime * result + Long.hashCode(portNo);
+        result = prime * result + getRxBytes().hashCode();
+        result = prime * result + getRxCrcErr().hashCode();
+        result = prime * result + getRxDropped().hashCode();
+        result = prime * result + getRxErrors().hashCode();
+        result = prime * result + getRxFrameErr().hashCode();
+        result = prime * result + getRxOverErr().hashCode();
+        result = prime * result + getRxPackets().hashCode();
+        result = prime * result + getTxBytes().hashCode();
+        result = prime * result + getTxDropped().hashCode();
+        result = prime * result + getTxErrors().hashCode();
+        result = prime * result + getTxPackets().hashCode();
+        // Empty augmentation map hashes to zero
+        return prime * result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof PrimitivePortStats) {
+            final PrimitivePortStats other = (PrimitivePortStats) obj;
+            return portNo == other.portNo && rxPackets == other.rxPackets && txPackets == other.txPackets
+                    && rxBytes == other.rxBytes && txBytes == other.txBytes && rxDropped == other.rxDropped
+                    && txDropped == other.txDropped && rxErrors == other.rxErrors && txErrors == other.txErrors
+                    && rxFrameErr == other.rxFrameErr && rxOverErr == other.rxOverErr && rxCrcErr == other.rxCrcErr
+                    && collisions == other.collisions && durationSec == other.durationSec
+                    && durationNsec == other.durationNsec;
+        }
+        if (!(obj instanceof DataObject) || !PortStats.class.equals(((DataObject) obj).getImplementedInterface())) {
+            return false;
+        }
+
+        // We carry no augmentations, the generated implementation checks its own against ours
+        final PortStats other = (PortStats) obj;
+        return Objects.equals(getPortNo(), other.getPortNo()) && Objects.equals(getRxPackets(), other.getRxPackets())
+                && Objects.equals(getTxPackets(), other.getTxPackets())
+                && Objects.equals(getRxBytes(), other.getRxBytes()) && Objects.equals(getTxBytes(), other.getTxBytes())
+                && Objects.equals(getRxDropped(), other.getRxDropped())
+                && Objects.equals(getTxDropped(), other.getTxDropped())
+                && Objects.equals(getRxErrors(), other.getRxErrors())
+                && Objects.equals(getTxErrors(), other.getTxErrors())
+                && Objects.equals(getRxFrameErr(), other.getRxFrameErr())
+                && Objects.equals(getRxOverErr(), other.getRxOverErr())
+                && Objects.equals(getRxCrcErr(), other.getRxCrcErr())
+                && Objects.equals(getCollisions(), other.getCollisions())
+                && Objects.equals(getDurationSec(), other.getDurationSec())
+                && Objects.equals(getDurationNsec(), other.getDurationNsec());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("portNo", portNo)
+                .add("rxPackets", Long.toUnsignedString(rxPackets)).add("txPackets", Long.toUnsignedString(txPackets))
+                .add("rxBytes", Long.toUnsignedString(rxBytes)).add("txBytes", Long.toUnsignedString(txBytes))
+                .add("durationSec", durationSec).add("durationNsec", durationNsec).toString();
+    }
+}
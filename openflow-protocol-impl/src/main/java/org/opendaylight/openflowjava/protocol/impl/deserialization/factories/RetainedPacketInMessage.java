@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Objects;
+import org.opendaylight.openflowjava.protocol.api.connection.RetainedPayload;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PacketInReason;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.TableId;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * {@link PacketInMessage} whose data are kept as a retained slice of the inbound buffer.
+ * Header fields are served from a regular built message, data are copied out lazily
+ * only if someone asks for them via {@link #getData()}.
+ */
+final class RetainedPacketInMessage implements PacketInMessage, RetainedPayload {
+
+    private final PacketInMessage header;
+    private final ByteBuf payload;
+    private volatile byte[] data;
+
+    RetainedPacketInMessage(final PacketInMessage header, final ByteBuf payload) {
+        this.header = Preconditions.checkNotNull(header);
+        this.payload = Preconditions.checkNotNull(payload);
+    }
+
+    @Override
+    public ByteBuf getPayload() {
+        return payload;
+    }
+
+    @Override
+    public byte[] getData() {
+        byte[] ret = data;
+        if (ret == null) {
+            ret = ByteBufUtil.getBytes(payload);
+            data = ret;
+        }
+        return ret;
+    }
+
+    @Override
+    public Short getVersion() {
+        return header.getVersion();
+    }
+
+    @Override
+    public Long getXid() {
+        return header.getXid();
+    }
+
+    @Override
+    public Long getBufferId() {
+        return header.getBufferId();
+    }
+
+    @Override
+    public Integer getTotalLen() {
+        return header.getTotalLen();
+    }
+
+    @Override
+    public PacketInReason getReason() {
+        return header.getReason();
+    }
+
+    @Override
+    public TableId getTableId() {
+        return header.getTableId();
+    }
+
+    @Override
+    public BigInteger getCookie() {
+        return header.getCookie();
+    }
+
+    @Override
+    public Match getMatch() {
+        return header.getMatch();
+    }
+
+    @Override
+    public Integer getInPort() {
+        return header.getInPort();
+    }
+
+    @Override
+    public <E extends Augmentation<PacketInMessage>> E getAugmentation(final Class<E> augmentationType) {
+        return header.getAugmentation(augmentationType);
+    }
+
+    @Override
+    public Class<? extends DataContainer> getImplementedInterface() {
+        return PacketInMessage.class;
+    }
+
+    @Override
+    public int refCnt() {
+        return payload.refCnt();
+    }
+
+    @Override
+    public RetainedPacketInMessage retain() {
+        payload.retain();
+        return this;
+    }
+
+    @Override
+    public RetainedPacketInMessage retain(final int increment) {
+        payload.retain(increment);
+        return this;
+    }
+
+    @Override
+    public RetainedPacketInMessage touch() {
+        payload.touch();
+        return this;
+    }
+
+    @Override
+    public RetainedPacketInMessage touch(final Object hint) {
+        payload.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return payload.release();
+    }
+
+    @Override
+    public boolean release(final int decrement) {
+        return payload.release(decrement);
+    }
+
+    @Override
+    public int hashCode() {
+        // Follows the generated implementation, data hash is computed without copying the payload
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Objects.hashCode(getBufferId());
+        result = prime * result + Objects.hashCode(getCookie());
+        result = prime * result + payloadHashCode();
+        result = prime * result + Objects.hashCode(getInPort());
+        result = prime * result + Objects.hashCode(getMatch());
+        result = prime * result + Objects.hashCode(getReason());
+        result = prime * result + Objects.hashCode(getTableId());
+        result = prime * result + Objects.hashCode(getTotalLen());
+        result = prime * result + Objects.hashCode(getVersion());
+        result = prime * result + Objects.hashCode(getXid());
+        // Empty augmentation map hashes to zero
+        return prime * result;
+    }
+
+    private int payloadHashCode() {
+        // Same as Arrays.hashCode(getData())
+        int result = 1;
+        for (int i = payload.readerIndex(); i < payload.writerIndex(); i++) {
+            result = 31 * result + payload.getByte(i);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof RetainedPacketInMessage) {
+            final RetainedPacketInMessage other = (RetainedPacketInMessage) obj;
+            return header.equals(other.header) && ByteBufUtil.equals(payload, other.payload);
+        }
+        if (!(obj instanceof DataObject)
+                || !PacketInMessage.class.equals(((DataObject) obj).getImplementedInterface())) {
+            return false;
+        }
+
+        // We carry no augmentations, the generated implementation checks its own against ours.
+        // Data are compared last, as they may need to be copied out of the payload.
+        final PacketInMessage other = (PacketInMessage) obj;
+        return Objects.equals(getBufferId(), other.getBufferId()) && Objects.equals(getCookie(), other.getCookie())
+                && Objects.equals(getInPort(), other.getInPort()) && Objects.equals(getMatch(), other.getMatch())
+                && Objects.equals(getReason(), other.getReason())
+                && Objects.equals(getTableId(), other.getTableId())
+                && Objects.equals(getTotalLen(), other.getTotalLen())
+                && Objects.equals(getVersion(), other.getVersion()) && Objects.equals(getXid(), other.getXid())
+                && Arrays.equals(getData(), other.getData());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("header", header).add("payloadLength", payload.readableBytes())
+                .toString();
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.deserialization.factories;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufUtil;
+import java.util.Objects;
+import java.util.function.Consumer;
+import org.opendaylight.openflowjava.protocol.api.connection.StreamedFlowStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartRequestFlags;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.MultipartType;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.MultipartReplyBody;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyFlowCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.multipart.reply.flow.FlowStats;
+import org.opendaylight.yangtools.yang.binding.Augmentation;
+import org.opendaylight.yangtools.yang.binding.DataContainer;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * {@link MultipartReplyMessage} carrying flow statistics as a retained slice of the inbound
+ * buffer. Header fields are served from a regular built message, records are decoded on
+ * demand by {@link #forEachFlowStats(Consumer)}.
+ */
+final class StreamedFlowStatsReplyMessage implements MultipartReplyMessage, StreamedFlowStats {
+
+    private final MultipartReplyMessage header;
+    private final ByteBuf payload;
+    private final MultipartReplyMessageFactory factory;
+    private volatile MultipartReplyFlowCase body;
+
+    StreamedFlowStatsReplyMessage(final MultipartReplyMessage header, final ByteBuf payload,
+            final MultipartReplyMessageFactory factory) {
+        this.header = Preconditions.checkNotNull(header);
+        this.payload = Preconditions.checkNotNull(payload);
+        this.factory = Preconditions.checkNotNull(factory);
+    }
+
+    @Override
+    public ByteBuf getPayload() {
+        return payload;
+    }
+
+    @Override
+    public void forEachFlowStats(final Consumer<? super FlowStats> consumer) {
+        Preconditions.checkNotNull(consumer);
+        final ByteBuf input = payload.duplicate();
+        while (input.isReadable()) {
+            consumer.accept(factory.readFlowStats(input));
+        }
+    }
+
+    /**
+     * @return body with all flow statistics decoded - prefer {@link #forEachFlowStats(Consumer)}
+     */
+    @Override
+    public MultipartReplyBody getMultipartReplyBody() {
+        MultipartReplyFlowCase ret = body;
+        if (ret == null) {
+            ret = factory.setFlow(payload.duplicate());
+            body = ret;
+        }
+        return ret;
+    }
+
+    @Override
+    public Short getVersion() {
+        return header.getVersion();
+    }
+
+    @Override
+    public Long getXid() {
+        return header.getXid();
+    }
+
+    @Override
+    public MultipartType getType() {
+        return header.getType();
+    }
+
+    @Override
+    public MultipartRequestFlags getFlags() {
+        return header.getFlags();
+    }
+
+    @Override
+    public <E extends Augmentation<MultipartReplyMessage>> E getAugmentation(final Class<E> augmentationType) {
+        return header.getAugmentation(augmentationType);
+    }
+
+    @Override
+    public Class<? extends DataContainer> getImplementedInterface() {
+        return MultipartReplyMessage.class;
+    }
+
+    @Override
+    public int refCnt() {
+        return payload.refCnt();
+    }
+
+    @Override
+    public StreamedFlowStatsReplyMessage retain() {
+        payload.retain();
+        return this;
+    }
+
+    @Override
+    public StreamedFlowStatsReplyMessage retain(final int increment) {
+        payload.retain(increment);
+        return this;
+    }
+
+    @Override
+    public StreamedFlowStatsReplyMessage touch() {
+        payload.touch();
+        return this;
+    }
+
+    @Override
+    public StreamedFlowStatsReplyMessage touch(final Object hint) {
+        payload.touch(hint);
+        return this;
+    }
+
+    @Override
+    public boolean release() {
+        return payload.release();
+    }
+
+    @Override
+    public boolean release(final int decrement) {
+        return payload.release(decrement);
+    }
+
+    @Override
+    public int hashCode() {
+        // Follows the generated implementation, hashing needs the body decoded
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + Objects.hashCode(getFlags());
+        result = prime * result + Objects.hashCode(getMultipartReplyBody());
+        result = prime * result + Objects.hashCode(getType());
+        result = prime * result + Objects.hashCode(getVersion());
+        result = prime * result + Objects.hashCode(getXid());
+        // Empty augmentation map hashes to zero
+        return prime * result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj instanceof StreamedFlowStatsReplyMessage) {
+            final StreamedFlowStatsReplyMessage other = (StreamedFlowStatsReplyMessage) obj;
+            return header.equals(other.header) && ByteBufUtil.equals(payload, other.payload);
+        }
+        if (!(obj instanceof DataObject)
+                || !MultipartReplyMessage.class.equals(((DataObject) obj).getImplementedInterface())) {
+            return false;
+        }
+
+        // We carry no augmentations, the generated implementation checks its own against ours.
+        // Body is compared last, as it has to be decoded from the payload.
+        final MultipartReplyMessage other = (MultipartReplyMessage) obj;
+        return Objects.equals(getFlags(), other.getFlags()) && Objects.equals(getType(), other.getType())
+                && Objects.equals(getVersion(), other.getVersion()) && Objects.equals(getXid(), other.getXid())
+                && Objects.equals(getMultipartReplyBody(), other.getMultipartReplyBody());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("header", header).add("payloadLength", payload.readableBytes())
+                .toString();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.serialization;
+
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.ActionChoice;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instruction.grouping.InstructionChoice;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.MatchField;
+
+/**
+ * {@link SerializerRegistry} able to resolve the most frequently looked up serializers
+ * (messages, OpenFlow basic match entries, actions and instructions) directly by their
+ * implemented class, without creating lookup keys. Experimenter serializers are not covered,
+ * those have to be looked up by key.
+ */
+public interface IndexedSerializerRegistry extends SerializerRegistry {
+
+    /**
+     * @param <S> type of particular serializer
+     * @param version openflow wire version
+     * @param messageType implemented interface of the message
+     * @return serializer found
+     * @throws IllegalStateException if there is no such serializer
+     */
+    <S extends OFGeneralSerializer> S getMessageSerializer(short version, Class<?> messageType);
+
+    /**
+     * @param <S> type of particular serializer
+     * @param version openflow wire version
+     * @param oxmField oxm_field of an OpenFlow basic class match entry
+     * @return serializer found
+     * @throws IllegalStateException if there is no such serializer
+     */
+    <S extends OFGeneralSerializer> S getMatchEntrySerializer(short version, Class<? extends MatchField> oxmField);
+
+    /**
+     * @param <S> type of particular serializer
+     * @param version openflow wire version
+     * @param actionType implemented interface of a non-experimenter action choice
+     * @return serializer found
+     * @throws IllegalStateException if there is no such serializer
+     */
+    <S extends OFGeneralSerializer> S getActionSerializer(short version, Class<? extends ActionChoice> actionType);
+
+    /**
+     * @param <S> type of particular serializer
+     * @param version openflow wire version
+     * @param instructionType implemented interface of a non-experimenter instruction choice
+     * @return serializer found
+     * @throws IllegalStateException if there is no such serializer
+     */
+    <S extends OFGeneralSerializer> S getInstructionSerializer(short version,
+            Class<? extends InstructionChoice> instructionType);
+}
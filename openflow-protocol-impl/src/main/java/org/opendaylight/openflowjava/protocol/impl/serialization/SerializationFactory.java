@@ -30,8 +30,13 @@ public class SerializationFactory {
      * @param message POJO message
      */
     public void messageToBuffer(short version, ByteBuf out, DataObject message) {
-        OFSerializer<DataObject> serializer = registry.getSerializer(
-                new MessageTypeKey<>(version, message.getImplementedInterface()));
+        final OFSerializer<DataObject> serializer;
+        if (registry instanceof IndexedSerializerRegistry) {
+            serializer = ((IndexedSerializerRegistry) registry).getMessageSerializer(version,
+                    message.getImplementedInterface());
+        } else {
+            serializer = registry.getSerializer(new MessageTypeKey<>(version, message.getImplementedInterface()));
+        }
         serializer.serialize(message, out);
     }
 
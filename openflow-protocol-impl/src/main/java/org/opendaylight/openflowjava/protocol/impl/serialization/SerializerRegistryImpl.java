@@ -11,12 +11,18 @@ package org.opendaylight.openflowjava.protocol.impl.serialization;
 import java.util.HashMap;
 import java.util.Map;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
-import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
+import org.opendaylight.openflowjava.protocol.api.keys.ActionSerializerKey;
+import org.opendaylight.openflowjava.protocol.api.keys.InstructionSerializerKey;
+import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.OF10MatchSerializer;
 import org.opendaylight.openflowjava.protocol.impl.util.OF13MatchSerializer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.ActionChoice;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instruction.grouping.InstructionChoice;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.MatchField;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OpenflowBasicClass;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.v10.grouping.MatchV10;
 import org.slf4j.Logger;
@@ -32,16 +38,28 @@ import org.slf4j.LoggerFactory;
  * @author giuseppex.petralia@intel.com
  *
  */
-public class SerializerRegistryImpl implements SerializerRegistry {
+public class SerializerRegistryImpl implements IndexedSerializerRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(SerializerRegistryImpl.class);
     private static final short OF10 = EncodeConstants.OF10_VERSION_ID;
     private static final short OF13 = EncodeConstants.OF13_VERSION_ID;
+    private static final int MESSAGE_INDEX = 0;
+    private static final int MATCH_ENTRY_INDEX = 1;
+    private static final int ACTION_INDEX = 2;
+    private static final int INSTRUCTION_INDEX = 3;
+    private static final int MAX_INDEXED_VERSION = 0xff;
+
     private Map<MessageTypeKey<?>, OFGeneralSerializer> registry;
+    /**
+     * Serializers resolved by class, one {@link ClassValue} per kind, holding serializers indexed
+     * by version. Filled on demand, replaced by empty ones whenever the registry changes.
+     */
+    private volatile ClassIndex[] classIndex = newClassIndex();
 
     @Override
     public void init() {
         registry = new HashMap<>();
+        classIndex = newClassIndex();
         // Openflow message type serializers
         MessageFactoryInitializer.registerMessageSerializers(this);
 
@@ -82,6 +100,7 @@ public class SerializerRegistryImpl implements SerializerRegistry {
             throw new IllegalArgumentException("MessageTypeKey or Serializer is null");
         }
         OFGeneralSerializer serInRegistry = registry.put(msgTypeKey, serializer);
+        classIndex = newClassIndex();
         if (serInRegistry != null) {
             LOG.debug("Serializer for key {} overwritten. Old serializer: {}, new serializer: {}", msgTypeKey,
                     serInRegistry.getClass().getName(), serializer.getClass().getName());
@@ -97,9 +116,86 @@ public class SerializerRegistryImpl implements SerializerRegistry {
             throw new IllegalArgumentException("MessageTypeKey is null");
         }
         OFGeneralSerializer serializer = registry.remove(msgTypeKey);
+        classIndex = newClassIndex();
         if (serializer == null) {
             return false;
         }
         return true;
     }
+
+    @Override
+    public <S extends OFGeneralSerializer> S getMessageSerializer(final short version, final Class<?> messageType) {
+        return getIndexedSerializer(MESSAGE_INDEX, version, messageType);
+    }
+
+    @Override
+    public <S extends OFGeneralSerializer> S getMatchEntrySerializer(final short version,
+            final Class<? extends MatchField> oxmField) {
+        return getIndexedSerializer(MATCH_ENTRY_INDEX, version, oxmField);
+    }
+
+    @Override
+    public <S extends OFGeneralSerializer> S getActionSerializer(final short version,
+            final Class<? extends ActionChoice> actionType) {
+        return getIndexedSerializer(ACTION_INDEX, version, actionType);
+    }
+
+    @Override
+    public <S extends OFGeneralSerializer> S getInstructionSerializer(final short version,
+            final Class<? extends InstructionChoice> instructionType) {
+        return getIndexedSerializer(INSTRUCTION_INDEX, version, instructionType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <S extends OFGeneralSerializer> S getIndexedSerializer(final int kind, final short version,
+            final Class<?> type) {
+        if (version < 0 || version > MAX_INDEXED_VERSION) {
+            return getSerializer(createIndexedKey(kind, version, type));
+        }
+
+        final OFGeneralSerializer[] versions = classIndex[kind].get(type);
+        final OFGeneralSerializer cached = versions[version];
+        if (cached != null) {
+            return (S) cached;
+        }
+
+        // Racing threads resolve the same serializer, so unsynchronized caching is fine
+        final OFGeneralSerializer serializer = getSerializer(createIndexedKey(kind, version, type));
+        versions[version] = serializer;
+        return (S) serializer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MessageTypeKey<?> createIndexedKey(final int kind, final short version, final Class<?> type) {
+        switch (kind) {
+            case MESSAGE_INDEX:
+                return new MessageTypeKey<>(version, type);
+            case MATCH_ENTRY_INDEX:
+                final MatchEntrySerializerKey<?, ?> key = new MatchEntrySerializerKey<>(version,
+                        OpenflowBasicClass.class, (Class<MatchField>) type);
+                key.setExperimenterId(null);
+                return key;
+            case ACTION_INDEX:
+                return new ActionSerializerKey<>(version, (Class<ActionChoice>) type, null);
+            case INSTRUCTION_INDEX:
+                return new InstructionSerializerKey<>(version, (Class<InstructionChoice>) type, null);
+            default:
+                throw new IllegalArgumentException("Unknown index " + kind);
+        }
+    }
+
+    private static ClassIndex[] newClassIndex() {
+        final ClassIndex[] ret = new ClassIndex[INSTRUCTION_INDEX + 1];
+        for (int i = 0; i < ret.length; i++) {
+            ret[i] = new ClassIndex();
+        }
+        return ret;
+    }
+
+    private static final class ClassIndex extends ClassValue<OFGeneralSerializer[]> {
+        @Override
+        protected OFGeneralSerializer[] computeValue(final Class<?> type) {
+            return new OFGeneralSerializer[MAX_INDEXED_VERSION + 1];
+        }
+    }
 }
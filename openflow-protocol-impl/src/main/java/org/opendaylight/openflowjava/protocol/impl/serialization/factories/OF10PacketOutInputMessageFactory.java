@@ -10,6 +10,7 @@ package org.opendaylight.openflowjava.protocol.impl.serialization.factories;
 
 import io.netty.buffer.ByteBuf;
 
+import org.opendaylight.openflowjava.protocol.api.connection.RetainedPayload;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistryInjector;
@@ -39,9 +40,13 @@ public class OF10PacketOutInputMessageFactory implements OFSerializer<PacketOutI
         ListSerializer.serializeList(message.getAction(), TypeKeyMakerFactory
                 .createActionKeyMaker(EncodeConstants.OF10_VERSION_ID), registry, outBuffer);
         outBuffer.setShort(actionsLengthIndex, outBuffer.writerIndex() - actionsStartIndex);
-        byte[] data = message.getData();
-        if (data != null) {
-            outBuffer.writeBytes(data);
+        if (message instanceof RetainedPayload) {
+            ByteBufUtils.writePayload(((RetainedPayload) message).getPayload(), outBuffer);
+        } else {
+            byte[] data = message.getData();
+            if (data != null) {
+                outBuffer.writeBytes(data);
+            }
         }
         ByteBufUtils.updateOFHeaderLength(outBuffer);
     }
@@ -7,6 +7,10 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.util;
 
+import io.netty.buffer.ByteBuf;
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
+
 /**
  * @author michal.polkorab
  */
@@ -29,4 +33,12 @@ public abstract class AbstractCodeKeyMaker implements CodeKeyMaker {
         return version;
     }
 
+    /**
+     * Looks the deserializer up by key created by {@link #make(ByteBuf)}
+     */
+    @Override
+    public <T extends OFGeneralDeserializer> T lookup(final ByteBuf input, final DeserializerRegistry registry) {
+        return registry.getDeserializer(make(input));
+    }
+
 }
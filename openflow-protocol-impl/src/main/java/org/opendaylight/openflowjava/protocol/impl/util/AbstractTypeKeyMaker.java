@@ -8,6 +8,8 @@
 
 package org.opendaylight.openflowjava.protocol.impl.util;
 
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 
 /**
  * @author michal.polkorab
@@ -32,4 +34,12 @@ public abstract class AbstractTypeKeyMaker<T> implements TypeKeyMaker<T> {
         return version;
     }
 
+    /**
+     * Looks the serializer up by key created by {@link #make(Object)}
+     */
+    @Override
+    public <S extends OFGeneralSerializer> S lookup(final T entry, final SerializerRegistry registry) {
+        return registry.getSerializer(make(entry));
+    }
+
 }
@@ -8,6 +8,8 @@
 
 package org.opendaylight.openflowjava.protocol.impl.util;
 
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 
 import io.netty.buffer.ByteBuf;
@@ -23,4 +25,12 @@ public interface CodeKeyMaker {
      */
     abstract MessageCodeKey make(ByteBuf input);
 
+    /**
+     * @param <T> type of particular deserializer
+     * @param input buffer that will be the needed data gathered from
+     * @param registry stores deserializers
+     * @return deserializer for the item at input's reader index
+     */
+    <T extends OFGeneralDeserializer> T lookup(ByteBuf input, DeserializerRegistry registry);
+
 }
@@ -10,6 +10,8 @@ package org.opendaylight.openflowjava.protocol.impl.util;
 
 import io.netty.buffer.ByteBuf;
 
+import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.ActionDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.ExperimenterActionDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.ExperimenterInstructionDeserializerKey;
@@ -17,6 +19,8 @@ import org.opendaylight.openflowjava.protocol.api.keys.InstructionDeserializerKe
 import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.api.util.OxmMatchConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.IndexedDeserializerRegistry;
 
 /**
  * @author michal.polkorab
@@ -49,6 +53,19 @@ public abstract class CodeKeyMakerFactory {
                 key.setExperimenterId(null);
                 return key;
             }
+
+            @Override
+            public <T extends OFGeneralDeserializer> T lookup(final ByteBuf input,
+                    final DeserializerRegistry registry) {
+                int oxmClass = input.getUnsignedShort(input.readerIndex());
+                if (oxmClass == OxmMatchConstants.OPENFLOW_BASIC_CLASS
+                        && registry instanceof IndexedDeserializerRegistry) {
+                    int oxmField = input.getUnsignedByte(input.readerIndex()
+                            + EncodeConstants.SIZE_OF_SHORT_IN_BYTES) >>> 1;
+                    return ((IndexedDeserializerRegistry) registry).getMatchEntryDeserializer(getVersion(), oxmField);
+                }
+                return super.lookup(input, registry);
+            }
         };
     }
 
@@ -69,6 +86,16 @@ public abstract class CodeKeyMakerFactory {
                 ActionDeserializerKey actionDeserializerKey = new ActionDeserializerKey(getVersion(), type, null);
                 return actionDeserializerKey;
             }
+
+            @Override
+            public <T extends OFGeneralDeserializer> T lookup(final ByteBuf input,
+                    final DeserializerRegistry registry) {
+                int type = input.getUnsignedShort(input.readerIndex());
+                if (type != EncodeConstants.EXPERIMENTER_VALUE && registry instanceof IndexedDeserializerRegistry) {
+                    return ((IndexedDeserializerRegistry) registry).getActionDeserializer(getVersion(), type);
+                }
+                return super.lookup(input, registry);
+            }
         };
     }
 
@@ -88,6 +115,16 @@ public abstract class CodeKeyMakerFactory {
                 }
                 return new InstructionDeserializerKey(getVersion(), type, null);
             }
+
+            @Override
+            public <T extends OFGeneralDeserializer> T lookup(final ByteBuf input,
+                    final DeserializerRegistry registry) {
+                int type = input.getUnsignedShort(input.readerIndex());
+                if (type != EncodeConstants.EXPERIMENTER_VALUE && registry instanceof IndexedDeserializerRegistry) {
+                    return ((IndexedDeserializerRegistry) registry).getInstructionDeserializer(getVersion(), type);
+                }
+                return super.lookup(input, registry);
+            }
         };
     }
 }
@@ -30,6 +30,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.matc
 public class MatchDeserializer implements OFDeserializer<Match>,
         DeserializerRegistryInjector {
 
+    private static final CodeKeyMaker KEY_MAKER = CodeKeyMakerFactory
+            .createMatchEntriesKeyMaker(EncodeConstants.OF13_VERSION_ID);
     private DeserializerRegistry registry;
 
     @Override
@@ -48,10 +50,8 @@ public class MatchDeserializer implements OFDeserializer<Match>,
             default:
                 break;
             }
-            CodeKeyMaker keyMaker = CodeKeyMakerFactory
-                    .createMatchEntriesKeyMaker(EncodeConstants.OF13_VERSION_ID);
             List<MatchEntry> entries = ListDeserializer.deserializeList(EncodeConstants.OF13_VERSION_ID,
-                    length - 2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES, input, keyMaker, registry);
+                    length - 2 * EncodeConstants.SIZE_OF_SHORT_IN_BYTES, input, KEY_MAKER, registry);
             builder.setMatchEntry(entries);
             int paddingRemainder = length % EncodeConstants.PADDING;
             if (paddingRemainder != 0) {
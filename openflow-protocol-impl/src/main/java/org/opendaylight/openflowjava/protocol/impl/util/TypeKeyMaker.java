@@ -8,6 +8,8 @@
 
 package org.opendaylight.openflowjava.protocol.impl.util;
 
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 
 /**
@@ -23,4 +25,12 @@ public interface TypeKeyMaker<T> {
      */
     abstract MessageTypeKey<?> make(T entry);
 
+    /**
+     * @param <S> type of particular serializer
+     * @param entry item to be serialized
+     * @param registry stores serializers
+     * @return serializer for the entry
+     */
+    <S extends OFGeneralSerializer> S lookup(T entry, SerializerRegistry registry);
+
 }
@@ -8,16 +8,20 @@
 
 package org.opendaylight.openflowjava.protocol.impl.util;
 
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
+import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.keys.ActionSerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.InstructionSerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MatchEntrySerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
+import org.opendaylight.openflowjava.protocol.impl.serialization.IndexedSerializerRegistry;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.augments.rev150225.oxm.container.match.entry.value.ExperimenterIdCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.ActionChoice;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.actions.grouping.Action;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instruction.grouping.InstructionChoice;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.instruction.rev130731.instructions.grouping.Instruction;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.ExperimenterClass;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OpenflowBasicClass;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.entries.grouping.MatchEntry;
 
 /**
@@ -50,6 +54,17 @@ public abstract class TypeKeyMakerFactory {
                 key.setExperimenterId(null);
                 return key;
             }
+
+            @Override
+            public <S extends OFGeneralSerializer> S lookup(final MatchEntry entry,
+                    final SerializerRegistry registry) {
+                if (OpenflowBasicClass.class.equals(entry.getOxmClass())
+                        && registry instanceof IndexedSerializerRegistry) {
+                    return ((IndexedSerializerRegistry) registry).getMatchEntrySerializer(getVersion(),
+                            entry.getOxmMatchField());
+                }
+                return super.lookup(entry, registry);
+            }
         };
     }
 
@@ -70,6 +85,15 @@ public abstract class TypeKeyMakerFactory {
                 return new ActionSerializerKey<>(getVersion(),
                         (Class<ActionChoice>) entry.getActionChoice().getImplementedInterface(), null);
             }
+
+            @Override
+            public <S extends OFGeneralSerializer> S lookup(final Action entry, final SerializerRegistry registry) {
+                if (entry.getExperimenterId() == null && registry instanceof IndexedSerializerRegistry) {
+                    return ((IndexedSerializerRegistry) registry).getActionSerializer(getVersion(),
+                            (Class<ActionChoice>) entry.getActionChoice().getImplementedInterface());
+                }
+                return super.lookup(entry, registry);
+            }
         };
     }
 
@@ -90,6 +114,16 @@ public abstract class TypeKeyMakerFactory {
                 return new InstructionSerializerKey<>(getVersion(),
                         (Class<InstructionChoice>) entry.getInstructionChoice().getImplementedInterface(), null);
             }
+
+            @Override
+            public <S extends OFGeneralSerializer> S lookup(final Instruction entry,
+                    final SerializerRegistry registry) {
+                if (entry.getExperimenterId() == null && registry instanceof IndexedSerializerRegistry) {
+                    return ((IndexedSerializerRegistry) registry).getInstructionSerializer(getVersion(),
+                            (Class<InstructionChoice>) entry.getInstructionChoice().getImplementedInterface());
+                }
+                return super.lookup(entry, registry);
+            }
         };
     }
 }
@@ -34,6 +34,10 @@ public enum CounterEventTypes {
      * flow-mod encoded and sent to downstream
      */
     DS_FLOW_MODS_SENT,
+    /**
+     * outbound queue crossed its high watermark of uncompleted requests
+     */
+    DS_OUTBOUND_CONGESTED,
     /**
      * packetIn message got dropped -filtering is active
      */
@@ -53,5 +57,17 @@ public enum CounterEventTypes {
     /**
      * pass message to consumer (end of upstream)
      */
-    US_MESSAGE_PASS;
+    US_MESSAGE_PASS,
+    /**
+     * connection-ready notification waited for a thread for more than a second
+     */
+    US_NOTIFICATION_DELAYED,
+    /**
+     * connection-ready notification did not fit into the executor queue and ran on the caller thread
+     */
+    US_NOTIFICATION_OVERFLOW,
+    /**
+     * reads from a channel got suspended - backpressure is active
+     */
+    US_READ_SUSPENDED;
 }
\ No newline at end of file
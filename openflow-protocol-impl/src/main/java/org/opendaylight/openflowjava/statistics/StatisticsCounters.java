@@ -45,10 +45,14 @@ public final class StatisticsCounters implements StatisticsHandler {
                     CounterEventTypes.DS_ENTERED_OFJAVA,
                     CounterEventTypes.DS_FLOW_MODS_ENTERED,
                     CounterEventTypes.DS_FLOW_MODS_SENT,
+                    CounterEventTypes.DS_OUTBOUND_CONGESTED,
             CounterEventTypes.US_DROPPED_PACKET_IN,
                     CounterEventTypes.US_DECODE_FAIL,
                     CounterEventTypes.US_DECODE_SUCCESS,
                     CounterEventTypes.US_MESSAGE_PASS,
+                    CounterEventTypes.US_NOTIFICATION_DELAYED,
+                    CounterEventTypes.US_NOTIFICATION_OVERFLOW,
+                    CounterEventTypes.US_READ_SUSPENDED,
                     CounterEventTypes.US_RECEIVED_IN_OFJAVA};
 
     /**
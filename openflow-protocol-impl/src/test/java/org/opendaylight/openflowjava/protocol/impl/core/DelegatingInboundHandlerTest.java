@@ -50,6 +50,18 @@ public class DelegatingInboundHandlerTest {
         // Verify that the message buf was released...
         verify( mockMsgConsumer, times(1)).consume(mockDataObject);
     }
+    /**
+     * ChannelReadComplete
+     */
+    @Test
+    public void testChannelReadComplete()   {
+        dih.channelRead(mockChHndlrCtx, mockDataObject) ;
+        dih.channelReadComplete(mockChHndlrCtx);
+
+        verify( mockMsgConsumer, times(1)).consumeComplete();
+        verify( mockChHndlrCtx, times(1)).fireChannelReadComplete();
+    }
+
     /**
      *
      */
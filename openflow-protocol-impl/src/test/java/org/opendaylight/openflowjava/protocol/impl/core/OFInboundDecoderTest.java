@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyShort;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelHandlerContext;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+import org.opendaylight.yangtools.yang.binding.DataObject;
+
+/**
+ * Test for {@link OFInboundDecoder}.
+ */
+public class OFInboundDecoderTest {
+
+    @Mock ChannelHandlerContext channelHandlerContext;
+    @Mock ConnectionFacade connectionFacade;
+    @Mock DeserializationFactory deserializationFactory;
+    @Mock DataObject dataObject;
+
+    private OFInboundDecoder decoder;
+    private final List<Object> list = new ArrayList<>();
+    private StatisticsCounters statCounters;
+
+    /**
+     * Sets up tests
+     */
+    @Before
+    public void setUp() {
+        MockitoAnnotations.initMocks(this);
+        decoder = new OFInboundDecoder(connectionFacade, false, deserializationFactory);
+        when(deserializationFactory.deserialize(any(ByteBuf.class), anyShort())).thenReturn(dataObject);
+        statCounters = StatisticsCounters.getInstance();
+        statCounters.startCounting(false, 0);
+        list.clear();
+    }
+
+    /**
+     * Stop counting after each test
+     */
+    @After
+    public void tearDown() {
+        statCounters.stopCounting();
+    }
+
+    /**
+     * Frames are deserialized without their version byte and consumed from the input
+     */
+    @Test
+    public void testDecode() {
+        final ByteBuf in = ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 01 04 00 00 08 00 00 00 02");
+        decoder.decode(channelHandlerContext, in, list);
+        Assert.assertEquals("Wrong number of messages", 1, list.size());
+        Assert.assertEquals("Wrong remaining bytes", 8, in.readableBytes());
+
+        final ArgumentCaptor<ByteBuf> captor = ArgumentCaptor.forClass(ByteBuf.class);
+        verify(deserializationFactory).deserialize(captor.capture(), eq((short) 4));
+        Assert.assertEquals("Wrong message length", 7, captor.getValue().readableBytes());
+        Assert.assertEquals("Wrong success count", 1,
+                statCounters.getCounter(CounterEventTypes.US_DECODE_SUCCESS).getCounterValue());
+    }
+
+    /**
+     * Incomplete frames are left in the input
+     */
+    @Test
+    public void testDecodeIncomplete() {
+        final ByteBuf in = ByteBufUtils.hexStringToByteBuf("04 00 00 10 00 00 00 01");
+        decoder.decode(channelHandlerContext, in, list);
+        Assert.assertEquals("List is not empty", 0, list.size());
+        Assert.assertEquals("Wrong remaining bytes", 8, in.readableBytes());
+    }
+
+    /**
+     * Unsupported versions are skipped, hello messages of any version are not
+     */
+    @Test
+    public void testDecodeVersion() {
+        final ByteBuf in = ByteBufUtils.hexStringToByteBuf("02 01 00 08 00 00 00 01");
+        decoder.decode(channelHandlerContext, in, list);
+        Assert.assertEquals("List is not empty", 0, list.size());
+        Assert.assertEquals("Frame was not skipped", 0, in.readableBytes());
+
+        decoder.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("05 00 00 08 00 00 00 01"), list);
+        Assert.assertEquals("Hello was not decoded", 1, list.size());
+    }
+
+    /**
+     * Filtered packet-ins are dropped before deserialization
+     */
+    @Test
+    public void testFilterPacketIns() {
+        decoder.setFilterPacketIns(true);
+        final ByteBuf in = ByteBufUtils.hexStringToByteBuf("04 0a 00 08 00 00 00 01");
+        decoder.decode(channelHandlerContext, in, list);
+        Assert.assertEquals("List is not empty", 0, list.size());
+        Assert.assertEquals("Frame was not skipped", 0, in.readableBytes());
+        verify(deserializationFactory, never()).deserialize(any(ByteBuf.class), anyShort());
+        Assert.assertEquals("Wrong dropped count", 1,
+                statCounters.getCounter(CounterEventTypes.US_DROPPED_PACKET_IN).getCounterValue());
+    }
+
+    /**
+     * PacketIns over the rate limit are dropped before deserialization
+     */
+    @Test
+    public void testPacketInRateLimit() {
+        decoder.setPacketInRateLimit(PacketInRateLimit.create(1, 1));
+        final ByteBuf in = ByteBufUtils.hexStringToByteBuf("04 0a 00 10 00 00 00 01 ff ff ff ff 00 00 00 00"
+                + " 04 0a 00 10 00 00 00 02 ff ff ff ff 00 00 00 00");
+        decoder.decode(channelHandlerContext, in, list);
+        decoder.decode(channelHandlerContext, in, list);
+        Assert.assertEquals("Wrong number of messages", 1, list.size());
+        Assert.assertEquals("Frame was not skipped", 0, in.readableBytes());
+        verify(deserializationFactory, times(1)).deserialize(any(ByteBuf.class), anyShort());
+        Assert.assertEquals("Wrong dropped count", 1,
+                statCounters.getCounter(CounterEventTypes.US_DROPPED_PACKET_IN).getCounterValue());
+    }
+
+    /**
+     * Deserialization failures are counted and the frame is skipped
+     */
+    @Test
+    public void testDecodeFailure() {
+        when(deserializationFactory.deserialize(any(ByteBuf.class), anyShort()))
+                .thenThrow(new IllegalArgumentException());
+        final ByteBuf in = ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 01");
+        decoder.decode(channelHandlerContext, in, list);
+        Assert.assertEquals("List is not empty", 0, list.size());
+        Assert.assertEquals("Frame was not skipped", 0, in.readableBytes());
+        Assert.assertEquals("Wrong failure count", 1,
+                statCounters.getCounter(CounterEventTypes.US_DECODE_FAIL).getCounterValue());
+    }
+
+    /**
+     * Connection ready notification is fired on first decode with TLS
+     */
+    @Test
+    public void testTlsNotification() {
+        decoder = new OFInboundDecoder(connectionFacade, true, deserializationFactory);
+        decoder.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 01"), list);
+        decoder.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 01"), list);
+        verify(connectionFacade, times(1)).fireConnectionReadyNotification();
+    }
+}
@@ -20,6 +20,7 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
 import org.opendaylight.openflowjava.util.ByteBufUtils;
 
 /**
@@ -70,4 +71,20 @@ public class OFVersionDetectorTest {
         detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("05 00 00 08 00 00 00 01"), list);
         Assert.assertEquals(7, ((VersionMessageWrapper) list.get(0)).getMessageBuffer().readableBytes());
     }
+
+    @Test
+    public void testDecodePacketInRateLimit() {
+        detector.setPacketInRateLimit(PacketInRateLimit.create(1, 1));
+        final String packetIn = "04 0a 00 10 00 00 00 01 ff ff ff ff 00 00 00 00";
+        detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf(packetIn), list);
+        detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf(packetIn), list);
+        detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf("04 00 00 08 00 00 00 01"), list);
+        Assert.assertEquals("Wrong number of messages", 2, list.size());
+        Assert.assertEquals("PacketIn was not passed", 15,
+                ((VersionMessageWrapper) list.get(0)).getMessageBuffer().readableBytes());
+
+        detector.setPacketInRateLimit(PacketInRateLimit.UNLIMITED);
+        detector.decode(channelHandlerContext, ByteBufUtils.hexStringToByteBuf(packetIn), list);
+        Assert.assertEquals("PacketIn was not passed", 3, list.size());
+    }
 }
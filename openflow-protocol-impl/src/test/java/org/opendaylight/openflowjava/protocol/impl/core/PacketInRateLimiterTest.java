@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+
+package org.opendaylight.openflowjava.protocol.impl.core;
+
+import io.netty.buffer.ByteBuf;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
+import org.opendaylight.openflowjava.util.ByteBufUtils;
+
+/**
+ * Test for {@link PacketInRateLimiter}.
+ */
+public class PacketInRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Unlimited limit needs no limiter
+     */
+    @Test
+    public void testUnlimited() {
+        Assert.assertNull("Limiter should not be created", PacketInRateLimiter.forLimit(PacketInRateLimit.UNLIMITED));
+    }
+
+    /**
+     * Burst is accepted at once, further PacketIns are accepted as the bucket refills
+     */
+    @Test
+    public void testBurstAndRefill() {
+        final PacketInRateLimiter limiter = PacketInRateLimiter.forLimit(PacketInRateLimit.create(10, 2));
+        final ByteBuf packetIn = packetIn13(0, 0);
+        Assert.assertTrue("Burst should be accepted", acquire(limiter, packetIn, 0));
+        Assert.assertTrue("Burst should be accepted", acquire(limiter, packetIn, 0));
+        Assert.assertFalse("Over burst should be dropped", acquire(limiter, packetIn, 0));
+
+        Assert.assertFalse("Bucket should not be refilled yet", acquire(limiter, packetIn, SECOND / 20));
+        Assert.assertTrue("Bucket should be refilled", acquire(limiter, packetIn, SECOND / 10));
+        Assert.assertFalse("Bucket should be empty", acquire(limiter, packetIn, SECOND / 10));
+
+        Assert.assertTrue("Bucket should be full", acquire(limiter, packetIn, 10 * SECOND));
+        Assert.assertTrue("Bucket should be full", acquire(limiter, packetIn, 10 * SECOND));
+        Assert.assertFalse("Bucket should not overflow", acquire(limiter, packetIn, 10 * SECOND));
+    }
+
+    /**
+     * Reasons and tables get buckets of their own only if requested
+     */
+    @Test
+    public void testPerReasonAndTable() {
+        PacketInRateLimiter limiter = PacketInRateLimiter.forLimit(PacketInRateLimit.create(1, 1));
+        Assert.assertTrue("First PacketIn should be accepted", acquire(limiter, packetIn13(0, 0), 0));
+        Assert.assertFalse("Reasons should share a bucket", acquire(limiter, packetIn13(1, 0), 0));
+
+        limiter = PacketInRateLimiter.forLimit(PacketInRateLimit.create(1, 1).withPerReason(true));
+        Assert.assertTrue("First PacketIn should be accepted", acquire(limiter, packetIn13(0, 0), 0));
+        Assert.assertTrue("Reasons should not share a bucket", acquire(limiter, packetIn13(1, 0), 0));
+        Assert.assertFalse("Tables should share a bucket", acquire(limiter, packetIn13(1, 254), 0));
+
+        limiter = PacketInRateLimiter.forLimit(PacketInRateLimit.create(1, 1).withPerTable(true));
+        Assert.assertTrue("First PacketIn should be accepted", acquire(limiter, packetIn13(0, 0), 0));
+        Assert.assertTrue("Tables should not share a bucket", acquire(limiter, packetIn13(0, 254), 0));
+        Assert.assertFalse("Reasons should share a bucket", acquire(limiter, packetIn13(2, 254), 0));
+    }
+
+    /**
+     * OF1.0 PacketIns have their reason at a different offset and no table ID
+     */
+    @Test
+    public void testOF10() {
+        final PacketInRateLimiter limiter = PacketInRateLimiter.forLimit(PacketInRateLimit.create(1, 1)
+                .withPerReason(true).withPerTable(true));
+        final ByteBuf noMatch = ByteBufUtils.hexStringToByteBuf(
+                "01 0a 00 12 00 00 00 01 ff ff ff ff 00 00 00 01 00 00");
+        final ByteBuf action = ByteBufUtils.hexStringToByteBuf(
+                "01 0a 00 12 00 00 00 01 ff ff ff ff 00 00 00 01 01 00");
+        Assert.assertTrue("First PacketIn should be accepted", acquire(limiter, noMatch, 0));
+        Assert.assertTrue("Reasons should not share a bucket", acquire(limiter, action, 0));
+        Assert.assertFalse("Bucket should be empty", acquire(limiter, noMatch, 0));
+    }
+
+    private static boolean acquire(final PacketInRateLimiter limiter, final ByteBuf packetIn, final long now) {
+        return limiter.tryAcquire(packetIn, packetIn.readerIndex(), packetIn.readableBytes(), now);
+    }
+
+    private static ByteBuf packetIn13(final int reason, final int tableId) {
+        return ByteBufUtils.hexStringToByteBuf(String.format("04 0a 00 10 00 00 00 01 ff ff ff ff 00 00 %02x %02x",
+                reason, tableId));
+    }
+}
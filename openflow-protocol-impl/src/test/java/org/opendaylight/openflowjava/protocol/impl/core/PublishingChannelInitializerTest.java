@@ -32,6 +32,7 @@ import org.opendaylight.openflowjava.protocol.api.connection.SwitchConnectionHan
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfigurationImpl;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterFactory;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionAdapterSettings;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.ConnectionFacade;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializationFactory;
 import org.opendaylight.openflowjava.protocol.impl.serialization.SerializationFactory;
@@ -82,7 +83,8 @@ public class PublishingChannelInitializerTest {
 
         inetSockAddr = new InetSocketAddress(InetAddress.getLocalHost(), 8675 ) ;
 
-        when(mockConnAdaptorFactory.createConnectionFacade(mockSocketCh, null, true))
+        when(mockConnAdaptorFactory.createConnectionFacade(eq(mockSocketCh), eq((InetSocketAddress) null),
+                any(ConnectionAdapterSettings.class)))
         .thenReturn(mockConnFacade);
         when(mockSocketCh.remoteAddress()).thenReturn(inetSockAddr) ;
         when(mockSocketCh.localAddress()).thenReturn(inetSockAddr) ;
@@ -131,6 +133,25 @@ public class PublishingChannelInitializerTest {
         verifyCommonHandlers();
     }
 
+    /**
+     * Test channel initialization with the fused inbound decoder
+     */
+    @Test
+    public void testinitChannelFusedInboundDecoder()  {
+        pubChInitializer.setUseFusedInboundDecoder(true);
+        pubChInitializer.initChannel(mockSocketCh) ;
+
+        verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.OF_INBOUND_DECODER.name()),
+                any(OFInboundDecoder.class));
+        verify(mockChPipeline, times(0)).addLast(eq(PipelineHandlers.OF_FRAME_DECODER.name()),
+                any(OFFrameDecoder.class));
+        verify(mockChPipeline, times(0)).addLast(eq(PipelineHandlers.OF_VERSION_DETECTOR.name()),
+                any(OFVersionDetector.class));
+        verify(mockChPipeline, times(0)).addLast(eq(PipelineHandlers.OF_DECODER.name()), any(OFDecoder.class));
+        verify(mockChPipeline, times(1)).addLast(eq(PipelineHandlers.DELEGATING_INBOUND_HANDLER.name()),
+                any(DelegatingInboundHandler.class));
+    }
+
     /**
      * Test disconnect on new connection rejected
      * @throws UnknownHostException
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.impl.core.connection.BackpressureController.Source;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+
+/**
+ * {@link BackpressureController} class test
+ */
+public class BackpressureControllerTest {
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+    private final BackpressureController backpressure = new BackpressureController(channel);
+    private StatisticsCounters statCounters;
+
+    /**
+     * Start counting before each test
+     */
+    @Before
+    public void setUp() {
+        statCounters = StatisticsCounters.getInstance();
+        statCounters.startCounting(false, 0);
+    }
+
+    /**
+     * Stop counting after each test
+     */
+    @After
+    public void tearDown() {
+        statCounters.stopCounting();
+    }
+
+    /**
+     * Reads stay suspended until every source which suspended them resumes them
+     */
+    @Test
+    public void testSources() {
+        backpressure.suspend(Source.UPSTREAM);
+        Assert.assertFalse("Reads should be suspended", channel.config().isAutoRead());
+        backpressure.suspend(Source.APPLICATION);
+        backpressure.suspend(Source.APPLICATION);
+
+        backpressure.resume(Source.UPSTREAM);
+        Assert.assertFalse("Reads should still be suspended", channel.config().isAutoRead());
+        Assert.assertTrue("Application should suspend reads", backpressure.isSuspendedBy(Source.APPLICATION));
+
+        backpressure.resume(Source.APPLICATION);
+        Assert.assertTrue("Reads should be resumed", channel.config().isAutoRead());
+        Assert.assertEquals("Wrong suspend count", 1, backpressure.getSuspendCount());
+        Assert.assertEquals("Wrong suspended counter", 1,
+                statCounters.getCounter(CounterEventTypes.US_READ_SUSPENDED).getCounterValue());
+    }
+
+    /**
+     * Resuming reads which have not been suspended does nothing
+     */
+    @Test
+    public void testResumeNotSuspended() {
+        backpressure.resume(Source.UPSTREAM);
+        Assert.assertTrue("Reads should not be suspended", channel.config().isAutoRead());
+        Assert.assertEquals("Wrong suspend count", 0, backpressure.getSuspendCount());
+        Assert.assertEquals("Wrong suspended time", 0, backpressure.getSuspendedNanos());
+    }
+
+    /**
+     * Outbound congestion is counted on transitions only and does not suspend reads
+     */
+    @Test
+    public void testOutboundCongested() {
+        backpressure.setOutboundCongested(true);
+        backpressure.setOutboundCongested(true);
+        Assert.assertTrue("Outbound queue should be congested", backpressure.isOutboundCongested());
+        Assert.assertTrue("Reads should not be suspended", channel.config().isAutoRead());
+
+        backpressure.setOutboundCongested(false);
+        Assert.assertFalse("Outbound queue should not be congested", backpressure.isOutboundCongested());
+        Assert.assertEquals("Wrong congested counter", 1,
+                statCounters.getCounter(CounterEventTypes.DS_OUTBOUND_CONGESTED).getCounterValue());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for BarrierPolicy.
+ */
+public class BarrierPolicyTest {
+    private static final int INITIAL_MESSAGES = 1024;
+    private static final long INITIAL_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int MAX_MESSAGES = INITIAL_MESSAGES * BarrierPolicy.DEFAULT_CAP_MULTIPLE;
+    private static final long MAX_NANOS = INITIAL_NANOS * BarrierPolicy.DEFAULT_CAP_MULTIPLE;
+    private static final long RTT_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private long now;
+    private long xid;
+
+    /**
+     * Registered values are used until the first barrier completes
+     */
+    @Test
+    public void testInitial() {
+        final BarrierPolicy policy = new BarrierPolicy(INITIAL_MESSAGES, INITIAL_NANOS);
+        Assert.assertEquals("Wrong message limit", INITIAL_MESSAGES, policy.getMessageLimit());
+        Assert.assertEquals("Wrong interval", INITIAL_NANOS, policy.getIntervalNanos());
+        Assert.assertEquals("Wrong RTT", 0, policy.getRttNanos());
+    }
+
+    /**
+     * Piling completions narrow the barrier interval down to the round-trip time
+     */
+    @Test
+    public void testNarrow() {
+        final BarrierPolicy policy = new BarrierPolicy(INITIAL_MESSAGES, INITIAL_NANOS);
+        for (int i = 0; i < 100; ++i) {
+            roundTrip(policy, 2 * INITIAL_MESSAGES);
+        }
+
+        Assert.assertEquals("Wrong message limit", BarrierPolicy.MIN_BARRIER_MESSAGES, policy.getMessageLimit());
+        Assert.assertEquals("Wrong RTT", RTT_NANOS, policy.getRttNanos());
+        Assert.assertEquals("Wrong interval", RTT_NANOS, policy.getIntervalNanos());
+    }
+
+    /**
+     * Switch keeping up widens the barrier interval past registered values, up to the caps
+     */
+    @Test
+    public void testWiden() {
+        final BarrierPolicy policy = new BarrierPolicy(INITIAL_MESSAGES, INITIAL_NANOS);
+        for (int i = 0; i < 100; ++i) {
+            roundTrip(policy, 2 * INITIAL_MESSAGES);
+        }
+        for (int i = 0; i < 100; ++i) {
+            roundTrip(policy, 0);
+        }
+
+        Assert.assertEquals("Wrong message limit", MAX_MESSAGES, policy.getMessageLimit());
+        Assert.assertEquals("Wrong interval", MAX_NANOS, policy.getIntervalNanos());
+    }
+
+    /**
+     * Fast switch keeping up with a high write rate widens the barrier interval, only requests
+     * waiting for their responses count as outstanding
+     */
+    @Test
+    public void testWidenFastSwitch() {
+        final BarrierPolicy policy = new BarrierPolicy(INITIAL_MESSAGES, INITIAL_NANOS);
+        for (int i = 0; i < 100; ++i) {
+            roundTrip(policy, 2 * INITIAL_MESSAGES);
+        }
+        final long narrowed = policy.getIntervalNanos();
+
+        for (int i = 0; i < 100; ++i) {
+            // Thousands of callback-less messages per round trip, a handful of them waiting for responses
+            policy.onBarrierWritten(xid, now);
+            now += TimeUnit.MICROSECONDS.toNanos(100);
+            Assert.assertTrue("Barrier should be measured", policy.onBarrierCompleted(xid, now, 4));
+            xid++;
+        }
+
+        Assert.assertTrue("Interval should widen", policy.getIntervalNanos() > narrowed);
+        Assert.assertTrue("Interval should widen past registered value", policy.getIntervalNanos() > INITIAL_NANOS);
+        Assert.assertEquals("Wrong message limit", MAX_MESSAGES, policy.getMessageLimit());
+        Assert.assertEquals("Wrong interval", MAX_NANOS, policy.getIntervalNanos());
+    }
+
+    /**
+     * Explicit caps bound widening
+     */
+    @Test
+    public void testCaps() {
+        final BarrierPolicy policy = new BarrierPolicy(INITIAL_MESSAGES, INITIAL_NANOS, 2 * INITIAL_MESSAGES,
+            2 * INITIAL_NANOS);
+        for (int i = 0; i < 100; ++i) {
+            roundTrip(policy, 0);
+        }
+
+        Assert.assertEquals("Wrong message limit", 2 * INITIAL_MESSAGES, policy.getMessageLimit());
+        Assert.assertEquals("Wrong interval", 2 * INITIAL_NANOS, policy.getIntervalNanos());
+    }
+
+    /**
+     * Caps cannot be below initial values
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCaps() {
+        new BarrierPolicy(INITIAL_MESSAGES, INITIAL_NANOS, INITIAL_MESSAGES - 1, INITIAL_NANOS);
+    }
+
+    /**
+     * Only a single barrier is measured and unrelated replies are ignored
+     */
+    @Test
+    public void testMeasuredBarrier() {
+        final BarrierPolicy policy = new BarrierPolicy(INITIAL_MESSAGES, INITIAL_NANOS);
+        policy.onBarrierWritten(10, 0);
+        policy.onBarrierWritten(20, 1);
+        Assert.assertTrue("Barrier should be in flight", policy.isBarrierInFlight(RTT_NANOS));
+        Assert.assertFalse("Barrier should not be measured", policy.onBarrierCompleted(20, RTT_NANOS, 0));
+        Assert.assertTrue("Barrier should be measured", policy.onBarrierCompleted(10, RTT_NANOS, 0));
+        Assert.assertFalse("Barrier should not be in flight", policy.isBarrierInFlight(RTT_NANOS));
+
+        // Reply XIDs are 32bit
+        policy.onBarrierWritten(0x100000005L, 0);
+        Assert.assertTrue("Barrier should be measured", policy.onBarrierCompleted(5, RTT_NANOS, 0));
+    }
+
+    private void roundTrip(final BarrierPolicy policy, final int outstanding) {
+        policy.onBarrierWritten(xid, now);
+        now += RTT_NANOS;
+        Assert.assertTrue("Barrier should be measured", policy.onBarrierCompleted(xid, now, outstanding));
+        xid++;
+    }
+}
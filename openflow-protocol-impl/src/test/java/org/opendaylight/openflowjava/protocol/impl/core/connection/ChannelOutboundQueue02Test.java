@@ -7,27 +7,26 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandler;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.embedded.EmbeddedChannel;
 import java.net.InetSocketAddress;
-import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.RetainedPacketOutInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoReplyInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.ExperimenterInput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketOutInput;
 
 /**
  * @author madamjak
@@ -35,22 +34,12 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  */
 public class ChannelOutboundQueue02Test {
     private static int counter;
-    private static final int RPC_RESPONSE_EXPIRATION = 1;
-    private static final RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>> REMOVAL_LISTENER =
-            new RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>>() {
-        @Override
-        public void onRemoval(
-                final RemovalNotification<RpcResponseKey, ResponseExpectedRpcListener<?>> notification) {
-            notification.getValue().discard();
-        }
-    };
-
     @Mock EchoInput echoInput;
     @Mock BarrierInput barrierInput;
     @Mock EchoReplyInput echoReplyInput;
     @Mock ExperimenterInput experimenterInput;
+    @Mock PacketOutInput packetOutInput;
     private ConnectionAdapterImpl adapter;
-    private Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache;
     /**
      * Initialize mocks
      */
@@ -76,9 +65,6 @@ public class ChannelOutboundQueue02Test {
     public void test01() throws Exception {
         final EmbeddedChannel ec = new EmbeddedChannel(new EmbededChannelHandler());
         adapter = new ConnectionAdapterImpl(ec, InetSocketAddress.createUnresolved("localhost", 9876), true);
-        cache = CacheBuilder.newBuilder().concurrencyLevel(1).expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES)
-                .removalListener(REMOVAL_LISTENER).build();
-        adapter.setResponseCache(cache);
         final ChannelOutboundQueue cq = (ChannelOutboundQueue) ec.pipeline().last();
         counter=0;
         adapter.barrier(barrierInput);
@@ -101,9 +87,6 @@ public class ChannelOutboundQueue02Test {
     public void test02(){
         final ChangeWritableEmbededChannel ec = new ChangeWritableEmbededChannel(new EmbededChannelHandler());
         adapter = new ConnectionAdapterImpl(ec, InetSocketAddress.createUnresolved("localhost", 9876), true);
-        cache = CacheBuilder.newBuilder().concurrencyLevel(1).expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES)
-                .removalListener(REMOVAL_LISTENER).build();
-        adapter.setResponseCache(cache);
         ec.setReadOnly();
         counter=0;
         adapter.barrier(barrierInput);
@@ -117,6 +100,41 @@ public class ChannelOutboundQueue02Test {
         Assert.assertEquals("Wrong - write to writtable channel",4, counter);
     }
 
+    /**
+     * Test payload release of a packet-out rejected by a full queue
+     */
+    @Test
+    public void test03() {
+        final ChangeWritableEmbededChannel ec = new ChangeWritableEmbededChannel(new EmbededChannelHandler());
+        adapter = new ConnectionAdapterImpl(ec, InetSocketAddress.createUnresolved("localhost", 9876),
+                ConnectionAdapterSettings.create(true).withChannelOutboundQueueSize(2));
+        // Nothing is flushed out of a read only channel, fill the queue up
+        while (!adapter.echo(echoInput).isDone()) {
+            // Keep enqueueing
+        }
+
+        final ByteBuf payload = Unpooled.buffer(16);
+        Assert.assertTrue("Packet-out should be rejected",
+                adapter.packetOut(RetainedPacketOutInput.create(packetOutInput, payload)).isDone());
+        Assert.assertEquals("Payload of rejected packet-out not released", 0, payload.refCnt());
+    }
+
+    /**
+     * Test payload release of a packet-out dropped on channel disconnect
+     */
+    @Test
+    public void test04() throws Exception {
+        final ChangeWritableEmbededChannel ec = new ChangeWritableEmbededChannel(new EmbededChannelHandler());
+        adapter = new ConnectionAdapterImpl(ec, InetSocketAddress.createUnresolved("localhost", 9876), true);
+        final ChannelOutboundQueue cq = (ChannelOutboundQueue) ec.pipeline().last();
+
+        final ByteBuf payload = Unpooled.buffer(16);
+        adapter.packetOut(RetainedPacketOutInput.create(packetOutInput, payload));
+        Assert.assertEquals("Payload of queued packet-out released", 1, payload.refCnt());
+        cq.channelInactive(ec.pipeline().lastContext());
+        Assert.assertEquals("Payload of dropped packet-out not released", 0, payload.refCnt());
+    }
+
     /**
      * Channel Handler for testing
      * @author madamjak
@@ -52,4 +52,16 @@ public class ChannelOutboundQueueTest {
         enqueued = queue.enqueue(new SimpleRpcListener("INPUT", "Failed to send INPUT"));
         Assert.assertFalse("Enqueue problem", enqueued);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test queue depth is honored exactly, even if it is not a power of two
+     */
+    @Test
+    public void testEnqueueDepth() {
+        ChannelOutboundQueue queue = new ChannelOutboundQueue(channel, 3, null);
+        for (int i = 0; i < 3; ++i) {
+            Assert.assertTrue("Enqueue problem", queue.enqueue(new SimpleRpcListener("INPUT", "Failed to send INPUT")));
+        }
+        Assert.assertFalse("Enqueue over depth", queue.enqueue(new SimpleRpcListener("INPUT", "Failed to send INPUT")));
+    }
+}
@@ -40,4 +40,25 @@ public class ConnectionAdapterFactoryImplTest {
         Assert.assertNotNull("Wrong - ConnectionFacade has not created.", connFacade);
         Assert.assertEquals("Wrong - diffrence between channel.isOpen() and ConnectionFacade.isAlive()", channel.isOpen(), connFacade.isAlive());
     }
+
+    /**
+     * Test connection facade creation with explicit settings
+     */
+    @Test
+    public void testSettings() {
+        final ConnectionAdapterFactoryImpl connAdapterFactory = new ConnectionAdapterFactoryImpl();
+        final ConnectionFacade connFacade = connAdapterFactory.createConnectionFacade(channel, address,
+                ConnectionAdapterSettings.create(false).withChannelOutboundQueueSize(16));
+        Assert.assertNotNull("Wrong - ConnectionFacade has not created.", connFacade);
+        Assert.assertEquals("Wrong - diffrence between channel.isOpen() and ConnectionFacade.isAlive()",
+                channel.isOpen(), connFacade.isAlive());
+    }
+
+    /**
+     * Test invalid queue size is rejected
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidQueueSize() {
+        ConnectionAdapterSettings.create(true).withChannelOutboundQueueSize(0);
+    }
 }
@@ -7,22 +7,22 @@
  */
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
 import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
 import io.netty.channel.ChannelOutboundHandlerAdapter;
 import io.netty.channel.ChannelPromise;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.embedded.EmbeddedChannel;
 import java.net.InetSocketAddress;
-import java.util.concurrent.TimeUnit;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueHandler;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueSettings;
+import org.opendaylight.openflowjava.protocol.impl.core.PipelineHandlers;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoReplyInput;
@@ -49,16 +49,6 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
  * @author michal.polkorab
  */
 public class ConnectionAdapterImpl02Test {
-    private static final int RPC_RESPONSE_EXPIRATION = 1;
-    private static final RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>> REMOVAL_LISTENER =
-            new RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>>() {
-        @Override
-        public void onRemoval(
-                final RemovalNotification<RpcResponseKey, ResponseExpectedRpcListener<?>> notification) {
-            notification.getValue().discard();
-        }
-    };
-
     @Mock EchoInput echoInput;
     @Mock BarrierInput barrierInput;
     @Mock EchoReplyInput echoReplyInput;
@@ -78,8 +68,8 @@ public class ConnectionAdapterImpl02Test {
     @Mock TableModInput tableModInput;
     @Mock GetAsyncInput getAsyncInput;
     @Mock SetAsyncInput setAsyncInput;
+    @Mock OutboundQueueHandler queueHandler;
     private ConnectionAdapterImpl adapter;
-    private Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache;
     private OfHeader responseOfCall;
     /**
      * Initialize mocks
@@ -104,9 +94,6 @@ public class ConnectionAdapterImpl02Test {
     public void testRcp() {
         final EmbeddedChannel embChannel = new EmbeddedChannel(new EmbededChannelHandler());
         adapter = new ConnectionAdapterImpl(embChannel, InetSocketAddress.createUnresolved("localhost", 9876), true);
-        cache = CacheBuilder.newBuilder().concurrencyLevel(1).expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES)
-                .removalListener(REMOVAL_LISTENER).build();
-        adapter.setResponseCache(cache);
         // -- barrier
         adapter.barrier(barrierInput);
         embChannel.runPendingTasks();
@@ -186,6 +173,41 @@ public class ConnectionAdapterImpl02Test {
         adapter.disconnect();
     }
 
+    /**
+     * Test custom outbound queue watermarks below the channel's default ones
+     */
+    @Test
+    public void testOutboundQueueSmallWatermarks() {
+        final EmbeddedChannel embChannel = createDelegatingChannel();
+        adapter = new ConnectionAdapterImpl(embChannel, InetSocketAddress.createUnresolved("localhost", 9876), true);
+        adapter.registerOutboundQueueHandler(queueHandler, 100, 1000, OutboundQueueSettings.create(512, 1000, 2000));
+        Assert.assertEquals("Wrong low watermark", 1000, embChannel.config().getWriteBufferLowWaterMark());
+        Assert.assertEquals("Wrong high watermark", 2000, embChannel.config().getWriteBufferHighWaterMark());
+    }
+
+    /**
+     * Test outbound queue watermarks below the ones the channel has been using
+     */
+    @Test
+    public void testOutboundQueueWatermarksBelowPrevious() {
+        final EmbeddedChannel embChannel = createDelegatingChannel();
+        embChannel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(
+                OutboundQueueSettings.LARGE.getLowWatermark(), OutboundQueueSettings.LARGE.getHighWatermark()));
+        adapter = new ConnectionAdapterImpl(embChannel, InetSocketAddress.createUnresolved("localhost", 9876), true);
+        adapter.registerOutboundQueueHandler(queueHandler, 100, 1000, OutboundQueueSettings.SMALL);
+        Assert.assertEquals("Wrong low watermark", OutboundQueueSettings.SMALL.getLowWatermark(),
+                embChannel.config().getWriteBufferLowWaterMark());
+        Assert.assertEquals("Wrong high watermark", OutboundQueueSettings.SMALL.getHighWatermark(),
+                embChannel.config().getWriteBufferHighWaterMark());
+    }
+
+    private static EmbeddedChannel createDelegatingChannel() {
+        final EmbeddedChannel embChannel = new EmbeddedChannel();
+        embChannel.pipeline().addLast(PipelineHandlers.DELEGATING_INBOUND_HANDLER.name(),
+                new ChannelInboundHandlerAdapter());
+        return embChannel;
+    }
+
     /**
      * Channel Handler for testing
      * @author madamjak
@@ -8,25 +8,25 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
-import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.common.cache.RemovalListener;
-import com.google.common.cache.RemovalNotification;
+import com.google.common.collect.ImmutableList;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.socket.SocketChannel;
 import java.net.InetSocketAddress;
-import java.util.concurrent.TimeUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionReadyListener;
+import org.opendaylight.openflowjava.protocol.api.extensibility.AlienMessageListener;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
@@ -64,26 +64,17 @@ import org.opendaylight.yangtools.yang.binding.DataObject;
  */
 public class ConnectionAdapterImplTest {
 
-    private static final int RPC_RESPONSE_EXPIRATION = 1;
-    private static final RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>> REMOVAL_LISTENER =
-            new RemovalListener<RpcResponseKey, ResponseExpectedRpcListener<?>>() {
-        @Override
-        public void onRemoval(
-                final RemovalNotification<RpcResponseKey, ResponseExpectedRpcListener<?>> notification) {
-            notification.getValue().discard();
-        }
-    };
-
     @Mock SocketChannel channel;
     @Mock ChannelPipeline pipeline;
     @Mock OpenflowProtocolListener messageListener;
     @Mock SystemNotificationsListener systemListener;
     @Mock ConnectionReadyListener readyListener;
-    @Mock Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> mockCache;
+    @Mock AlienMessageListener alienListener;
     @Mock ChannelFuture channelFuture;
+    @Mock Consumer<PacketInMessage> packetInConsumer;
 
     private ConnectionAdapterImpl adapter;
-    private Cache<RpcResponseKey, ResponseExpectedRpcListener<?>> cache;
+    private RpcResponseTable table;
 
     /**
      * Initializes ConnectionAdapter
@@ -96,9 +87,8 @@ public class ConnectionAdapterImplTest {
         adapter.setMessageListener(messageListener);
         adapter.setSystemListener(systemListener);
         adapter.setConnectionReadyListener(readyListener);
-        cache = CacheBuilder.newBuilder().concurrencyLevel(1).expireAfterWrite(RPC_RESPONSE_EXPIRATION, TimeUnit.MINUTES)
-                .removalListener(REMOVAL_LISTENER).build();
-        adapter.setResponseCache(cache);
+        table = new RpcResponseTable();
+        adapter.setResponseTable(table);
         when(channel.disconnect()).thenReturn(channelFuture);
     }
 
@@ -147,12 +137,12 @@ public class ConnectionAdapterImplTest {
      */
     @Test
     public void testConsume2() {
-        adapter.setResponseCache(mockCache);
+        adapter.setAlienMessageListener(alienListener);
         final BarrierOutputBuilder barrierBuilder = new BarrierOutputBuilder();
         barrierBuilder.setXid(42L);
         final BarrierOutput barrier = barrierBuilder.build();
         adapter.consume(barrier);
-        verify(mockCache, times(1)).getIfPresent(any(RpcResponseKey.class));
+        verify(alienListener, times(1)).onAlienMessage(barrier);
     }
 
     /**
@@ -164,17 +154,86 @@ public class ConnectionAdapterImplTest {
         inputBuilder.setVersion((short) EncodeConstants.OF13_VERSION_ID);
         inputBuilder.setXid(42L);
         final BarrierInput barrierInput = inputBuilder.build();
-        final RpcResponseKey key = new RpcResponseKey(42L, "org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput");
-        final ResponseExpectedRpcListener<OfHeader> listener = new ResponseExpectedRpcListener<>(barrierInput,
-                "failure", mockCache, key);
-        cache.put(key, listener);
+        final ResponseExpectedRpcListener<BarrierOutput> listener = new ResponseExpectedRpcListener<>(barrierInput,
+                "failure", table, 42L, BarrierOutput.class);
+        table.put(42L, BarrierOutput.class, listener, System.nanoTime());
         final BarrierOutputBuilder barrierBuilder = new BarrierOutputBuilder();
         barrierBuilder.setXid(42L);
         final BarrierOutput barrierOutput = barrierBuilder.build();
         adapter.consume(barrierOutput);
-        final ResponseExpectedRpcListener<?> ifPresent = cache.getIfPresent(key);
-        Assert.assertNull("Listener was not discarded", ifPresent);
+        Assert.assertEquals("Listener was not removed", 0, table.size());
+        Assert.assertTrue("Listener was not completed", listener.getResult().isDone());
     }
+
+    /**
+     * Tests {@link ConnectionAdapterImpl#consume(DataObject)} with a fast path consumer
+     */
+    @Test
+    public void testFastPathConsumer() {
+        adapter.setFastPathConsumer(PacketInMessage.class, packetInConsumer);
+        final PacketInMessage packetIn = new PacketInMessageBuilder().build();
+        adapter.consume(packetIn);
+        verify(packetInConsumer, times(1)).accept(packetIn);
+        verify(messageListener, never()).onPacketInMessage(packetIn);
+
+        final PortStatusMessage portStatus = new PortStatusMessageBuilder().build();
+        adapter.consume(portStatus);
+        verify(messageListener, times(1)).onPortStatusMessage(portStatus);
+
+        adapter.setFastPathConsumer(PacketInMessage.class, null);
+        adapter.consume(packetIn);
+        verify(packetInConsumer, times(1)).accept(packetIn);
+        verify(messageListener, times(1)).onPacketInMessage(packetIn);
+    }
+
+    /**
+     * Tests {@link ConnectionAdapterImpl#consumeComplete()} with a batch listener
+     */
+    @Test
+    public void testMessageBatch() {
+        final List<List<OfHeader>> batches = new ArrayList<>();
+        adapter.setMessageBatchListener(messages -> batches.add(new ArrayList<>(messages)));
+        final PacketInMessage packetIn = new PacketInMessageBuilder().build();
+        final PortStatusMessage portStatus = new PortStatusMessageBuilder().build();
+        adapter.consume(packetIn);
+        adapter.consume(portStatus);
+        Assert.assertTrue("Batch was delivered early", batches.isEmpty());
+
+        adapter.consumeComplete();
+        Assert.assertEquals("Wrong batches", ImmutableList.of(ImmutableList.of(packetIn, portStatus)), batches);
+        verify(messageListener, never()).onPacketInMessage(packetIn);
+
+        // Empty reads do not produce batches, disconnect flushes pending messages first
+        adapter.consumeComplete();
+        adapter.consume(packetIn);
+        adapter.consume(new DisconnectEventBuilder().build());
+        Assert.assertEquals("Wrong number of batches", 2, batches.size());
+    }
+
+    /**
+     * Tests messages batched before a fast path message are delivered before it
+     */
+    @Test
+    public void testMessageBatchFastPathOrder() {
+        final List<Object> delivered = new ArrayList<>();
+        adapter.setMessageBatchListener(messages -> delivered.addAll(messages));
+        adapter.setFastPathConsumer(PacketInMessage.class, delivered::add);
+        final PortStatusMessage portStatus = new PortStatusMessageBuilder().build();
+        final PacketInMessage packetIn = new PacketInMessageBuilder().build();
+        adapter.consume(portStatus);
+        adapter.consume(packetIn);
+        adapter.consumeComplete();
+        Assert.assertEquals("Wrong delivery order", ImmutableList.of(portStatus, packetIn), delivered);
+    }
+
+    /**
+     * Test fast path consumer cannot be set for RPC responses
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testFastPathConsumerUnsupported() {
+        adapter.setFastPathConsumer(BarrierOutput.class, barrier -> { });
+    }
+
     /**
      * Test IsAlive method
      */
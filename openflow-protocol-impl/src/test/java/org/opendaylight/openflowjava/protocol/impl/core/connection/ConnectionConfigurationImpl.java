@@ -10,6 +10,7 @@ package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
 import java.net.InetAddress;
 import org.opendaylight.openflowjava.protocol.api.connection.ConnectionConfiguration;
+import org.opendaylight.openflowjava.protocol.api.connection.PacketInRateLimit;
 import org.opendaylight.openflowjava.protocol.api.connection.ThreadConfiguration;
 import org.opendaylight.openflowjava.protocol.api.connection.TlsConfiguration;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.config.rev140630.TransportProtocol;
@@ -27,6 +28,16 @@ public class ConnectionConfigurationImpl implements ConnectionConfiguration {
     private final long switchIdleTimeout;
     private ThreadConfiguration threadConfig;
     private final boolean useBarrier;
+    private boolean useZeroCopyPacketIn;
+    private boolean useStreamingFlowStats;
+    private boolean usePrimitiveStatsCounters;
+    private boolean useFusedInboundDecoder;
+    private int channelOutboundQueueSize = 1024;
+    private int notificationThreads = NotificationExecutor.DEFAULT_THREADS;
+    private int notificationQueueSize = NotificationExecutor.DEFAULT_QUEUE_SIZE;
+    private int upstreamThreads;
+    private int upstreamQueueSize = UpstreamExecutor.DEFAULT_QUEUE_SIZE;
+    private PacketInRateLimit packetInRateLimit = PacketInRateLimit.UNLIMITED;
 
     /**
      * Creates {@link ConnectionConfigurationImpl}
@@ -101,4 +112,124 @@ public class ConnectionConfigurationImpl implements ConnectionConfiguration {
     public boolean useBarrier() {
         return useBarrier;
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean useZeroCopyPacketIn() {
+        return useZeroCopyPacketIn;
+    }
+
+    /**
+     * @param useZeroCopyPacketIn true if packet-in data should be retained instead of copied
+     */
+    public void setUseZeroCopyPacketIn(final boolean useZeroCopyPacketIn) {
+        this.useZeroCopyPacketIn = useZeroCopyPacketIn;
+    }
+
+    @Override
+    public boolean useStreamingFlowStats() {
+        return useStreamingFlowStats;
+    }
+
+    /**
+     * @param useStreamingFlowStats true if flow statistics should be decoded on demand
+     */
+    public void setUseStreamingFlowStats(final boolean useStreamingFlowStats) {
+        this.useStreamingFlowStats = useStreamingFlowStats;
+    }
+
+    @Override
+    public boolean usePrimitiveStatsCounters() {
+        return usePrimitiveStatsCounters;
+    }
+
+    /**
+     * @param usePrimitiveStatsCounters true if port statistics counters should be kept as primitive values
+     */
+    public void setUsePrimitiveStatsCounters(final boolean usePrimitiveStatsCounters) {
+        this.usePrimitiveStatsCounters = usePrimitiveStatsCounters;
+    }
+
+    @Override
+    public boolean useFusedInboundDecoder() {
+        return useFusedInboundDecoder;
+    }
+
+    /**
+     * @param useFusedInboundDecoder true if inbound messages should be decoded by a single handler
+     */
+    public void setUseFusedInboundDecoder(final boolean useFusedInboundDecoder) {
+        this.useFusedInboundDecoder = useFusedInboundDecoder;
+    }
+
+    @Override
+    public int getChannelOutboundQueueSize() {
+        return channelOutboundQueueSize;
+    }
+
+    /**
+     * @param channelOutboundQueueSize depth of the per-connection outbound queue
+     */
+    public void setChannelOutboundQueueSize(final int channelOutboundQueueSize) {
+        this.channelOutboundQueueSize = channelOutboundQueueSize;
+    }
+
+    @Override
+    public int getNotificationThreads() {
+        return notificationThreads;
+    }
+
+    /**
+     * @param notificationThreads number of threads running connection-ready notifications
+     */
+    public void setNotificationThreads(final int notificationThreads) {
+        this.notificationThreads = notificationThreads;
+    }
+
+    @Override
+    public int getNotificationQueueSize() {
+        return notificationQueueSize;
+    }
+
+    /**
+     * @param notificationQueueSize number of connection-ready notifications waiting for a thread
+     */
+    public void setNotificationQueueSize(final int notificationQueueSize) {
+        this.notificationQueueSize = notificationQueueSize;
+    }
+
+    @Override
+    public int getUpstreamThreads() {
+        return upstreamThreads;
+    }
+
+    /**
+     * @param upstreamThreads number of worker threads running listener callbacks
+     */
+    public void setUpstreamThreads(final int upstreamThreads) {
+        this.upstreamThreads = upstreamThreads;
+    }
+
+    @Override
+    public int getUpstreamQueueSize() {
+        return upstreamQueueSize;
+    }
+
+    /**
+     * @param upstreamQueueSize number of listener callbacks pending before reads are suspended
+     */
+    public void setUpstreamQueueSize(final int upstreamQueueSize) {
+        this.upstreamQueueSize = upstreamQueueSize;
+    }
+
+    @Override
+    public PacketInRateLimit getPacketInRateLimit() {
+        return packetInRateLimit;
+    }
+
+    /**
+     * @param packetInRateLimit limit of the rate at which PacketIns are accepted from each connection
+     */
+    public void setPacketInRateLimit(final PacketInRateLimit packetInRateLimit) {
+        this.packetInRateLimit = packetInRateLimit;
+    }
+}
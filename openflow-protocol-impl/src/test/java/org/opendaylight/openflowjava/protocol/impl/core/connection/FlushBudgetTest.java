@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for FlushBudget.
+ */
+public class FlushBudgetTest {
+
+    /**
+     * Idle event loop gets the full budget
+     */
+    @Test
+    public void testIdleLoop() {
+        final FlushBudget budget = new FlushBudget();
+        budget.start(0);
+        Assert.assertEquals("Wrong work time", FlushBudget.MAX_WORKTIME_NANOS, budget.getWorkTime());
+        Assert.assertEquals("Wrong recheck", FlushBudget.MAX_RECHECK_MSGS, budget.getRecheckMsgs());
+    }
+
+    /**
+     * Budget shrinks with other work pending on the event loop
+     */
+    @Test
+    public void testBusyLoop() {
+        final FlushBudget budget = new FlushBudget();
+        budget.start(2);
+        Assert.assertEquals("Wrong work time", FlushBudget.SHARED_WORKTIME_NANOS / 2, budget.getWorkTime());
+        final int recheck = budget.getRecheckMsgs();
+        Assert.assertTrue("Wrong recheck", recheck < FlushBudget.MAX_RECHECK_MSGS);
+
+        budget.start(Integer.MAX_VALUE);
+        Assert.assertEquals("Wrong work time", FlushBudget.MIN_WORKTIME_NANOS, budget.getWorkTime());
+        Assert.assertTrue("Wrong recheck", budget.getRecheckMsgs() < recheck);
+    }
+
+    /**
+     * Recheck interval follows measured per-message cost
+     */
+    @Test
+    public void testUpdate() {
+        final FlushBudget budget = new FlushBudget();
+        budget.start(1);
+        final int recheck = budget.getRecheckMsgs();
+
+        // Slow channel, 1ms per message
+        for (int i = 0; i < 100; ++i) {
+            budget.update(10, 10000000L);
+        }
+        Assert.assertEquals("Wrong average", 1000000L, budget.getMessageNanos(), 100000L);
+        budget.start(1);
+        Assert.assertEquals("Wrong recheck", 1, budget.getRecheckMsgs());
+
+        // Fast channel, 10ns per message
+        for (int i = 0; i < 200; ++i) {
+            budget.update(1000, 10000L);
+        }
+        budget.start(1);
+        Assert.assertTrue("Wrong recheck", budget.getRecheckMsgs() > recheck);
+
+        // Empty iterations are not accounted
+        final long average = budget.getMessageNanos();
+        budget.update(0, 1000000L);
+        Assert.assertEquals("Wrong average", average, budget.getMessageNanos());
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoRequestMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessageBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEvent;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.system.rev130927.DisconnectEventBuilder;
+
+/**
+ * Unit tests for InboundMessageKind.
+ */
+public class InboundMessageKindTest {
+
+    /**
+     * Message classes resolve to the kind of the interface they implement
+     */
+    @Test
+    public void testForClass() {
+        Assert.assertEquals("Wrong kind", InboundMessageKind.PACKET_IN,
+                InboundMessageKind.forClass(new PacketInMessageBuilder().build().getClass()));
+        Assert.assertEquals("Wrong kind", InboundMessageKind.ECHO_REQUEST,
+                InboundMessageKind.forClass(new EchoRequestMessageBuilder().build().getClass()));
+        Assert.assertEquals("Wrong kind", InboundMessageKind.DISCONNECT,
+                InboundMessageKind.forClass(new DisconnectEventBuilder().build().getClass()));
+        Assert.assertEquals("Wrong kind", InboundMessageKind.RPC_RESPONSE,
+                InboundMessageKind.forClass(new BarrierOutputBuilder().build().getClass()));
+        Assert.assertEquals("Wrong kind", InboundMessageKind.UNSUPPORTED, InboundMessageKind.forClass(Object.class));
+    }
+
+    /**
+     * Only OpenFlow notifications can be consumed separately
+     */
+    @Test
+    public void testForConsumableType() {
+        Assert.assertEquals("Wrong kind", InboundMessageKind.PACKET_IN,
+                InboundMessageKind.forConsumableType(PacketInMessage.class));
+        Assert.assertNull("Disconnect should not be consumable",
+                InboundMessageKind.forConsumableType(DisconnectEvent.class));
+        Assert.assertNull("RPC response should not be consumable",
+                InboundMessageKind.forConsumableType(BarrierOutput.class));
+    }
+}
@@ -8,12 +8,19 @@
 
 package org.opendaylight.openflowjava.protocol.impl.core.connection;
 
+import io.netty.util.ReferenceCounted;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.MessageListenerWrapper;
 import org.opendaylight.openflowjava.protocol.impl.core.connection.SimpleRpcListener;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInput;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
 
 /**
  * @author michal.polkorab
@@ -33,4 +40,39 @@ public class MessageListenerWrapperTest {
         Assert.assertEquals("Wrong message", hello, wrapper.getMsg());
         Assert.assertEquals("Wrong listener", listener, wrapper.getListener());
     }
-}
\ No newline at end of file
+
+    /**
+     * Test retained message is released only once, even when release races between threads
+     */
+    @Test
+    public void testReleaseMsgOnce() throws InterruptedException {
+        final int threads = 4;
+        OfHeader msg = Mockito.mock(OfHeader.class, Mockito.withSettings().extraInterfaces(ReferenceCounted.class));
+        MessageListenerWrapper wrapper = new MessageListenerWrapper(msg, null);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                executor.execute(() -> {
+                    try {
+                        start.await();
+                        wrapper.releaseMsg();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            start.countDown();
+            Assert.assertTrue("Releases did not finish", done.await(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+
+        wrapper.releaseMsg();
+        Mockito.verify((ReferenceCounted) msg, Mockito.times(1)).release();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.openflowjava.statistics.CounterEventTypes;
+import org.opendaylight.openflowjava.statistics.StatisticsCounters;
+
+/**
+ * {@link NotificationExecutor} class test
+ */
+public class NotificationExecutorTest {
+    private final NotificationExecutor executor = new NotificationExecutor(1, 1);
+    private StatisticsCounters statCounters;
+
+    /**
+     * Start counting before each test
+     */
+    @Before
+    public void setUp() {
+        statCounters = StatisticsCounters.getInstance();
+        statCounters.startCounting(false, 0);
+    }
+
+    /**
+     * Stop counting and close the executor after each test
+     */
+    @After
+    public void tearDown() {
+        statCounters.stopCounting();
+        executor.close();
+    }
+
+    /**
+     * Notifications are dispatched on the executor threads
+     */
+    @Test
+    public void testExecute() throws InterruptedException {
+        final CountDownLatch done = new CountDownLatch(2);
+        final Thread[] ranOn = new Thread[1];
+        executor.execute(() -> {
+            ranOn[0] = Thread.currentThread();
+            done.countDown();
+        });
+        executor.execute(done::countDown);
+        Assert.assertTrue("Notifications were not dispatched", done.await(5, TimeUnit.SECONDS));
+        Assert.assertNotSame("Notification ran on the caller thread", Thread.currentThread(), ranOn[0]);
+        Assert.assertEquals("Wrong overflow counter", 0,
+                statCounters.getCounter(CounterEventTypes.US_NOTIFICATION_OVERFLOW).getCounterValue());
+    }
+
+    /**
+     * Notifications which do not fit into the queue run on the caller thread
+     */
+    @Test
+    public void testOverflow() throws InterruptedException {
+        final CountDownLatch blocker = new CountDownLatch(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        executor.execute(() -> {
+            started.countDown();
+            try {
+                blocker.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            done.countDown();
+        });
+        Assert.assertTrue("Notification did not start", started.await(5, TimeUnit.SECONDS));
+
+        // Fills the queue
+        executor.execute(done::countDown);
+        Assert.assertEquals("Wrong queued count", 1, executor.getQueuedCount());
+
+        // Overflows it
+        final Thread caller = Thread.currentThread();
+        final Thread[] ranOn = new Thread[1];
+        executor.execute(() -> ranOn[0] = Thread.currentThread());
+        Assert.assertSame("Overflowing notification should run on the caller thread", caller, ranOn[0]);
+        Assert.assertEquals("Wrong overflow counter", 1,
+                statCounters.getCounter(CounterEventTypes.US_NOTIFICATION_OVERFLOW).getCounterValue());
+
+        blocker.countDown();
+        Assert.assertTrue("Notifications were not dispatched", done.await(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Executor has to have at least one thread
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidThreads() {
+        new NotificationExecutor(0, 1);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for RequestTimeoutWheel.
+ */
+public class RequestTimeoutWheelTest {
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(31);
+
+    /**
+     * Entries expire once their deadline has passed, never before it
+     */
+    @Test
+    public void testExpire() {
+        final RequestTimeoutWheel wheel = new RequestTimeoutWheel(TIMEOUT_NANOS);
+        final long tick = wheel.getTickNanos();
+        Assert.assertEquals("Wrong tick", TimeUnit.SECONDS.toNanos(1), tick);
+        Assert.assertTrue(wheel.isEmpty());
+
+        wheel.add(10, tick / 2);
+        wheel.add(20, tick + 1);
+        Assert.assertFalse(wheel.isEmpty());
+
+        Assert.assertEquals("Nothing should expire", -1, wheel.expire(TIMEOUT_NANOS + tick / 2));
+        Assert.assertEquals("Wrong expired XID", 10, wheel.expire(TIMEOUT_NANOS + tick));
+        Assert.assertFalse(wheel.isEmpty());
+        Assert.assertEquals("Wrong expired XID", 20, wheel.expire(TIMEOUT_NANOS + 3 * tick));
+        Assert.assertTrue(wheel.isEmpty());
+        Assert.assertEquals("Nothing should expire", -1, wheel.expire(TIMEOUT_NANOS + 4 * tick));
+    }
+
+    /**
+     * Entries sharing a tick are expired by the highest XID
+     */
+    @Test
+    public void testSameTick() {
+        final RequestTimeoutWheel wheel = new RequestTimeoutWheel(TIMEOUT_NANOS);
+        wheel.add(10, 0);
+        wheel.add(15, 1);
+        wheel.add(20, 2);
+        Assert.assertEquals("Wrong expired XID", 20, wheel.expire(TIMEOUT_NANOS + wheel.getTickNanos()));
+        Assert.assertTrue(wheel.isEmpty());
+    }
+
+    /**
+     * Short timeouts are bounded by the minimum tick
+     */
+    @Test
+    public void testMinimumTick() {
+        final RequestTimeoutWheel wheel = new RequestTimeoutWheel(TimeUnit.MILLISECONDS.toNanos(1));
+        Assert.assertEquals("Wrong tick", RequestTimeoutWheel.MIN_TICK_NANOS, wheel.getTickNanos());
+    }
+
+    /**
+     * Timeout has to be positive
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidTimeout() {
+        new RequestTimeoutWheel(0);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoOutput;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * {@link RpcResponseTable} class test
+ */
+public class RpcResponseTableTest {
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(31);
+
+    private final RpcResponseTable table = new RpcResponseTable(TIMEOUT_NANOS);
+
+    /**
+     * Listeners are matched by both XID and response type
+     */
+    @Test
+    public void testPutRemove() {
+        final ResponseExpectedRpcListener<BarrierOutput> barrier = listener(42L, BarrierOutput.class);
+        final ResponseExpectedRpcListener<EchoOutput> echo = listener(42L, EchoOutput.class);
+        table.put(42L, BarrierOutput.class, barrier, 0);
+        table.put(42L, EchoOutput.class, echo, 0);
+        Assert.assertEquals("Wrong size", 2, table.size());
+
+        Assert.assertNull(table.remove(43L, BarrierOutput.class, 0));
+        Assert.assertSame(barrier, table.remove(42L, BarrierOutput.class, 0));
+        Assert.assertNull("Listener should be removed only once", table.remove(42L, BarrierOutput.class, 0));
+        Assert.assertSame(echo, table.remove(42L, EchoOutput.class, 0));
+        Assert.assertEquals("Wrong size", 0, table.size());
+    }
+
+    /**
+     * Listeners survive the table growing and entries shifted by removals
+     */
+    @Test
+    public void testMany() {
+        final int count = 1000;
+        @SuppressWarnings("unchecked")
+        final ResponseExpectedRpcListener<BarrierOutput>[] listeners = new ResponseExpectedRpcListener[count];
+        for (int i = 0; i < count; ++i) {
+            listeners[i] = listener(i, BarrierOutput.class);
+            table.put(i, BarrierOutput.class, listeners[i], 0);
+        }
+        Assert.assertEquals("Wrong size", count, table.size());
+
+        for (int i = 0; i < count; i += 2) {
+            Assert.assertSame(listeners[i], table.remove(i, BarrierOutput.class, 0));
+        }
+        for (int i = 1; i < count; i += 2) {
+            Assert.assertSame(listeners[i], table.remove(i, BarrierOutput.class, 0));
+        }
+        Assert.assertEquals("Wrong size", 0, table.size());
+    }
+
+    /**
+     * Unanswered listeners are discarded once their deadline passes, never before it
+     */
+    @Test
+    public void testExpire() throws InterruptedException, ExecutionException {
+        final long tick = TimeUnit.SECONDS.toNanos(1);
+        final ResponseExpectedRpcListener<BarrierOutput> first = listener(1L, BarrierOutput.class);
+        final ResponseExpectedRpcListener<BarrierOutput> second = listener(2L, BarrierOutput.class);
+        table.put(1L, BarrierOutput.class, first, 0);
+        table.put(2L, BarrierOutput.class, second, 5 * tick);
+
+        Assert.assertNull(table.remove(3L, BarrierOutput.class, TIMEOUT_NANOS));
+        Assert.assertFalse("Listener should not expire yet", first.getResult().isDone());
+
+        Assert.assertNull(table.remove(3L, BarrierOutput.class, TIMEOUT_NANOS + tick));
+        Assert.assertTrue("Listener should expire", first.getResult().isDone());
+        Assert.assertFalse("Listener should have failed", first.getResult().get().isSuccessful());
+        Assert.assertFalse("Listener should not expire yet", second.getResult().isDone());
+        Assert.assertEquals("Wrong size", 1, table.size());
+
+        Assert.assertSame(second, table.remove(2L, BarrierOutput.class, TIMEOUT_NANOS + 2 * tick));
+    }
+
+    /**
+     * Clearing drops listeners without failing them
+     */
+    @Test
+    public void testClear() {
+        final ResponseExpectedRpcListener<BarrierOutput> barrier = listener(42L, BarrierOutput.class);
+        table.put(42L, BarrierOutput.class, barrier, 0);
+        table.clear();
+        Assert.assertEquals("Wrong size", 0, table.size());
+        Assert.assertNull(table.remove(42L, BarrierOutput.class, 0));
+        Assert.assertFalse("Listener should not be failed", barrier.getResult().isDone());
+    }
+
+    private <T extends OfHeader> ResponseExpectedRpcListener<T> listener(final long xid, final Class<T> type) {
+        return new ResponseExpectedRpcListener<>("MESSAGE", "Failed to send message", table, xid, type);
+    }
+}
@@ -27,15 +27,16 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * {@link OutboundQueueEntry} class test
+ * {@link SegmentEntries} class test
  */
 @RunWith(MockitoJUnitRunner.class)
-public class OutboundQueueEntryTest {
+public class SegmentEntriesTest {
 
-    private static final Logger LOG = LoggerFactory.getLogger(OutboundQueueEntryTest.class);
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentEntriesTest.class);
 
     private static final short VERSION = (short) 13;
     private static final long VALUE = 1L;
+    private static final int OFFSET = 65;
 
     private Integer failCounter = 0;
 
@@ -44,7 +45,7 @@ public class OutboundQueueEntryTest {
     @Mock
     private FutureCallback<OfHeader> futureCallback;
 
-    private final OutboundQueueEntry outboundQueueEntry = new OutboundQueueEntry();
+    private final SegmentEntries entries = new SegmentEntries(128);
     private final OfHeader barrierInput = new BarrierInputBuilder().setVersion(VERSION).setXid(VALUE).build();
     private final OfHeader packetOutInput = new PacketOutInputBuilder().setVersion(VERSION).setXid(VALUE).build();
     private final OfHeader multipartReplyMessage =
@@ -54,51 +55,51 @@ public class OutboundQueueEntryTest {
 
     @Test
     public void commit() throws Exception {
-        outboundQueueEntry.commit(ofHeader, futureCallback);
-        Assert.assertTrue(outboundQueueEntry.isCommitted());
-        Assert.assertFalse(outboundQueueEntry.isCompleted());
-        Assert.assertFalse(outboundQueueEntry.isBarrier());
+        entries.commit(OFFSET, ofHeader, futureCallback);
+        Assert.assertTrue(entries.isCommitted(OFFSET));
+        Assert.assertFalse(entries.isCompleted(OFFSET));
+        Assert.assertFalse(entries.isBarrier(OFFSET));
     }
 
     @Test
     public void reset() throws Exception {
-        outboundQueueEntry.commit(ofHeader, futureCallback);
-        Assert.assertTrue(outboundQueueEntry.isCommitted());
+        entries.commit(OFFSET, ofHeader, futureCallback);
+        Assert.assertTrue(entries.isCommitted(OFFSET));
 
-        outboundQueueEntry.reset();
-        Assert.assertFalse(outboundQueueEntry.isCommitted());
+        entries.reset();
+        Assert.assertFalse(entries.isCommitted(OFFSET));
     }
 
     @Test
     public void isBarrier() throws Exception {
-        outboundQueueEntry.commit(barrierInput, futureCallback);
-        Assert.assertTrue(outboundQueueEntry.isBarrier());
+        entries.commit(OFFSET, barrierInput, futureCallback);
+        Assert.assertTrue(entries.isBarrier(OFFSET));
     }
 
     @Test
     public void takeMessage() throws Exception {
-        outboundQueueEntry.commit(packetOutInput, futureCallback);
-        outboundQueueEntry.takeMessage();
+        entries.commit(OFFSET, packetOutInput, futureCallback);
+        entries.takeMessage(OFFSET);
         Mockito.verify(futureCallback).onSuccess(Mockito.<OfHeader>any());
     }
 
     @Test
     public void complete() throws Exception {
-        final boolean result = outboundQueueEntry.complete(multipartReplyMessage);
+        final boolean result = entries.complete(OFFSET, multipartReplyMessage);
         Assert.assertTrue(result);
-        Assert.assertTrue(outboundQueueEntry.isCompleted());
+        Assert.assertTrue(entries.isCompleted(OFFSET));
     }
 
     @Test(expected = IllegalStateException.class)
     public void completeTwice() throws Exception {
-        outboundQueueEntry.complete(multipartReplyMessage);
-        outboundQueueEntry.complete(multipartReplyMessage);
+        entries.complete(OFFSET, multipartReplyMessage);
+        entries.complete(OFFSET, multipartReplyMessage);
     }
 
     @Test
     public void fail() throws Exception {
-        outboundQueueEntry.commit(ofHeader, futureCallback);
-        outboundQueueEntry.fail(null);
+        entries.commit(OFFSET, ofHeader, futureCallback);
+        entries.fail(OFFSET, null);
         Mockito.verify(futureCallback).onFailure(Mockito.<OutboundQueueException>any());
     }
 
@@ -129,17 +130,17 @@ public class OutboundQueueEntryTest {
         /** It shouldn't be in state completed and still have callback, it can consume all threads in thread pool */
 
         /** Entry but no callback */
-        outboundQueueEntry.commit(flowModInput, null);
+        entries.commit(OFFSET, flowModInput, null);
         /** Failed entry for whatever reason */
-        outboundQueueEntry.fail(null);
+        entries.fail(OFFSET, null);
         /** Commit the same entry adding callback */
-        outboundQueueEntry.commit(flowModInput, result);
+        entries.commit(OFFSET, flowModInput, result);
 
-        Assert.assertTrue(outboundQueueEntry.isCompleted());
-        Assert.assertTrue(outboundQueueEntry.isCommitted());
+        Assert.assertTrue(entries.isCompleted(OFFSET));
+        Assert.assertTrue(entries.isCommitted(OFFSET));
 
         /** This is check that no callback is in entry stuck */
-        Assert.assertFalse(outboundQueueEntry.hasCallback());
+        Assert.assertFalse(entries.hasCallback(OFFSET));
 
         Assert.assertTrue(this.failCounter == 1);
     }
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.EventLoop;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * {@link SegmentPool} class test
+ */
+public class SegmentPoolTest {
+
+    /**
+     * Released storages are reset and reused, up to pool capacity
+     */
+    @Test
+    public void testReuse() {
+        final SegmentPool pool = new SegmentPool(1, 64);
+        final SegmentEntries first = pool.acquire();
+        final SegmentEntries second = pool.acquire();
+        Assert.assertNotSame("Storage should not be shared", first, second);
+        Assert.assertEquals("Wrong size", 64, first.size());
+
+        first.commit(0, Mockito.mock(OfHeader.class), null);
+        pool.release(first);
+        pool.release(second);
+
+        final SegmentEntries reused = pool.acquire();
+        Assert.assertSame("Storage should be reused", first, reused);
+        Assert.assertFalse("Storage should be reset", reused.isCommitted(0));
+        Assert.assertNotSame("Pool should be empty", first, pool.acquire());
+    }
+
+    /**
+     * Recycling a segment twice must not put its storage into the pool twice
+     */
+    @Test
+    public void testDoubleRecycle() {
+        final SegmentPool pool = new SegmentPool(2, 64);
+        final StackedSegment segment = StackedSegment.create(0, pool);
+        segment.recycle();
+        segment.recycle();
+
+        Assert.assertNotSame("Storage should be pooled once", pool.acquire(), pool.acquire());
+    }
+
+    /**
+     * Channels on the same event loop and with the same segment size share a pool
+     */
+    @Test
+    public void testForExecutor() throws Exception {
+        final EventLoop loop = new DefaultEventLoop();
+        final EventLoop other = new DefaultEventLoop();
+        try {
+            Assert.assertSame("Pool should be shared", SegmentPool.forExecutor(loop, 64),
+                SegmentPool.forExecutor(loop, 64));
+            Assert.assertNotSame("Pool should not be shared", SegmentPool.forExecutor(loop, 64),
+                SegmentPool.forExecutor(other, 64));
+            Assert.assertNotSame("Pool should not be shared across sizes", SegmentPool.forExecutor(loop, 64),
+                SegmentPool.forExecutor(loop, 128));
+            Assert.assertEquals("Wrong segment size", 128, SegmentPool.forExecutor(loop, 128).getSegmentSize());
+        } finally {
+            loop.shutdownGracefully().sync();
+            other.shutdownGracefully().sync();
+        }
+    }
+}
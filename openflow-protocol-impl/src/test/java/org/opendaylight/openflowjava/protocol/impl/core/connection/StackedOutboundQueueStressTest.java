@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.EchoInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * Many producers rolling segments over concurrently with the flush. Segments are small and the
+ * pool is shallow, so that segments are linked and storages recycled all the time.
+ */
+public class StackedOutboundQueueStressTest {
+    private static final int PRODUCERS = 32;
+    private static final int ENTRIES_PER_PRODUCER = 2000;
+    private static final int MAX_BATCH = 16;
+    private static final int SEGMENT_SIZE = 64;
+    private static final long TIMEOUT_SECONDS = 60;
+
+    private final List<Long> writtenXids = new ArrayList<>();
+    private AbstractOutboundQueueManager<?, ?> manager;
+    private EmbeddedChannel channel;
+    private ExecutorService producers;
+
+    @Before
+    public void setUp() {
+        manager = Mockito.mock(AbstractOutboundQueueManager.class);
+        Mockito.when(manager.getSegmentPool()).thenReturn(new SegmentPool(4, SEGMENT_SIZE));
+        Mockito.doAnswer(invocation -> writtenXids.add(((OfHeader) invocation.getArguments()[0]).getXid()))
+            .when(manager).writeMessage(Matchers.any(OfHeader.class), Matchers.anyLong());
+
+        // Nothing is written into the channel, it is always writable
+        channel = new EmbeddedChannel();
+        producers = Executors.newFixedThreadPool(PRODUCERS);
+    }
+
+    @After
+    public void tearDown() {
+        producers.shutdownNow();
+        channel.close();
+    }
+
+    /**
+     * Every committed entry is flushed exactly once, in XID order
+     */
+    @Test
+    public void testConcurrentProducers() throws Exception {
+        runProducers(new StackedOutboundQueue(manager));
+    }
+
+    /**
+     * Same as above, but flushed segments are recycled immediately
+     */
+    @Test
+    public void testConcurrentProducersNoBarrier() throws Exception {
+        runProducers(new StackedOutboundQueueNoBarrier(manager));
+    }
+
+    private void runProducers(final AbstractStackedOutboundQueue queue) throws Exception {
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>(PRODUCERS);
+        for (int i = 0; i < PRODUCERS; ++i) {
+            futures.add(producers.submit(() -> {
+                start.await();
+                produce(queue);
+                return null;
+            }));
+        }
+
+        // This thread plays the role of the event loop
+        start.countDown();
+        final int total = PRODUCERS * ENTRIES_PER_PRODUCER;
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (writtenXids.size() < total) {
+            Assert.assertTrue("Timed out after flushing " + writtenXids.size() + " entries",
+                System.nanoTime() < deadline);
+            if (queue.writeEntries(channel, 0) == 0) {
+                Thread.yield();
+            }
+        }
+
+        for (Future<?> f : futures) {
+            f.get();
+        }
+
+        Assert.assertEquals("Unexpected additional entries", 0, queue.writeEntries(channel, 0));
+        for (int i = 0; i < total; ++i) {
+            Assert.assertEquals("Wrong XID flushed", Long.valueOf(i), writtenXids.get(i));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void produce(final AbstractStackedOutboundQueue queue) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        int remaining = ENTRIES_PER_PRODUCER;
+        while (remaining > 0) {
+            final int count = Math.min(remaining, random.nextInt(MAX_BATCH) + 1);
+            if (count == 1) {
+                final Long xid = queue.reserveEntry();
+                queue.commitEntry(xid, createMessage(xid), null);
+            } else {
+                final Long xid = queue.reserveEntries(count);
+                final OfHeader[] messages = new OfHeader[count];
+                for (int i = 0; i < count; ++i) {
+                    messages[i] = createMessage(xid + i);
+                }
+                queue.commitEntries(xid, messages, new FutureCallback[count]);
+            }
+            remaining -= count;
+        }
+    }
+
+    private static OfHeader createMessage(final long xid) {
+        return new EchoInputBuilder().setVersion((short) 4).setXid(xid).build();
+    }
+}
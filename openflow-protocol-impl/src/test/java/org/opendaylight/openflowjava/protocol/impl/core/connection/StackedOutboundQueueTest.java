@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.util.concurrent.FutureCallback;
+import io.netty.channel.Channel;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.opendaylight.openflowjava.protocol.api.connection.OutboundQueueException;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.OfHeader;
+
+/**
+ * {@link StackedOutboundQueue} class test
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class StackedOutboundQueueTest {
+    private static final int SEGMENT_SIZE = 64;
+
+    @Mock
+    private AbstractOutboundQueueManager<?, ?> manager;
+    @Mock
+    private Channel channel;
+    @Mock
+    private OfHeader message;
+    @Mock
+    private FutureCallback<OfHeader> callback;
+
+    private StackedOutboundQueue queue;
+
+    @Before
+    public void setUp() {
+        Mockito.when(channel.isWritable()).thenReturn(true);
+        Mockito.when(manager.getSegmentPool()).thenReturn(new SegmentPool(1, SEGMENT_SIZE));
+        queue = new StackedOutboundQueue(manager);
+    }
+
+    /**
+     * Batch reservations are contiguous and followed by single ones
+     */
+    @Test
+    public void testReserveEntries() {
+        Assert.assertEquals("Wrong first XID", Long.valueOf(0), queue.reserveEntries(3));
+        Assert.assertEquals("Wrong XID", Long.valueOf(3), queue.reserveEntry());
+        Assert.assertEquals("Wrong first XID", Long.valueOf(4), queue.reserveEntries(1));
+    }
+
+    /**
+     * Batch spanning multiple segments is committed with a single flush request
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCommitEntries() {
+        final int count = SEGMENT_SIZE + 10;
+        final Long xid = queue.reserveEntries(count);
+        Assert.assertEquals("Wrong first XID", Long.valueOf(0), xid);
+
+        final OfHeader[] messages = new OfHeader[count];
+        final FutureCallback<OfHeader>[] callbacks = new FutureCallback[count];
+        for (int i = 0; i < count; ++i) {
+            messages[i] = message;
+        }
+        callbacks[0] = callback;
+
+        queue.commitEntries(xid, messages, callbacks);
+        Mockito.verify(manager, Mockito.times(1)).ensureFlushing();
+        Assert.assertTrue("Queue should need a flush", queue.needsFlush());
+
+        Assert.assertEquals("Wrong number of written entries", count, queue.writeEntries(channel, 0));
+        Mockito.verify(manager, Mockito.times(count)).writeMessage(Matchers.eq(message), Matchers.anyLong());
+        Assert.assertFalse("Queue should not need a flush", queue.needsFlush());
+    }
+
+    /**
+     * Entries are backed by segments of the size provided by the pool
+     */
+    @Test
+    public void testSegmentSize() {
+        final Long xid = queue.reserveEntries(SEGMENT_SIZE * 2 + 1);
+        Assert.assertEquals("Wrong segment size", SEGMENT_SIZE, queue.getSegment(xid).getSize());
+        Assert.assertEquals("Wrong third segment", 2L * SEGMENT_SIZE,
+            queue.getSegment(xid + SEGMENT_SIZE * 2).getBaseXid());
+    }
+
+    /**
+     * Timed out entries fail and their segments are recycled
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testFailExpired() {
+        final int count = SEGMENT_SIZE + 10;
+        final Long xid = queue.reserveEntries(count);
+        final OfHeader[] messages = new OfHeader[count];
+        final FutureCallback<OfHeader>[] callbacks = new FutureCallback[count];
+        for (int i = 0; i < count; ++i) {
+            messages[i] = message;
+            callbacks[i] = callback;
+        }
+        queue.commitEntries(xid, messages, callbacks);
+        Assert.assertEquals("Wrong number of written entries", count, queue.writeEntries(channel, 0));
+        Assert.assertEquals("Wrong last written XID", count - 1, queue.getLastWrittenXid());
+        Assert.assertEquals("Wrong number of uncompleted segments", 2, queue.uncompletedSegments.size());
+
+        Assert.assertEquals("Wrong number of failed entries", SEGMENT_SIZE + 5,
+            queue.failExpired(SEGMENT_SIZE + 4, OutboundQueueException.REQUEST_TIMEOUT));
+        Mockito.verify(callback, Mockito.times(SEGMENT_SIZE + 5)).onFailure(OutboundQueueException.REQUEST_TIMEOUT);
+        Assert.assertEquals("Wrong number of uncompleted segments", 1, queue.uncompletedSegments.size());
+
+        // Entries are failed only once
+        Assert.assertEquals("Wrong number of failed entries", 5,
+            queue.failExpired(count - 1, OutboundQueueException.REQUEST_TIMEOUT));
+        Mockito.verify(callback, Mockito.times(count)).onFailure(OutboundQueueException.REQUEST_TIMEOUT);
+    }
+
+    /**
+     * Only written entries with callbacks waiting for a response are uncompleted
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUncompletedEntries() {
+        final int count = SEGMENT_SIZE + 10;
+        final Long xid = queue.reserveEntries(count);
+        final OfHeader[] messages = new OfHeader[count];
+        final FutureCallback<OfHeader>[] callbacks = new FutureCallback[count];
+        for (int i = 0; i < count; ++i) {
+            messages[i] = message;
+        }
+        callbacks[1] = callback;
+        callbacks[SEGMENT_SIZE + 1] = callback;
+        queue.commitEntries(xid, messages, callbacks);
+        Assert.assertEquals("Unwritten entries should not be uncompleted", 0, queue.getUncompletedEntries());
+
+        queue.writeEntries(channel, 0);
+        Assert.assertEquals("Wrong number of uncompleted entries", 2, queue.getUncompletedEntries());
+
+        queue.failExpired(count - 1, OutboundQueueException.REQUEST_TIMEOUT);
+        Assert.assertEquals("Wrong number of uncompleted entries", 0, queue.getUncompletedEntries());
+    }
+
+    /**
+     * Entries failed on shutdown and written out afterwards are completed only once
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testShutdownCompleteCount() {
+        final int count = SEGMENT_SIZE / 2 + 1;
+        final Long xid = queue.reserveEntries(count);
+        final OfHeader[] messages = new OfHeader[count];
+        for (int i = 0; i < count; ++i) {
+            messages[i] = message;
+        }
+        queue.commitEntries(xid, messages, new FutureCallback[count]);
+
+        final StackedSegment segment = queue.getSegment(xid);
+        Assert.assertEquals("Wrong number of failed entries", count, queue.startShutdown());
+        Assert.assertEquals("Wrong number of written entries", count, queue.writeEntries(channel, 0));
+        Assert.assertEquals("Wrong complete count", count, segment.getCompleteCount());
+        Assert.assertTrue("Complete count exceeds size", segment.getCompleteCount() <= segment.getSize());
+        Assert.assertFalse("Segment should not be complete", segment.isComplete());
+    }
+
+    /**
+     * Number of callbacks has to match number of messages
+     */
+    @Test(expected = IllegalArgumentException.class)
+    @SuppressWarnings("unchecked")
+    public void testCommitEntriesMismatch() {
+        final Long xid = queue.reserveEntries(2);
+        queue.commitEntries(xid, new OfHeader[] { message, message }, new FutureCallback[1]);
+    }
+
+    /**
+     * Batch reservation has to be positive
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testReserveEntriesInvalid() {
+        queue.reserveEntries(0);
+    }
+}
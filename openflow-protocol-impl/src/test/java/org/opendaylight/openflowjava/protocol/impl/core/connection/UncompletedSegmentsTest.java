@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import com.google.common.base.VerifyException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierInputBuilder;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.BarrierOutputBuilder;
+
+/**
+ * {@link UncompletedSegments} class test
+ */
+public class UncompletedSegmentsTest {
+    private static final int SEGMENT_SIZE = 64;
+    // Second segment spans 2^32, so XIDs wrap around on the wire in the middle of it
+    private static final long BASE_XID = 0x100000000L - SEGMENT_SIZE - 32;
+
+    private final SegmentPool pool = new SegmentPool(0, SEGMENT_SIZE);
+    private UncompletedSegments segments;
+    private StackedSegment[] added;
+
+    @Before
+    public void setUp() {
+        segments = new UncompletedSegments(SEGMENT_SIZE);
+        added = new StackedSegment[6];
+        for (int i = 0; i < added.length; ++i) {
+            added[i] = StackedSegment.create(BASE_XID + (long) i * SEGMENT_SIZE, pool);
+            segments.add(added[i]);
+        }
+    }
+
+    /**
+     * Segments are found by XID, including wire XIDs which have wrapped around
+     */
+    @Test
+    public void testFind() {
+        Assert.assertSame(added[0], segments.find(BASE_XID));
+        Assert.assertSame(added[1], segments.find(BASE_XID + SEGMENT_SIZE + 10));
+        // Wire XID 0 is 2^32
+        Assert.assertSame(added[1], segments.find(0L));
+        Assert.assertSame(added[2], segments.find(40L));
+        Assert.assertSame(added[5], segments.find(BASE_XID + 6 * SEGMENT_SIZE - 1 - 0x100000000L));
+        Assert.assertNull(segments.find(BASE_XID + 6 * SEGMENT_SIZE - 0x100000000L));
+        Assert.assertNull(segments.find(BASE_XID - 1));
+    }
+
+    /**
+     * Removing segments leaves holes, which are trimmed once they reach the oldest segment
+     */
+    @Test
+    public void testRemove() {
+        Assert.assertTrue(segments.remove(added[2]));
+        Assert.assertFalse("Segment should be removed only once", segments.remove(added[2]));
+        Assert.assertNull(segments.find(40L));
+        Assert.assertSame(added[3], segments.find(BASE_XID + 3 * SEGMENT_SIZE));
+        Assert.assertEquals(5, segments.size());
+
+        Assert.assertTrue(segments.remove(added[0]));
+        Assert.assertTrue(segments.remove(added[1]));
+        Assert.assertSame(added[3], segments.first());
+        Assert.assertSame(added[3], segments.find(BASE_XID + 3 * SEGMENT_SIZE));
+        Assert.assertNull(segments.find(BASE_XID));
+
+        // Slots are reused once the ring is drained
+        for (int i = 3; i < added.length; ++i) {
+            Assert.assertTrue(segments.remove(added[i]));
+        }
+        Assert.assertEquals(0, segments.size());
+        Assert.assertNull(segments.first());
+
+        final StackedSegment next = StackedSegment.create(BASE_XID + 6L * SEGMENT_SIZE, pool);
+        segments.add(next);
+        Assert.assertSame(next, segments.find(BASE_XID + 6L * SEGMENT_SIZE));
+        Assert.assertEquals(1, segments.snapshot().size());
+    }
+
+    /**
+     * Segments have to be added in XID order
+     */
+    @Test(expected = VerifyException.class)
+    public void testAddOutOfOrder() {
+        segments.add(StackedSegment.create(BASE_XID + 8L * SEGMENT_SIZE, pool));
+    }
+
+    /**
+     * A response with a wrapped-around XID completes the right entry
+     */
+    @Test
+    public void testPairWrappedXid() {
+        final long xid = BASE_XID + 2 * SEGMENT_SIZE + 5;
+        final StackedSegment segment = segments.find(xid & StackedSegment.XID_MASK);
+        final int offset = (int) (xid - segment.getBaseXid());
+        segment.commit(offset, new BarrierInputBuilder().setVersion((short) 4).setXid(xid).build(), null,
+            SegmentEntries.DEFAULT_IS_COMPLETE);
+
+        Assert.assertEquals("Wrong offset", offset, segment.pairRequest(new BarrierOutputBuilder()
+            .setVersion((short) 4).setXid(xid & StackedSegment.XID_MASK).build()));
+        Assert.assertTrue(segment.isBarrier(offset));
+    }
+}
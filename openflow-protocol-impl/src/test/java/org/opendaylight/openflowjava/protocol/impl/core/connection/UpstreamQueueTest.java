@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2017 Pantheon Technologies s.r.o. and others. All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.openflowjava.protocol.impl.core.connection;
+
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * {@link UpstreamQueue} class test
+ */
+public class UpstreamQueueTest {
+    private static final int QUEUE_SIZE = 4;
+
+    private final Queue<Runnable> stripe = new ArrayDeque<>();
+    private final EmbeddedChannel channel = new EmbeddedChannel();
+    private final BackpressureController backpressure = new BackpressureController(channel);
+    private final UpstreamQueue queue = new UpstreamQueue(stripe::add, backpressure, QUEUE_SIZE);
+
+    /**
+     * Reads are suspended when the queue fills up and resumed once it drains to half
+     */
+    @Test
+    public void testWatermarks() {
+        final List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < QUEUE_SIZE - 1; ++i) {
+            final int value = i;
+            queue.execute(() -> order.add(value));
+        }
+        Assert.assertTrue("Reads should not be suspended", channel.config().isAutoRead());
+
+        queue.execute(() -> order.add(QUEUE_SIZE - 1));
+        Assert.assertFalse("Reads should be suspended", channel.config().isAutoRead());
+        Assert.assertEquals("Wrong pending count", QUEUE_SIZE, queue.getPending());
+
+        stripe.poll().run();
+        Assert.assertFalse("Reads should still be suspended", channel.config().isAutoRead());
+        stripe.poll().run();
+        Assert.assertTrue("Reads should be resumed", channel.config().isAutoRead());
+
+        while (!stripe.isEmpty()) {
+            stripe.poll().run();
+        }
+        Assert.assertEquals("Callbacks ran out of order", expectedOrder(), order);
+        Assert.assertEquals("Wrong pending count", 0, queue.getPending());
+        Assert.assertEquals("Wrong suspend count", 1, backpressure.getSuspendCount());
+    }
+
+    /**
+     * Failing callbacks do not leak pending count
+     */
+    @Test
+    public void testFailure() {
+        queue.execute(() -> {
+            throw new IllegalStateException("Failing callback");
+        });
+        stripe.poll().run();
+        Assert.assertEquals("Wrong pending count", 0, queue.getPending());
+    }
+
+    /**
+     * Callbacks of a connection run in order on a shared executor
+     */
+    @Test
+    public void testExecutor() throws InterruptedException {
+        final UpstreamExecutor executor = new UpstreamExecutor(2, QUEUE_SIZE);
+        try {
+            final UpstreamQueue executorQueue = executor.newQueue(backpressure);
+            final List<Integer> order = new ArrayList<>();
+            final CountDownLatch done = new CountDownLatch(1);
+            for (int i = 0; i < QUEUE_SIZE; ++i) {
+                final int value = i;
+                executorQueue.execute(() -> order.add(value));
+            }
+            executorQueue.execute(done::countDown);
+
+            Assert.assertTrue("Callbacks did not run", done.await(5, TimeUnit.SECONDS));
+            Assert.assertEquals("Callbacks ran out of order", expectedOrder(), order);
+        } finally {
+            executor.close();
+        }
+    }
+
+    private static List<Integer> expectedOrder() {
+        final List<Integer> ret = new ArrayList<>(QUEUE_SIZE);
+        for (int i = 0; i < QUEUE_SIZE; ++i) {
+            ret.add(i);
+        }
+        return ret;
+    }
+}
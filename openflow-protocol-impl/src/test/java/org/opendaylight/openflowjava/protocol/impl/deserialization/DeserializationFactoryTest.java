@@ -9,11 +9,17 @@
 package org.opendaylight.openflowjava.protocol.impl.deserialization;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 
 import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.HelloMessage;
 
 /**
  * @author michal.polkorab
@@ -53,4 +59,35 @@ public class DeserializationFactoryTest {
         buffer.writeInt(1234);
         factory.deserialize(buffer, (short) 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Test that deserializers registered directly in the registry are picked up
+     */
+    @Test
+    public void testDispatchTableRebuild() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        DeserializationFactory factory = new DeserializationFactory();
+        factory.setRegistry(registry);
+        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.buffer();
+        buffer.writeByte(0);
+        buffer.writeShort(EncodeConstants.OFHEADER_SIZE);
+        buffer.writeInt(1234);
+        factory.deserialize(buffer, EncodeConstants.OF13_VERSION_ID);
+        buffer.release();
+
+        @SuppressWarnings("unchecked")
+        OFDeserializer<HelloMessage> deserializer = Mockito.mock(OFDeserializer.class);
+        HelloMessage hello = Mockito.mock(HelloMessage.class);
+        Mockito.when(deserializer.deserialize(Matchers.any(ByteBuf.class))).thenReturn(hello);
+        registry.registerDeserializer(new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 0, HelloMessage.class),
+                deserializer);
+
+        buffer = PooledByteBufAllocator.DEFAULT.buffer();
+        buffer.writeByte(0);
+        buffer.writeShort(EncodeConstants.OFHEADER_SIZE);
+        buffer.writeInt(1234);
+        assertSame("Wrong deserializer used", hello, factory.deserialize(buffer, EncodeConstants.OF13_VERSION_ID));
+        buffer.release();
+    }
+}
@@ -9,8 +9,15 @@ package org.opendaylight.openflowjava.protocol.impl.deserialization;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralDeserializer;
+import org.opendaylight.openflowjava.protocol.api.keys.ActionDeserializerKey;
+import org.opendaylight.openflowjava.protocol.api.keys.InstructionDeserializerKey;
+import org.opendaylight.openflowjava.protocol.api.keys.MatchEntryDeserializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.api.util.OxmMatchConstants;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.match.OxmInPortDeserializer;
+import org.opendaylight.openflowjava.protocol.impl.util.ActionConstants;
 import org.opendaylight.openflowjava.protocol.impl.util.MatchDeserializer;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.v10.grouping.MatchV10;
@@ -83,4 +90,60 @@ public class DeserializerRegistryImplTest {
         registry.getDeserializer(new MessageCodeKey((short) 5000, EncodeConstants.EMPTY_VALUE, MatchV10.class));
         Assert.fail();
     }
-}
\ No newline at end of file
+
+    /**
+     * Test - indexed lookup resolves the same deserializers as key based lookup and notices re-registration
+     */
+    @Test
+    public void testIndexedLookup() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        MatchEntryDeserializerKey key = new MatchEntryDeserializerKey(OF13, OxmMatchConstants.OPENFLOW_BASIC_CLASS,
+                OxmMatchConstants.IN_PORT);
+        key.setExperimenterId(null);
+        Assert.assertSame("Wrong match entry deserializer", registry.getDeserializer(key),
+                registry.getMatchEntryDeserializer(OF13, OxmMatchConstants.IN_PORT));
+        Assert.assertSame("Wrong action deserializer",
+                registry.getDeserializer(new ActionDeserializerKey(OF13, ActionConstants.OUTPUT_CODE, null)),
+                registry.getActionDeserializer(OF13, ActionConstants.OUTPUT_CODE));
+        Assert.assertSame("Wrong instruction deserializer",
+                registry.getDeserializer(new InstructionDeserializerKey(OF13, 4, null)),
+                registry.getInstructionDeserializer(OF13, 4));
+
+        OFGeneralDeserializer inPortDeserializer = new OxmInPortDeserializer();
+        registry.registerDeserializer(key, inPortDeserializer);
+        Assert.assertSame("Re-registration not noticed", inPortDeserializer,
+                registry.getMatchEntryDeserializer(OF13, OxmMatchConstants.IN_PORT));
+    }
+
+    /**
+     * Test - only message deserializer changes bump message deserializer version
+     */
+    @Test
+    public void testMessageDeserializerVersion() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        int version = registry.getMessageDeserializerVersion();
+
+        MatchEntryDeserializerKey key = new MatchEntryDeserializerKey(OF13, OxmMatchConstants.OPENFLOW_BASIC_CLASS,
+                OxmMatchConstants.IN_PORT);
+        key.setExperimenterId(null);
+        registry.registerDeserializer(key, new OxmInPortDeserializer());
+        registry.unregisterDeserializer(new ActionDeserializerKey(OF13, ActionConstants.OUTPUT_CODE, null));
+        registry.unregisterDeserializer(new InstructionDeserializerKey(OF13, 4, null));
+        Assert.assertEquals("Version changed", version, registry.getMessageDeserializerVersion());
+
+        registry.unregisterDeserializer(new MessageCodeKey(OF13, EMPTY_VALUE, Match.class));
+        Assert.assertTrue("Version not changed", version != registry.getMessageDeserializerVersion());
+    }
+
+    /**
+     * Test - indexed lookup of unknown deserializer
+     */
+    @Test(expected=IllegalStateException.class)
+    public void testIndexedLookupNotFound() {
+        DeserializerRegistryImpl registry = new DeserializerRegistryImpl();
+        registry.init();
+        registry.getActionDeserializer(OF13, 200);
+    }
+}
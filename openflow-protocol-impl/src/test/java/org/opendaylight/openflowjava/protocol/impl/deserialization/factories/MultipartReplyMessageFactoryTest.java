@@ -15,6 +15,7 @@ import java.math.BigInteger;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.PortStatsCounters;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
@@ -63,6 +64,8 @@ import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.meter._case.MultipartReplyMeter;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.meter.config._case.MultipartReplyMeterConfig;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.MultipartReplyPortStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.multipart.reply.port.stats.PortStats;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.port.stats._case.multipart.reply.port.stats.PortStatsBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.queue._case.MultipartReplyQueue;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.table._case.MultipartReplyTable;
 import org.slf4j.Logger;
@@ -276,6 +279,74 @@ public class MultipartReplyMessageFactoryTest {
         Assert.assertEquals("Wrong durationNsec", 4, message.getPortStats().get(0).getDurationNsec().intValue());
     }
 
+    /**
+     * Testing {@link MultipartReplyMessageFactory} with primitive port statistics counters
+     */
+    @Test
+    public void testMultipartReplyPortStatsBodyPrimitiveCounters() {
+        ByteBuf bb = buildPrimitivePortStatsBody();
+
+        MultipartReplyMessage builtByFactory = BufferHelper.deserialize(
+                new MultipartReplyMessageFactory(false, true), bb);
+
+        MultipartReplyPortStatsCase messageCase = (MultipartReplyPortStatsCase) builtByFactory.getMultipartReplyBody();
+        PortStats portStats = messageCase.getMultipartReplyPortStats().getPortStats().get(0);
+        Assert.assertTrue("Wrong port stats", portStats instanceof PortStatsCounters);
+        PortStatsCounters counters = (PortStatsCounters) portStats;
+        Assert.assertEquals("Wrong rxPackets", 0xFF01010101010101L, counters.rxPackets());
+        Assert.assertEquals("Wrong txPackets", 2, counters.txPackets());
+        Assert.assertEquals("Wrong collisions", 12, counters.collisions());
+        Assert.assertEquals("Wrong portNo", 255, portStats.getPortNo().intValue());
+        Assert.assertEquals("Wrong rxPackets",
+                new BigInteger(1, new byte[]{(byte) 0xFF, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01, 0x01}),
+                portStats.getRxPackets());
+        Assert.assertEquals("Wrong rxCrcErr", BigInteger.valueOf(11), portStats.getRxCrcErr());
+        Assert.assertEquals("Wrong durationSec", 2, portStats.getDurationSec().intValue());
+        Assert.assertEquals("Wrong durationNsec", 4, portStats.getDurationNsec().intValue());
+        Assert.assertEquals("Input not consumed", 0, bb.readableBytes());
+    }
+
+    /**
+     * Testing primitive port statistics compare equal to the generated implementation
+     */
+    @Test
+    public void testMultipartReplyPortStatsBodyPrimitiveEquality() {
+        MultipartReplyMessage builtByFactory = BufferHelper.deserialize(
+                new MultipartReplyMessageFactory(false, true), buildPrimitivePortStatsBody());
+
+        MultipartReplyPortStatsCase messageCase = (MultipartReplyPortStatsCase) builtByFactory.getMultipartReplyBody();
+        PortStats portStats = messageCase.getMultipartReplyPortStats().getPortStats().get(0);
+        PortStats generated = new PortStatsBuilder(portStats).build();
+        Assert.assertEquals("Primitive stats should equal generated ones", portStats, generated);
+        Assert.assertEquals("Generated stats should equal primitive ones", generated, portStats);
+        Assert.assertEquals("Wrong hash code", generated.hashCode(), portStats.hashCode());
+
+        PortStats other = new PortStatsBuilder(portStats).setPortNo(254L).build();
+        Assert.assertFalse("Primitive stats should not equal other ones", portStats.equals(other));
+        Assert.assertFalse("Other stats should not equal primitive ones", other.equals(portStats));
+    }
+
+    private static ByteBuf buildPrimitivePortStatsBody() {
+        return BufferHelper.buildBuffer("00 04 00 01 00 00 00 00 "+
+                                        "00 00 00 FF "+//portNo
+                                        "00 00 00 00 "+//pad
+                                        "FF 01 01 01 01 01 01 01 "+//rxPackets
+                                        "00 00 00 00 00 00 00 02 "+//txPackets
+                                        "00 00 00 00 00 00 00 03 "+//rxBytes
+                                        "00 00 00 00 00 00 00 04 "+//txBytes
+                                        "00 00 00 00 00 00 00 05 "+//rxDropped
+                                        "00 00 00 00 00 00 00 06 "+//txDropped
+                                        "00 00 00 00 00 00 00 07 "+//rxErrors
+                                        "00 00 00 00 00 00 00 08 "+//txErrors
+                                        "00 00 00 00 00 00 00 09 "+//rxFrameErr
+                                        "00 00 00 00 00 00 00 0A "+//rxOverErr
+                                        "00 00 00 00 00 00 00 0B "+//rxCrcErr
+                                        "00 00 00 00 00 00 00 0C "+//collisions
+                                        "00 00 00 02 "+//durationSec
+                                        "00 00 00 04"//durationNsec
+                                        );
+    }
+
     /**
      * Testing {@link MultipartReplyMessageFactory} for correct translation into POJO
      */
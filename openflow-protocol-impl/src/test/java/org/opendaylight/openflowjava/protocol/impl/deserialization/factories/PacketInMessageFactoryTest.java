@@ -13,6 +13,7 @@ import io.netty.buffer.ByteBuf;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.RetainedPayload;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
@@ -23,6 +24,7 @@ import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.PacketInReason;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.TableId;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.PacketInMessageBuilder;
 
 /**
  * @author timotej.kubas
@@ -61,4 +63,59 @@ public class PacketInMessageFactoryTest {
         Assert.assertEquals("Wrong cookie", 0x0001020304050607L, builtByFactory.getCookie().longValue());
         Assert.assertArrayEquals("Wrong data", ByteBufUtils.hexStringToBytes("01 02 03 04"), builtByFactory.getData());
     }
+
+    /**
+     * Testing {@link PacketInMessageFactory} with retained payload - data must not be copied
+     * and must stay valid until the message is released
+     */
+    @Test
+    public void testRetainedPayload() {
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 02 03 01 02 01 04 00 01 02 03 04 05 06 07 00 01 00 0C"
+                + " 80 00 02 04 00 00 00 01 00 00 00 00 00 00 01 02 03 04");
+        PacketInMessageFactory factory = new PacketInMessageFactory(true);
+        DeserializerRegistry registry = new DeserializerRegistryImpl();
+        registry.init();
+        factory.injectDeserializerRegistry(registry);
+        PacketInMessage builtByFactory = BufferHelper.deserialize(factory, bb);
+
+        BufferHelper.checkHeaderV13(builtByFactory);
+        Assert.assertEquals("Wrong bufferID", 0x00010203L, builtByFactory.getBufferId().longValue());
+        Assert.assertEquals("Wrong cookie", 0x0001020304050607L, builtByFactory.getCookie().longValue());
+        Assert.assertTrue("Payload not retained", builtByFactory instanceof RetainedPayload);
+        RetainedPayload retained = (RetainedPayload) builtByFactory;
+        Assert.assertEquals("Wrong payload length", 4, retained.getPayload().readableBytes());
+        Assert.assertSame("Payload copied", bb, retained.getPayload().unwrap());
+        Assert.assertEquals("Buffer not retained", 2, bb.refCnt());
+
+        bb.release();
+        Assert.assertArrayEquals("Wrong data", ByteBufUtils.hexStringToBytes("01 02 03 04"), builtByFactory.getData());
+        Assert.assertTrue("Buffer not freed", retained.release());
+        Assert.assertEquals("Buffer not freed", 0, bb.refCnt());
+    }
+
+    /**
+     * Testing messages with retained payload compare equal to the generated implementation
+     */
+    @Test
+    public void testRetainedPayloadEquality() {
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 02 03 01 02 01 04 00 01 02 03 04 05 06 07 00 01 00 0C"
+                + " 80 00 02 04 00 00 00 01 00 00 00 00 00 00 01 02 03 04");
+        PacketInMessageFactory factory = new PacketInMessageFactory(true);
+        DeserializerRegistry registry = new DeserializerRegistryImpl();
+        registry.init();
+        factory.injectDeserializerRegistry(registry);
+        PacketInMessage builtByFactory = BufferHelper.deserialize(factory, bb);
+
+        PacketInMessage generated = new PacketInMessageBuilder(builtByFactory).build();
+        Assert.assertEquals("Retained message should equal generated one", builtByFactory, generated);
+        Assert.assertEquals("Generated message should equal retained one", generated, builtByFactory);
+        Assert.assertEquals("Wrong hash code", generated.hashCode(), builtByFactory.hashCode());
+
+        PacketInMessage other = new PacketInMessageBuilder(builtByFactory)
+                .setData(ByteBufUtils.hexStringToBytes("01 02 03 05")).build();
+        Assert.assertFalse("Retained message should not equal other one", builtByFactory.equals(other));
+        Assert.assertFalse("Other message should not equal retained one", other.equals(builtByFactory));
+        bb.release();
+        ((RetainedPayload) builtByFactory).release();
+    }
 }
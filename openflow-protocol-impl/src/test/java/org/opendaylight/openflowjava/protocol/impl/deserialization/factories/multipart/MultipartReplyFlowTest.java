@@ -11,20 +11,25 @@ package org.opendaylight.openflowjava.protocol.impl.deserialization.factories.mu
 import io.netty.buffer.ByteBuf;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.StreamedFlowStats;
 import org.opendaylight.openflowjava.protocol.api.extensibility.DeserializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFDeserializer;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageCodeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.DeserializerRegistryImpl;
+import org.opendaylight.openflowjava.protocol.impl.deserialization.MessageDeserializerInitializer;
 import org.opendaylight.openflowjava.protocol.impl.deserialization.factories.MultipartReplyMessageFactory;
 import org.opendaylight.openflowjava.protocol.impl.util.BufferHelper;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.types.rev130731.FlowModFlags;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.OxmMatchType;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessage;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.MultipartReplyMessageBuilder;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.MultipartReplyFlowCase;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.MultipartReplyFlow;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.protocol.rev130731.multipart.reply.multipart.reply.body.multipart.reply.flow._case.multipart.reply.flow.FlowStats;
@@ -133,4 +138,101 @@ public class MultipartReplyFlowTest {
                 0x01, 0x01, 0x01, 0x01}), flowStats1.getByteCount());
         Assert.assertEquals("Wrong match type", OxmMatchType.class, flowStats1.getMatch().getType());
     }
-}
\ No newline at end of file
+
+    /**
+     * Testing {@link MultipartReplyMessageFactory} in streaming mode - records are decoded on demand
+     * from a retained slice of the input
+     */
+    @Test
+    public void testStreamedMultipartReplyFlowBody() {
+        DeserializerRegistry registry = new DeserializerRegistryImpl();
+        registry.init();
+        MessageDeserializerInitializer.registerMultipartReplyDeserializers(registry, true, false);
+        OFDeserializer<MultipartReplyMessage> streamingFactory = registry.getDeserializer(
+                new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 19, MultipartReplyMessage.class));
+
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 00 01 00 00 00 00 "+
+                                              "00 48 08 00 "+ // length, tableId, padding
+                                              "00 00 00 09 "+//durationSec
+                                              "00 00 00 07 "+//durationNsec
+                                              "00 0C 00 0E 00 0F 00 1F "+//priority, idleTimeout, hardTimeout, flags
+                                              "00 00 00 00 "+//pad_02
+                                              "FF 01 01 01 01 01 01 01 "+//cookie
+                                              "EF 01 01 01 01 01 01 01 "+//packetCount
+                                              "7F 01 01 01 01 01 01 01 "+//byteCount
+                                              "00 01 00 04 00 00 00 00 "+//empty match
+                                              "00 01 00 08 06 00 00 00 "+
+                                              "00 01 00 08 06 00 00 00 "+
+                                              "00 48 04 00 "+ // length, tableId, padding
+                                              "00 00 00 09 "+//durationSec
+                                              "00 00 00 07 "+//durationNsec
+                                              "00 0C 00 0E 00 0F 00 00 "+//priority, idleTimeout, hardTimeout, flags
+                                              "00 00 00 00 "+//pad_02
+                                              "FF 01 01 01 01 01 01 01 "+//cookie
+                                              "EF 01 01 01 01 01 01 01 "+//packetCount
+                                              "7F 01 01 01 01 01 01 01 "+//byteCount
+                                              "00 01 00 04 00 00 00 00 "+//empty match
+                                              "00 01 00 08 06 00 00 00 "+
+                                              "00 01 00 08 06 00 00 00");
+        MultipartReplyMessage builtByFactory = BufferHelper.deserialize(streamingFactory, bb);
+
+        BufferHelper.checkHeaderV13(builtByFactory);
+        Assert.assertEquals("Wrong type", 0x01, builtByFactory.getType().getIntValue());
+        Assert.assertTrue("Wrong message", builtByFactory instanceof StreamedFlowStats);
+        Assert.assertEquals("Input not consumed", 0, bb.readableBytes());
+        StreamedFlowStats streamed = (StreamedFlowStats) builtByFactory;
+        Assert.assertEquals("Payload not retained", 2, streamed.refCnt());
+
+        List<FlowStats> records = new ArrayList<>();
+        streamed.forEachFlowStats(records::add);
+        Assert.assertEquals("Wrong flow stats size", 2, records.size());
+        Assert.assertEquals("Wrong tableId", 8, records.get(0).getTableId().intValue());
+        Assert.assertEquals("Wrong tableId", 4, records.get(1).getTableId().intValue());
+        Assert.assertEquals("Wrong match type", OxmMatchType.class, records.get(1).getMatch().getType());
+
+        MultipartReplyFlowCase messageCase = (MultipartReplyFlowCase) builtByFactory.getMultipartReplyBody();
+        Assert.assertEquals("Wrong flow stats size", 2, messageCase.getMultipartReplyFlow().getFlowStats().size());
+
+        Assert.assertFalse("Payload released too early", streamed.release());
+        Assert.assertTrue("Payload not released", bb.release());
+    }
+
+    /**
+     * Testing streamed flow statistics compare equal to the generated implementation
+     */
+    @Test
+    public void testStreamedMultipartReplyFlowBodyEquality() {
+        DeserializerRegistry registry = new DeserializerRegistryImpl();
+        registry.init();
+        MessageDeserializerInitializer.registerMultipartReplyDeserializers(registry, true, false);
+        OFDeserializer<MultipartReplyMessage> streamingFactory = registry.getDeserializer(
+                new MessageCodeKey(EncodeConstants.OF13_VERSION_ID, 19, MultipartReplyMessage.class));
+
+        ByteBuf bb = BufferHelper.buildBuffer("00 01 00 01 00 00 00 00 "+
+                                              "00 48 08 00 "+ // length, tableId, padding
+                                              "00 00 00 09 "+//durationSec
+                                              "00 00 00 07 "+//durationNsec
+                                              "00 0C 00 0E 00 0F 00 1F "+//priority, idleTimeout, hardTimeout, flags
+                                              "00 00 00 00 "+//pad_02
+                                              "FF 01 01 01 01 01 01 01 "+//cookie
+                                              "EF 01 01 01 01 01 01 01 "+//packetCount
+                                              "7F 01 01 01 01 01 01 01 "+//byteCount
+                                              "00 01 00 04 00 00 00 00 "+//empty match
+                                              "00 01 00 08 06 00 00 00 "+
+                                              "00 01 00 08 06 00 00 00");
+        MultipartReplyMessage builtByFactory = BufferHelper.deserialize(streamingFactory, bb);
+        Assert.assertTrue("Wrong message", builtByFactory instanceof StreamedFlowStats);
+
+        MultipartReplyMessage generated = new MultipartReplyMessageBuilder(builtByFactory).build();
+        Assert.assertEquals("Streamed reply should equal generated one", builtByFactory, generated);
+        Assert.assertEquals("Generated reply should equal streamed one", generated, builtByFactory);
+        Assert.assertEquals("Wrong hash code", generated.hashCode(), builtByFactory.hashCode());
+
+        MultipartReplyMessage other = new MultipartReplyMessageBuilder(builtByFactory).setXid(1L).build();
+        Assert.assertFalse("Streamed reply should not equal other one", builtByFactory.equals(other));
+        Assert.assertFalse("Other reply should not equal streamed one", other.equals(builtByFactory));
+
+        ((StreamedFlowStats) builtByFactory).release();
+        bb.release();
+    }
+}
@@ -9,9 +9,15 @@ package org.opendaylight.openflowjava.protocol.impl.serialization;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.extensibility.OFGeneralSerializer;
+import org.opendaylight.openflowjava.protocol.api.keys.ActionSerializerKey;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
 import org.opendaylight.openflowjava.protocol.api.util.EncodeConstants;
+import org.opendaylight.openflowjava.protocol.impl.serialization.action.OF13OutputActionSerializer;
+import org.opendaylight.openflowjava.protocol.impl.serialization.match.OxmInPortSerializer;
 import org.opendaylight.openflowjava.protocol.impl.util.OF13MatchSerializer;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.common.action.rev150203.action.grouping.action.choice.OutputActionCase;
+import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.InPort;
 import org.opendaylight.yang.gen.v1.urn.opendaylight.openflow.oxm.rev150225.match.grouping.Match;
 
 /**
@@ -58,4 +64,35 @@ public class SerializerRegistryImplTest {
         serReg.registerSerializer(new MessageTypeKey<>(OF13, Match.class), new OF13MatchSerializer());
         Assert.assertFalse("Wrong - unregister serializer",serReg.unregisterSerializer(new MessageTypeKey<>(OF10, Match.class)));
     }
+
+    /**
+     * Test - class indexed lookup resolves the same serializers as key lookup and
+     * follows registry changes
+     */
+    @Test
+    public void testIndexedLookup() {
+        SerializerRegistryImpl serReg = new SerializerRegistryImpl();
+        serReg.init();
+
+        Assert.assertSame("Wrong message serializer", serReg.getSerializer(new MessageTypeKey<>(OF13, Match.class)),
+                serReg.getMessageSerializer(OF13, Match.class));
+        Assert.assertTrue("Wrong match entry serializer",
+                serReg.getMatchEntrySerializer(OF13, InPort.class) instanceof OxmInPortSerializer);
+        Assert.assertTrue("Wrong action serializer",
+                serReg.getActionSerializer(OF13, OutputActionCase.class) instanceof OF13OutputActionSerializer);
+
+        ActionSerializerKey<OutputActionCase> key = new ActionSerializerKey<>(OF13, OutputActionCase.class, null);
+        OFGeneralSerializer replacement = new OF13OutputActionSerializer();
+        serReg.registerSerializer(key, replacement);
+        Assert.assertSame("Index not invalidated", replacement,
+                serReg.getActionSerializer(OF13, OutputActionCase.class));
+
+        serReg.unregisterSerializer(key);
+        try {
+            serReg.getActionSerializer(OF13, OutputActionCase.class);
+            Assert.fail("Unregistered serializer still resolved");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
 }
@@ -9,6 +9,8 @@
 package org.opendaylight.openflowjava.protocol.impl.serialization.factories;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.buffer.UnpooledByteBufAllocator;
 
 import java.util.ArrayList;
@@ -17,6 +19,7 @@ import java.util.List;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.opendaylight.openflowjava.protocol.api.connection.RetainedPacketOutInput;
 import org.opendaylight.openflowjava.protocol.api.extensibility.OFSerializer;
 import org.opendaylight.openflowjava.protocol.api.extensibility.SerializerRegistry;
 import org.opendaylight.openflowjava.protocol.api.keys.MessageTypeKey;
@@ -123,4 +126,45 @@ public class PacketOutInputMessageFactoryTest {
         out.skipBytes(16); // skip packet out message to data index
         Assert.assertTrue("Unexpected data", out.readableBytes() == 0);
     }
-}
\ No newline at end of file
+
+    /**
+     * Testing of {@link PacketOutInputMessageFactory} with payload carried in a buffer,
+     * which gets gathered into a composite output buffer without copying
+     * @throws Exception
+     */
+    @Test
+    public void testPacketOutInputWithRetainedPayload() throws Exception {
+        PacketOutInputBuilder builder = new PacketOutInputBuilder();
+        BufferHelper.setupHeader(builder, EncodeConstants.OF13_VERSION_ID);
+        builder.setBufferId(256L);
+        builder.setInPort(new PortNumber(256L));
+        List<Action> actions = new ArrayList<>();
+        ActionBuilder actionBuilder = new ActionBuilder();
+        actionBuilder.setActionChoice(new PopVlanCaseBuilder().build());
+        actions.add(actionBuilder.build());
+        builder.setAction(actions);
+        ByteBuf payload = Unpooled.wrappedBuffer(
+                ByteBufUtils.hexStringToBytes("00 00 01 02 03 04 05 06 07 08 09 10 11 12 13 14"));
+        RetainedPacketOutInput message = RetainedPacketOutInput.create(builder.build(), payload);
+
+        CompositeByteBuf out = UnpooledByteBufAllocator.DEFAULT.compositeBuffer();
+        packetOutFactory.serialize(message, out);
+        Assert.assertEquals("Payload not retained", 2, payload.refCnt());
+        Assert.assertEquals("Payload not gathered", 2, out.numComponents());
+
+        BufferHelper.checkHeaderV13(out, MESSAGE_TYPE, 48);
+        Assert.assertEquals("Wrong BufferId", 256, out.readUnsignedInt());
+        Assert.assertEquals("Wrong PortNumber", 256, out.readUnsignedInt());
+        Assert.assertEquals("Wrong ActionsLength", 8, out.readUnsignedShort());
+        out.skipBytes(PADDING_IN_PACKET_OUT_MESSAGE);
+        Assert.assertEquals("Wrong action type", 18, out.readUnsignedShort());
+        Assert.assertEquals("Wrong action length", 8, out.readUnsignedShort());
+        out.skipBytes(PADDING_IN_ACTION_HEADER);
+        byte[] readData = new byte[out.readableBytes()];
+        out.readBytes(readData);
+        Assert.assertArrayEquals("Wrong data", message.getData(), readData);
+
+        out.release();
+        Assert.assertTrue("Payload not released", message.release());
+    }
+}
@@ -14,8 +14,10 @@ import com.google.common.base.Splitter;
 import com.google.common.collect.Lists;
 import com.google.common.primitives.UnsignedBytes;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.CompositeByteBuf;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Map;
@@ -128,6 +130,24 @@ public abstract class ByteBufUtils {
         out.writeInt(message.getXid().intValue());
     }
 
+    /**
+     * Appends payload to the writing buffer. If the writing buffer is a {@link CompositeByteBuf},
+     * payload is added as a new component instead of being copied. Payload's reader index
+     * is not changed.
+     * @param payload payload to be appended
+     * @param out writing buffer
+     */
+    public static void writePayload(final ByteBuf payload, final ByteBuf out) {
+        if (out instanceof CompositeByteBuf) {
+            final CompositeByteBuf composite = (CompositeByteBuf) out;
+            // Trim unused capacity, so that the payload component directly follows already written bytes
+            composite.capacity(composite.writerIndex());
+            composite.addComponent(true, payload.retainedDuplicate());
+        } else {
+            out.writeBytes(payload, payload.readerIndex(), payload.readableBytes());
+        }
+    }
+
     /**
      * Write length standard OF header
      * @param out writing buffer
@@ -360,6 +380,25 @@ public abstract class ByteBufUtils {
         return sb.toString();
     }
 
+    /**
+     * Converts an unsigned 64-bit value into BigInteger, without going through a byte array
+     * @param value unsigned 64-bit value
+     * @return non-negative BigInteger
+     */
+    public static BigInteger uint64ToBigInteger(final long value) {
+        final BigInteger ret = BigInteger.valueOf(value & Long.MAX_VALUE);
+        return value < 0 ? ret.setBit(Long.SIZE - 1) : ret;
+    }
+
+    /**
+     * Reads an unsigned 64-bit value from a buffer
+     * @param buf input buffer
+     * @return non-negative BigInteger
+     */
+    public static BigInteger readUint64(final ByteBuf buf) {
+        return uint64ToBigInteger(buf.readLong());
+    }
+
     public static Ipv4Address readIetfIpv4Address(final ByteBuf buf) {
         final byte[] tmp = new byte[4];
         buf.readBytes(tmp);
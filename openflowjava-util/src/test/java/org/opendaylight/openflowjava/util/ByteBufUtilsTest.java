@@ -12,6 +12,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.UnpooledByteBufAllocator;
 import java.io.IOException;
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -466,4 +467,26 @@ public class ByteBufUtilsTest {
         Assert.assertEquals(buffer.readLong(), 8l);
         Assert.assertEquals(buffer.getShort(start + EncodeConstants.OFHEADER_LENGTH_INDEX), end - start);
     }
+
+    /**
+     * Test of {@link ByteBufUtils#readUint64(ByteBuf)}
+     */
+    @Test
+    public void testReadUint64() {
+        ByteBuf buffer = PooledByteBufAllocator.DEFAULT.buffer();
+        buffer.writeLong(0);
+        buffer.writeLong(42);
+        buffer.writeLong(Long.MAX_VALUE);
+        buffer.writeLong(0xFF01010101010101L);
+        buffer.writeLong(-1);
+
+        Assert.assertEquals("Wrong conversion", BigInteger.ZERO, ByteBufUtils.readUint64(buffer));
+        Assert.assertEquals("Wrong conversion", BigInteger.valueOf(42), ByteBufUtils.readUint64(buffer));
+        Assert.assertEquals("Wrong conversion", BigInteger.valueOf(Long.MAX_VALUE), ByteBufUtils.readUint64(buffer));
+        Assert.assertEquals("Wrong conversion", new BigInteger(1, new byte[]{(byte) 0xFF, 0x01, 0x01, 0x01, 0x01,
+                0x01, 0x01, 0x01}), ByteBufUtils.readUint64(buffer));
+        Assert.assertEquals("Wrong conversion", new BigInteger("18446744073709551615"),
+                ByteBufUtils.readUint64(buffer));
+        buffer.release();
+    }
 }